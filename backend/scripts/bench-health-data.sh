@@ -0,0 +1,87 @@
+#!/bin/bash
+# /integrated/health-data 동시 처리량 측정 스크립트
+#
+# 지연이 있는 Tilko 스텁 서버를 띄우고, 백엔드를 스텁에 연결한 뒤
+# 동시 요청 수를 늘려가며 제한 시간 안에 성공한 요청 수를 측정한다.
+#
+# 사용법:
+#   1) 스텁 서버 시작:   ./scripts/bench-health-data.sh stub
+#   2) 백엔드 시작 (모드별로 각각 실행)
+#        플랫폼 스레드:  ./gradlew bootRun --args='--tilko.api.host=http://localhost:9090'
+#        가상 스레드:    VIRTUAL_THREADS_ENABLED=true ./gradlew bootRun -PtracePinned --args='--tilko.api.host=http://localhost:9090'
+#   3) 부하 실행:        ./scripts/bench-health-data.sh run 100 200 400 800
+
+STUB_PORT=${STUB_PORT:-9090}
+STUB_DELAY_SECONDS=${STUB_DELAY_SECONDS:-5}
+BASE_URL=${BASE_URL:-http://localhost:8082/api}
+REQUEST_TIMEOUT=${REQUEST_TIMEOUT:-120}
+
+run_stub() {
+    echo "🧪 Tilko 스텁 서버 시작 (port: $STUB_PORT, 지연: ${STUB_DELAY_SECONDS}초)"
+    STUB_PORT=$STUB_PORT STUB_DELAY_SECONDS=$STUB_DELAY_SECONDS python3 - <<'PY'
+import json, os, time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+# 테스트용 RSA 공개키 (DER, Base64)
+PUBLIC_KEY = ("MIIBIjANBgkqhkiG9w0BAQEFAAOCAQ8AMIIBCgKCAQEAu1SU1LfVLPHCozMxH2Mo4lgOEePzNm0tRgeLezV6ffAt0gunVTLw7onLRnrq0/IzW7yWR7QkrmBL7jTKEn5u+qKhbwKfBstIs+bMY2Zkp18gnTxKLxoS2tFczGkPLPgizskuemMghRniWaoLcyehkd3qqGElvW/VDL5AaWTg0nLVkjRo9z+40RQzuVaE8AkAFmxZzow3x+VJYKdjykkJ0iT9wCS0DRTXu269V264Vf/3jvredZiKRkgwlL9xNAwxXFg0x/XFw005UWVRIkdgcKWTjpBP2dPwVZ4WWC+9aGVd+Gyn1o0CLelf4rEjGoXbAAEgAqeGUxrcIlbjXfbcmwIDAQAB")
+DELAY = float(os.environ["STUB_DELAY_SECONDS"])
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def _send(self, body):
+        data = json.dumps(body).encode("utf-8")
+        self.send_response(200)
+        self.send_header("Content-Type", "application/json")
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+
+    def do_GET(self):
+        self._send({"Status": "OK", "PublicKey": PUBLIC_KEY})
+
+    def do_POST(self):
+        self.rfile.read(int(self.headers.get("Content-Length", 0)))
+        time.sleep(DELAY)
+        self._send({"Status": "OK", "ResultList": []})
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("0.0.0.0", int(os.environ["STUB_PORT"])), Handler).serve_forever()
+PY
+}
+
+run_load() {
+    local body='{"cxId":"bench","privateAuthType":"0","reqTxId":"bench","token":"bench","txId":"bench","userName":"ENC:a","birthDate":"ENC:b","userCellphoneNumber":"ENC:c"}'
+
+    echo "📊 /integrated/health-data 동시 처리량 측정 (요청 제한 시간: ${REQUEST_TIMEOUT}초)"
+    printf "%-12s %-10s %-10s %-12s\n" "동시요청" "성공" "실패" "소요(초)"
+
+    for concurrency in "$@"; do
+        local start=$(date +%s.%N)
+        local results=$(seq "$concurrency" | xargs -P "$concurrency" -I{} \
+            curl -s -o /dev/null -w "%{http_code}\n" --max-time "$REQUEST_TIMEOUT" \
+                 -H "Content-Type: application/json" -d "$body" "$BASE_URL/integrated/health-data")
+        local end=$(date +%s.%N)
+
+        local ok=$(echo "$results" | grep -c '^200$')
+        local failed=$((concurrency - ok))
+        printf "%-12s %-10s %-10s %-12.1f\n" "$concurrency" "$ok" "$failed" "$(echo "$end - $start" | bc)"
+    done
+}
+
+case "$1" in
+    stub)
+        run_stub
+        ;;
+    run)
+        shift
+        [ $# -eq 0 ] && set -- 50 100 200 400
+        run_load "$@"
+        ;;
+    *)
+        echo "사용법: $0 stub | run [동시요청수...]"
+        exit 1
+        ;;
+esac
@@ -0,0 +1,87 @@
+#!/bin/bash
+# Claude Message Batches API 가짜 서버
+#
+# 제출된 배치를 일정 시간 뒤 종료 상태로 바꾸고, 결과 파일(JSONL)을 돌려준다.
+# 요청 5건마다 1건은 errored로 응답해서 실패 처리 경로도 확인할 수 있다.
+#
+# 사용법:
+#   1) 가짜 서버 시작:  ./scripts/fake-claude-batch.sh
+#   2) 백엔드 시작:     ./gradlew bootRun --args='--claude.batch.url=http://localhost:9091/v1/messages/batches --claude.batch.poll-interval-millis=5000'
+#   3) 제출:            curl -H "Content-Type: application/json" -d @patients.json http://localhost:8082/api/integrated/batches
+#   4) 리포트 조회:      curl http://localhost:8082/api/integrated/batches/{batchId}
+
+FAKE_PORT=${FAKE_PORT:-9091}
+FAKE_PROCESSING_SECONDS=${FAKE_PROCESSING_SECONDS:-10}
+
+echo "🧪 Claude 배치 가짜 서버 시작 (port: $FAKE_PORT, 처리 시간: ${FAKE_PROCESSING_SECONDS}초)"
+FAKE_PORT=$FAKE_PORT FAKE_PROCESSING_SECONDS=$FAKE_PROCESSING_SECONDS python3 - <<'PY'
+import json, os, threading, time, uuid
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+PORT = int(os.environ["FAKE_PORT"])
+PROCESSING = float(os.environ["FAKE_PROCESSING_SECONDS"])
+PREFIX = "/v1/messages/batches"
+batches = {}
+lock = threading.Lock()
+
+def message(index):
+    return {
+        "id": "msg_fake_%d" % index, "type": "message", "role": "assistant", "model": "fake",
+        "content": [{"type": "text", "text": '["고혈압", "고지혈증"]'}],
+        "stop_reason": "end_turn", "usage": {"input_tokens": 900, "output_tokens": 20},
+    }
+
+def result_line(index, custom_id):
+    if index % 5 == 4:
+        result = {"type": "errored", "error": {"type": "error",
+                  "error": {"type": "invalid_request_error", "message": "fake error"}}}
+    else:
+        result = {"type": "succeeded", "message": message(index)}
+    return json.dumps({"custom_id": custom_id, "result": result}, ensure_ascii=False)
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def _send(self, body, content_type="application/json", code=200):
+        data = body.encode("utf-8")
+        self.send_response(code)
+        self.send_header("Content-Type", content_type)
+        self.send_header("Content-Length", str(len(data)))
+        self.end_headers()
+        self.wfile.write(data)
+
+    def _status(self, batch_id):
+        batch = batches[batch_id]
+        ended = time.time() - batch["created"] >= PROCESSING
+        count = len(batch["custom_ids"])
+        return {
+            "id": batch_id, "type": "message_batch",
+            "processing_status": "ended" if ended else "in_progress",
+            "request_counts": {"processing": 0 if ended else count, "succeeded": 0, "errored": 0,
+                               "canceled": 0, "expired": 0},
+            "results_url": "http://localhost:%d%s/%s/results" % (PORT, PREFIX, batch_id) if ended else None,
+        }
+
+    def do_POST(self):
+        body = json.loads(self.rfile.read(int(self.headers.get("Content-Length", 0))))
+        batch_id = "msgbatch_fake_" + uuid.uuid4().hex[:12]
+        with lock:
+            batches[batch_id] = {"created": time.time(),
+                                 "custom_ids": [r["custom_id"] for r in body["requests"]]}
+        self._send(json.dumps(self._status(batch_id)))
+
+    def do_GET(self):
+        parts = self.path[len(PREFIX):].strip("/").split("/")
+        if not self.path.startswith(PREFIX) or parts[0] not in batches:
+            self._send('{"type":"error"}', code=404)
+        elif len(parts) == 2 and parts[1] == "results":
+            lines = [result_line(i, c) for i, c in enumerate(batches[parts[0]]["custom_ids"])]
+            self._send("\n".join(lines) + "\n", "application/binary")
+        else:
+            self._send(json.dumps(self._status(parts[0])))
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("0.0.0.0", PORT), Handler).serve_forever()
+PY
@@ -0,0 +1,73 @@
+#!/bin/bash
+# Claude Messages API 스트리밍 가짜 서버
+#
+# stream=true 요청에 SSE 이벤트(message_start → content_block_delta ... → message_stop)를
+# 작은 조각으로 나눠 지연을 두고 보낸다. 질환별 이벤트가 실제로 조각 도착 시점에 나가는지 확인할 때 사용.
+#
+# 사용법:
+#   1) 가짜 서버 시작:  ./scripts/fake-claude-stream.sh
+#   2) 백엔드 시작:     ./gradlew bootRun --args='--claude.api.url=http://localhost:9092/v1/messages'
+#   3) 스트림 확인:     curl -N -H "Content-Type: application/json" -d @medication.json \
+#                          http://localhost:8082/api/integrated/analyze-diseases/stream
+
+FAKE_PORT=${FAKE_PORT:-9092}
+FAKE_CHUNK_DELAY_SECONDS=${FAKE_CHUNK_DELAY_SECONDS:-0.5}
+
+echo "🧪 Claude 스트리밍 가짜 서버 시작 (port: $FAKE_PORT, 조각 간격: ${FAKE_CHUNK_DELAY_SECONDS}초)"
+FAKE_PORT=$FAKE_PORT FAKE_CHUNK_DELAY_SECONDS=$FAKE_CHUNK_DELAY_SECONDS python3 - <<'PY'
+import json, os, time
+from http.server import BaseHTTPRequestHandler, ThreadingHTTPServer
+
+DELAY = float(os.environ["FAKE_CHUNK_DELAY_SECONDS"])
+# 응답 텍스트를 일부러 질환 경계와 맞지 않게 조각냄
+CHUNKS = ['```json\n[', '"고혈', '압", "당', '뇨병"', ', "고지혈증', '"]', '\n```']
+USAGE = {"input_tokens": 120, "cache_creation_input_tokens": 0, "cache_read_input_tokens": 850, "output_tokens": 1}
+
+class Handler(BaseHTTPRequestHandler):
+    protocol_version = "HTTP/1.1"
+
+    def _event(self, name, data):
+        payload = ("event: %s\ndata: %s\n\n" % (name, json.dumps(data, ensure_ascii=False))).encode("utf-8")
+        self.wfile.write(b"%x\r\n%s\r\n" % (len(payload), payload))
+        self.wfile.flush()
+
+    def do_POST(self):
+        body = json.loads(self.rfile.read(int(self.headers.get("Content-Length", 0))))
+        if not body.get("stream"):
+            data = json.dumps({"id": "msg_fake", "type": "message", "role": "assistant", "model": "fake",
+                               "content": [{"type": "text", "text": "".join(CHUNKS)}],
+                               "stop_reason": "end_turn", "usage": USAGE}, ensure_ascii=False).encode("utf-8")
+            self.send_response(200)
+            self.send_header("Content-Type", "application/json")
+            self.send_header("Content-Length", str(len(data)))
+            self.end_headers()
+            self.wfile.write(data)
+            return
+
+        self.send_response(200)
+        self.send_header("Content-Type", "text/event-stream")
+        self.send_header("Transfer-Encoding", "chunked")
+        self.end_headers()
+        try:
+            self._event("message_start", {"type": "message_start", "message": {
+                "id": "msg_fake", "type": "message", "role": "assistant", "content": [], "usage": USAGE}})
+            self._event("content_block_start", {"type": "content_block_start", "index": 0,
+                                                "content_block": {"type": "text", "text": ""}})
+            for chunk in CHUNKS:
+                time.sleep(DELAY)
+                self._event("content_block_delta", {"type": "content_block_delta", "index": 0,
+                                                    "delta": {"type": "text_delta", "text": chunk}})
+            self._event("content_block_stop", {"type": "content_block_stop", "index": 0})
+            self._event("message_delta", {"type": "message_delta", "delta": {"stop_reason": "end_turn"},
+                                          "usage": {"output_tokens": 20}})
+            self._event("message_stop", {"type": "message_stop"})
+            self.wfile.write(b"0\r\n\r\n")
+        except (BrokenPipeError, ConnectionResetError):
+            # 배열이 닫히면 백엔드가 먼저 연결을 끊음
+            pass
+
+    def log_message(self, *args):
+        pass
+
+ThreadingHTTPServer(("0.0.0.0", int(os.environ["FAKE_PORT"])), Handler).serve_forever()
+PY
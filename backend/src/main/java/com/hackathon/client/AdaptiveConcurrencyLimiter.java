@@ -0,0 +1,262 @@
+package com.hackathon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 업스트림 응답에 따라 동시 요청 한도를 조절하는 인터셉터 (AIMD)
+ * - 정상 응답: 한도를 조금씩 올림 (한도만큼 성공하면 +1)
+ * - 429/529, 타임아웃: 한도를 비율만큼 내리고, retry-after 동안 새 요청을 보내지 않음
+ * - 너무 느린 응답: 한도를 조금 내림
+ * 한도를 넘는 요청은 정해진 시간까지만 대기열에서 기다리고, 대기열이 가득 차거나 시간이 지나면 바로 실패한다.
+ * 스트리밍 응답도 본문을 다 읽을 때까지 한 자리를 차지하도록 응답 본문이 닫힐 때 자리를 반납한다.
+ */
+public class AdaptiveConcurrencyLimiter implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+    private final String upstream;
+    private final String limitedPathSuffix;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private final double backoffRatio;
+    private final long slowCallMillis;
+    private final long defaultRetryAfterMillis;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long blockedUntilMillis;
+    private long lastDecreaseNanos;
+
+    private final Counter queueFullRejections;
+    private final Counter timeoutRejections;
+    private final Counter overloadResponses;
+
+    /**
+     * @param limitedPathSuffix 한도를 적용할 요청 경로 (예: /messages - 배치 조회 같은 가벼운 호출은 제외)
+     */
+    public AdaptiveConcurrencyLimiter(String upstream, String limitedPathSuffix,
+                                      int initialLimit, int minLimit, int maxLimit,
+                                      int maxQueue, long maxWaitMillis, double backoffRatio,
+                                      long slowCallMillis, long defaultRetryAfterMillis,
+                                      MeterRegistry registry) {
+        this.upstream = upstream;
+        this.limitedPathSuffix = limitedPathSuffix;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.backoffRatio = backoffRatio;
+        this.slowCallMillis = slowCallMillis;
+        this.defaultRetryAfterMillis = defaultRetryAfterMillis;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+
+        this.queueFullRejections = Counter.builder("http.client.limiter.rejections")
+                .tag("upstream", upstream).tag("reason", "queue-full").register(registry);
+        this.timeoutRejections = Counter.builder("http.client.limiter.rejections")
+                .tag("upstream", upstream).tag("reason", "timeout").register(registry);
+        this.overloadResponses = Counter.builder("http.client.limiter.overload-responses")
+                .tag("upstream", upstream)
+                .description("429/529 응답 수")
+                .register(registry);
+
+        Gauge.builder("http.client.limiter.limit", this, l -> l.read(() -> Math.floor(l.limit)))
+                .tag("upstream", upstream).register(registry);
+        Gauge.builder("http.client.limiter.in-flight", this, l -> l.read(() -> (double) l.inFlight))
+                .tag("upstream", upstream).register(registry);
+        Gauge.builder("http.client.limiter.queue-depth", this, l -> l.read(() -> (double) l.waiting))
+                .tag("upstream", upstream).register(registry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!request.url().encodedPath().endsWith(limitedPathSuffix)) {
+            return chain.proceed(request);
+        }
+
+        acquire();
+        long startNanos = System.nanoTime();
+        Response response = proceed(chain, request);
+
+        if (response.code() == 429 || response.code() == 529) {
+            overloadResponses.increment();
+            release(Outcome.OVERLOAD, retryAfterMillis(response));
+            return response;
+        }
+
+        if (response.body() == null) {
+            release(outcomeFor(startNanos, response), 0);
+            return response;
+        }
+
+        // 본문을 다 읽고 닫을 때 자리 반납 (스트리밍 응답 포함)
+        ResponseBody body = response.body();
+        AtomicBoolean released = new AtomicBoolean();
+        ForwardingSource source = new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        release(outcomeFor(startNanos, response), 0);
+                    }
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    // 호출 자체가 실패하면 바로 자리 반납 (타임아웃은 과부하 신호로 취급)
+    private Response proceed(Chain chain, Request request) throws IOException {
+        try {
+            return chain.proceed(request);
+        } catch (SocketTimeoutException e) {
+            release(Outcome.SLOW, 0);
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            release(Outcome.IGNORE, 0);
+            throw e;
+        }
+    }
+
+    private void acquire() throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        lock.lock();
+        try {
+            if (waiting >= maxQueue) {
+                queueFullRejections.increment();
+                throw new ConcurrencyLimitExceededException(upstream + " 요청 대기열이 가득 찼습니다. (대기 " + waiting + "건)");
+            }
+
+            waiting++;
+            try {
+                while (true) {
+                    long blockedMillis = blockedUntilMillis - System.currentTimeMillis();
+                    if (blockedMillis <= 0 && inFlight < (int) limit) {
+                        break;
+                    }
+
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        timeoutRejections.increment();
+                        throw new ConcurrencyLimitExceededException(upstream + " 동시 요청 한도 대기 시간 초과 (한도 "
+                                + (int) limit + ", 대기 " + maxWaitMillis + "ms)");
+                    }
+
+                    long waitNanos = blockedMillis > 0
+                            ? Math.min(remainingNanos, TimeUnit.MILLISECONDS.toNanos(blockedMillis))
+                            : remainingNanos;
+                    available.awaitNanos(waitNanos);
+                }
+                inFlight++;
+            } finally {
+                waiting--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("동시 요청 대기 중 인터럽트 발생");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release(Outcome outcome, long retryAfterMillis) {
+        lock.lock();
+        try {
+            inFlight--;
+            long now = System.nanoTime();
+
+            switch (outcome) {
+                case SUCCESS -> limit = Math.min(maxLimit, limit + 1.0 / limit);
+                case SLOW -> decrease(now, 0.9);
+                case OVERLOAD -> {
+                    decrease(now, backoffRatio);
+                    long blockMillis = retryAfterMillis > 0 ? retryAfterMillis : defaultRetryAfterMillis;
+                    blockedUntilMillis = Math.max(blockedUntilMillis, System.currentTimeMillis() + blockMillis);
+                }
+                case IGNORE -> {
+                    // 업스트림 부하와 무관한 오류
+                }
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 한 번에 몰려온 429에 한도가 연속으로 깎이지 않도록 1초에 한 번만 감소
+    private void decrease(long nowNanos, double ratio) {
+        if (lastDecreaseNanos != 0 && nowNanos - lastDecreaseNanos < TimeUnit.SECONDS.toNanos(1)) {
+            return;
+        }
+        lastDecreaseNanos = nowNanos;
+        double previous = limit;
+        limit = Math.max(minLimit, limit * ratio);
+        log.info("concurrency.limit upstream={} from={} to={}", upstream, (int) previous, (int) limit);
+    }
+
+    private Outcome outcomeFor(long startNanos, Response response) {
+        if (!response.isSuccessful()) {
+            return Outcome.IGNORE;
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        return elapsedMillis > slowCallMillis ? Outcome.SLOW : Outcome.SUCCESS;
+    }
+
+    // retry-after 헤더 (초 또는 HTTP 날짜)
+    private static long retryAfterMillis(Response response) {
+        String value = response.header("retry-after");
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return (long) (Double.parseDouble(value.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate("retry-after");
+            return date != null ? Math.max(0, date.getTime() - System.currentTimeMillis()) : 0;
+        }
+    }
+
+    private double read(DoubleSupplier supplier) {
+        lock.lock();
+        try {
+            return supplier.getAsDouble();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private enum Outcome {
+        SUCCESS, SLOW, OVERLOAD, IGNORE
+    }
+}
@@ -0,0 +1,269 @@
+package com.hackathon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업스트림별 서킷 브레이커 (CLOSED → OPEN → HALF_OPEN)
+ * - CLOSED: 최근 windowSize건 중 실패율 또는 느린 호출 비율이 기준을 넘으면 OPEN
+ * - OPEN: openMillis 동안 요청을 보내지 않고 바로 CircuitOpenException으로 실패 (타임아웃까지 기다리지 않음)
+ * - HALF_OPEN: halfOpenPermits건만 시험 호출, 모두 정상이면 CLOSED, 하나라도 실패/느리면 다시 OPEN
+ * 연결 실패, 타임아웃, 5xx는 실패로 보고, 클라이언트 측 호출 한도 초과나 429는 업스트림 상태와 무관하므로 세지 않는다.
+ */
+public class CircuitBreaker implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String upstream;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallMillis;
+    private final long openMillis;
+    private final int halfOpenPermits;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 최근 호출 결과 (원형 버퍼)
+    private final boolean[] failedCalls;
+    private final boolean[] slowCalls;
+    private int recorded;
+    private int nextIndex;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openUntilMillis;
+    private int halfOpenInFlight;
+    private int halfOpenSuccesses;
+
+    private final Counter rejections;
+    private final Counter openTransitions;
+
+    /**
+     * @param failureRateThreshold  실패율 기준 (0~100)
+     * @param slowCallRateThreshold 느린 호출 비율 기준 (0~100)
+     */
+    public CircuitBreaker(String upstream, int windowSize, int minimumCalls,
+                          double failureRateThreshold, double slowCallRateThreshold, long slowCallMillis,
+                          long openMillis, int halfOpenPermits, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallMillis = slowCallMillis;
+        this.openMillis = openMillis;
+        this.halfOpenPermits = halfOpenPermits;
+        this.failedCalls = new boolean[windowSize];
+        this.slowCalls = new boolean[windowSize];
+
+        this.rejections = Counter.builder("http.client.circuit.rejections")
+                .tag("upstream", upstream)
+                .description("서킷이 열려 보내지 않은 요청 수")
+                .register(registry);
+        this.openTransitions = Counter.builder("http.client.circuit.opened")
+                .tag("upstream", upstream).register(registry);
+
+        // 0: CLOSED, 1: OPEN, 2: HALF_OPEN
+        Gauge.builder("http.client.circuit.state", this, b -> b.getState().ordinal())
+                .tag("upstream", upstream).register(registry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!tryAcquire()) {
+            rejections.increment();
+            throw new CircuitOpenException(upstream, remainingOpenMillis());
+        }
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (RateLimitExceededException | ConcurrencyLimitExceededException e) {
+            // 요청을 보내지 않은 경우 - 업스트림 상태와 무관
+            onIgnored();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            if (chain.call().isCanceled()) {
+                // 호출 측에서 취소한 경우 (예: 헤징에서 진 쪽) - 업스트림 실패가 아님
+                onIgnored();
+            } else {
+                onResult(true, startNanos);
+            }
+            throw e;
+        }
+
+        if (response.code() == 429) {
+            onIgnored();
+        } else {
+            onResult(response.code() >= 500, startNanos);
+        }
+        return response;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            // OPEN 유지 시간이 지났으면 다음 요청부터 시험 호출 가능
+            if (state == State.OPEN && System.currentTimeMillis() >= openUntilMillis) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 현재 창의 실패율/느린 호출 비율 (상태 조회용)
+     */
+    public double[] currentRates() {
+        lock.lock();
+        try {
+            if (recorded == 0) {
+                return new double[] { 0, 0 };
+            }
+            return new double[] { 100.0 * failureCount / recorded, 100.0 * slowCount / recorded };
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long remainingOpenMillis() {
+        lock.lock();
+        try {
+            return state == State.OPEN ? Math.max(0, openUntilMillis - System.currentTimeMillis()) : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() < openUntilMillis) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenInFlight >= halfOpenPermits) {
+                    return false;
+                }
+                halfOpenInFlight++;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onResult(boolean failed, long startNanos) {
+        boolean slow = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) > slowCallMillis;
+
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+                if (failed || slow) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= halfOpenPermits) {
+                    transitionTo(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                // 열리기 전에 시작한 호출의 결과
+                return;
+            }
+
+            record(failed, slow);
+            if (recorded >= minimumCalls) {
+                double failureRate = 100.0 * failureCount / recorded;
+                double slowRate = 100.0 * slowCount / recorded;
+                if (failureRate >= failureRateThreshold || slowRate >= slowCallRateThreshold) {
+                    log.warn("circuit.trip upstream={} failureRatePct={} slowRatePct={} calls={}",
+                            upstream, Math.round(failureRate), Math.round(slowRate), recorded);
+                    transitionTo(State.OPEN);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failed, boolean slow) {
+        if (recorded == windowSize) {
+            // 가장 오래된 결과를 밀어냄
+            if (failedCalls[nextIndex]) {
+                failureCount--;
+            }
+            if (slowCalls[nextIndex]) {
+                slowCount--;
+            }
+        } else {
+            recorded++;
+        }
+
+        failedCalls[nextIndex] = failed;
+        slowCalls[nextIndex] = slow;
+        if (failed) {
+            failureCount++;
+        }
+        if (slow) {
+            slowCount++;
+        }
+        nextIndex = (nextIndex + 1) % windowSize;
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        halfOpenInFlight = 0;
+        halfOpenSuccesses = 0;
+
+        if (next == State.OPEN) {
+            openUntilMillis = System.currentTimeMillis() + openMillis;
+            openTransitions.increment();
+        } else if (next == State.CLOSED) {
+            // 새로 집계 시작
+            recorded = 0;
+            nextIndex = 0;
+            failureCount = 0;
+            slowCount = 0;
+        }
+        log.info("circuit.state upstream={} from={} to={}", upstream, previous, next);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hackathon.client;
+
+import java.io.IOException;
+
+/**
+ * 서킷이 열려 있어 업스트림에 요청을 보내지 않고 바로 실패한 경우
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String upstream;
+    private final long retryAfterMillis;
+
+    public CircuitOpenException(String upstream, long retryAfterMillis) {
+        super(upstream + " 서비스 장애로 요청을 일시 중단했습니다. (" + retryAfterMillis + "ms 후 재시도 가능)");
+        this.upstream = upstream;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,14 @@
+package com.hackathon.client;
+
+import java.io.IOException;
+
+/**
+ * 동시 요청 한도 대기열이 가득 찼거나 대기 시간이 지나 요청을 보내지 못한 경우
+ * 이미 대기한 뒤이므로 호출 측에서 다시 재시도하지 않는다.
+ */
+public class ConcurrencyLimitExceededException extends IOException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,267 @@
+package com.hackathon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 멱등(GET) 요청 헤징
+ * 첫 요청이 최근 응답 시간의 N 백분위수 안에 응답하지 않으면 같은 요청을 한 번 더 보내고, 먼저 온 응답을 사용한다.
+ * 진 쪽 호출은 바로 취소한다. 헤징으로 업스트림 부하가 늘지 않도록 전체 요청 대비 헤지 비율에 상한을 둔다.
+ * 응답 시간 표본은 요청당 하나, 첫 요청을 보낸 시점부터 먼저 온 응답까지로 기록한다
+ * (헤지가 이기면 헤지 자체의 짧은 시간이 아니라 첫 요청이 기다린 시간이 들어가야 기준이 낮아지지 않음).
+ * 응답 시간 꼬리(일부 요청만 수십 초 걸리는 경우)를 줄이는 것이 목적이다.
+ */
+public class HedgedRequestExecutor {
+
+    private final String upstream;
+    private final OkHttpClient client;
+    private final double percentile;
+    private final long minDelayMillis;
+    private final long initialDelayMillis;
+    private final int minSamples;
+    private final double maxHedgeRatio;
+
+    private final LatencyWindow latencies;
+
+    // 헤지 예산 (요청마다 maxHedgeRatio만큼 쌓이고 헤지 1건에 1 사용, 1/1000 단위)
+    private final AtomicLong hedgeCreditMillis = new AtomicLong();
+    private final long maxCreditMillis;
+
+    private final Counter requests;
+    private final Counter hedgesSent;
+    private final Counter hedgeWins;
+    private final Counter hedgesSkipped;
+
+    /**
+     * @param percentile    헤지 기준 백분위수 (예: 95)
+     * @param windowSize    백분위수 계산에 쓸 최근 응답 시간 개수
+     * @param maxHedgeRatio 전체 요청 대비 헤지 요청 비율 상한 (예: 0.1)
+     */
+    public HedgedRequestExecutor(String upstream, OkHttpClient client, double percentile, int windowSize,
+                                 long minDelayMillis, long initialDelayMillis, int minSamples,
+                                 double maxHedgeRatio, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.client = client;
+        this.percentile = percentile;
+        this.minDelayMillis = minDelayMillis;
+        this.initialDelayMillis = initialDelayMillis;
+        this.minSamples = minSamples;
+        this.maxHedgeRatio = maxHedgeRatio;
+        this.latencies = new LatencyWindow(windowSize);
+        // 짧은 시간에 몰려도 10건까지는 헤지 가능
+        this.maxCreditMillis = 10_000;
+
+        this.requests = Counter.builder("http.client.hedge.requests")
+                .tag("upstream", upstream).register(registry);
+        this.hedgesSent = Counter.builder("http.client.hedge.sent")
+                .tag("upstream", upstream).register(registry);
+        this.hedgeWins = Counter.builder("http.client.hedge.wins")
+                .tag("upstream", upstream)
+                .description("헤지 요청이 먼저 응답한 횟수")
+                .register(registry);
+        this.hedgesSkipped = Counter.builder("http.client.hedge.skipped")
+                .tag("upstream", upstream)
+                .description("헤지 비율 상한 때문에 보내지 않은 횟수")
+                .register(registry);
+
+        Gauge.builder("http.client.hedge.delay", this, e -> e.hedgeDelayMillis())
+                .tag("upstream", upstream)
+                .description("현재 헤지 기준 지연 시간(ms)")
+                .register(registry);
+    }
+
+    /**
+     * 요청 실행 (응답은 호출 측에서 닫아야 함)
+     *
+     * @param timeoutSeconds 호출별 전체 타임아웃
+     */
+    public Response execute(Request request, long timeoutSeconds) throws IOException {
+        if (!"GET".equals(request.method())) {
+            throw new IllegalArgumentException("헤징은 멱등 요청(GET)에만 사용할 수 있습니다: " + request.method());
+        }
+
+        requests.increment();
+        addCredit();
+
+        Attempts attempts = new Attempts();
+        attempts.send(request, timeoutSeconds, false);
+
+        long hedgeDelay = hedgeDelayMillis();
+        try {
+            try {
+                return attempts.result.get(hedgeDelay, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // 기준 시간 안에 응답이 없으면 헤지 요청 전송
+                if (tryConsumeCredit()) {
+                    attempts.send(request, timeoutSeconds, true);
+                } else {
+                    hedgesSkipped.increment();
+                }
+            }
+
+            // 호출별 타임아웃이 지나면 OkHttp가 실패로 완료하지만, 혹시 모를 경우를 대비해 여유를 두고 대기
+            return attempts.result.get(TimeUnit.SECONDS.toMillis(timeoutSeconds) + 1000, TimeUnit.MILLISECONDS);
+
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(upstream + " 호출 실패: " + cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            attempts.cancelAll();
+            throw new InterruptedIOException(upstream + " 호출 시간 초과");
+        } catch (InterruptedException e) {
+            attempts.cancelAll();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(upstream + " 호출 대기 중 인터럽트 발생");
+        }
+    }
+
+    // 최근 응답 시간의 백분위수 (표본이 적으면 초기값)
+    private long hedgeDelayMillis() {
+        long value = latencies.percentile(percentile, minSamples);
+        return value < 0 ? initialDelayMillis : Math.max(minDelayMillis, value);
+    }
+
+    private void addCredit() {
+        long credit = (long) (maxHedgeRatio * 1000);
+        hedgeCreditMillis.accumulateAndGet(credit, (current, added) -> Math.min(maxCreditMillis, current + added));
+    }
+
+    private boolean tryConsumeCredit() {
+        while (true) {
+            long current = hedgeCreditMillis.get();
+            if (current < 1000) {
+                return false;
+            }
+            if (hedgeCreditMillis.compareAndSet(current, current - 1000)) {
+                return true;
+            }
+        }
+    }
+
+    // 한 요청에 대한 시도들 (첫 요청 + 헤지)
+    private final class Attempts {
+        private final CompletableFuture<Response> result = new CompletableFuture<>();
+        private final List<Call> calls = new CopyOnWriteArrayList<>();
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile long primaryStartNanos;
+
+        void send(Request request, long timeoutSeconds, boolean hedge) {
+            outstanding.incrementAndGet();
+            // 그 사이 첫 요청이 끝났으면 헤지 불필요
+            if (hedge && result.isDone()) {
+                outstanding.decrementAndGet();
+                return;
+            }
+            if (hedge) {
+                hedgesSent.increment();
+            }
+
+            Call call = client.newCall(request);
+            call.timeout().timeout(timeoutSeconds, TimeUnit.SECONDS);
+            calls.add(call);
+
+            if (!hedge) {
+                primaryStartNanos = System.nanoTime();
+            }
+            call.enqueue(new Callback() {
+                @Override
+                public void onResponse(Call call, Response response) {
+                    if (result.complete(response)) {
+                        // 진 쪽 응답은 기록하지 않음
+                        latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - primaryStartNanos));
+                        if (hedge) {
+                            hedgeWins.increment();
+                        }
+                        cancelOthers(call);
+                    } else {
+                        response.close();
+                    }
+                }
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    // 모든 시도가 실패했을 때만 실패로 완료 (취소된 쪽은 무시)
+                    if (outstanding.decrementAndGet() == 0) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+        }
+
+        void cancelOthers(Call winner) {
+            for (Call call : calls) {
+                if (call != winner) {
+                    call.cancel();
+                }
+            }
+        }
+
+        void cancelAll() {
+            calls.forEach(Call::cancel);
+        }
+    }
+
+    // 최근 응답 시간 원형 버퍼
+    private static final class LatencyWindow {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final long[] samples;
+        private int count;
+        private int next;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        void record(long millis) {
+            lock.lock();
+            try {
+                samples[next] = millis;
+                next = (next + 1) % samples.length;
+                if (count < samples.length) {
+                    count++;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 표본이 minSamples보다 적으면 -1
+        long percentile(double percentile, int minSamples) {
+            long[] copy;
+            lock.lock();
+            try {
+                if (count < minSamples || count == 0) {
+                    return -1;
+                }
+                copy = Arrays.copyOf(samples, count);
+            } finally {
+                lock.unlock();
+            }
+            Arrays.sort(copy);
+            int index = (int) Math.ceil(percentile / 100.0 * copy.length) - 1;
+            return copy[Math.max(0, Math.min(copy.length - 1, index))];
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.hackathon.client;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호스트별 동시 요청 수 제한
+ * Dispatcher의 maxRequestsPerHost는 비동기(enqueue) 호출에만 적용되므로
+ * 동기(execute) 호출도 같은 한도를 따르도록 애플리케이션 인터셉터로 제한한다.
+ */
+public class HostConcurrencyInterceptor implements Interceptor {
+
+    private final int maxRequestsPerHost;
+    private final long acquireTimeoutMillis;
+    private final ConcurrentMap<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public HostConcurrencyInterceptor(int maxRequestsPerHost, long acquireTimeoutMillis) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        String host = chain.request().url().host();
+        Semaphore semaphore = permits.computeIfAbsent(host, h -> new Semaphore(maxRequestsPerHost));
+
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("동시 요청 한도 초과 - host: " + host + ", limit: " + maxRequestsPerHost);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("동시 요청 대기 중 인터럽트 발생");
+        }
+
+        try {
+            return chain.proceed(chain.request());
+        } finally {
+            semaphore.release();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.hackathon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.ConnectionPool;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업스트림(Tilko, Claude)별 OkHttp 커넥션 풀 지표를 수집하는 EventListener
+ * 풀 상태(idle/active)는 ConnectionPool에서 직접 읽고, 핸드셰이크/연결 수는 이벤트로 센다.
+ */
+public class HttpClientMetrics extends EventListener {
+
+    private final Counter connectionsOpened;
+    private final Counter connectionsFailed;
+    private final Counter handshakes;
+    private final Counter connectionsAcquired;
+    private final AtomicInteger inFlightCalls = new AtomicInteger();
+
+    public HttpClientMetrics(String upstream, ConnectionPool pool, MeterRegistry registry) {
+        this.connectionsOpened = Counter.builder("http.client.connections.opened")
+                .tag("upstream", upstream)
+                .description("새로 연결된 TCP 커넥션 수")
+                .register(registry);
+        this.connectionsFailed = Counter.builder("http.client.connections.failed")
+                .tag("upstream", upstream)
+                .register(registry);
+        this.handshakes = Counter.builder("http.client.tls.handshakes")
+                .tag("upstream", upstream)
+                .description("TLS 핸드셰이크 수")
+                .register(registry);
+        this.connectionsAcquired = Counter.builder("http.client.connections.acquired")
+                .tag("upstream", upstream)
+                .description("호출이 풀에서 커넥션을 획득한 횟수")
+                .register(registry);
+
+        Gauge.builder("http.client.pool.connections", pool, ConnectionPool::idleConnectionCount)
+                .tag("upstream", upstream)
+                .tag("state", "idle")
+                .register(registry);
+        Gauge.builder("http.client.pool.connections", pool,
+                        p -> p.connectionCount() - p.idleConnectionCount())
+                .tag("upstream", upstream)
+                .tag("state", "active")
+                .register(registry);
+        Gauge.builder("http.client.calls.in-flight", inFlightCalls, AtomicInteger::get)
+                .tag("upstream", upstream)
+                .register(registry);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        inFlightCalls.incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        inFlightCalls.decrementAndGet();
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        inFlightCalls.decrementAndGet();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        connectionsOpened.increment();
+    }
+
+    @Override
+    public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy,
+                              Protocol protocol, IOException ioe) {
+        connectionsFailed.increment();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        handshakes.increment();
+    }
+
+    @Override
+    public void connectionAcquired(Call call, Connection connection) {
+        connectionsAcquired.increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.hackathon.client;
+
+import java.io.IOException;
+
+/**
+ * 클라이언트 측 호출 한도(초당 요청 수, 분당 토큰 수)를 넘어 업스트림에 요청을 보내지 않은 경우
+ * retryAfterMillis 후에는 한도 안에서 다시 호출할 수 있다.
+ */
+public class RateLimitExceededException extends IOException {
+
+    private final String upstream;
+    private final String limitType;
+    private final long retryAfterMillis;
+
+    public RateLimitExceededException(String upstream, String limitType, long retryAfterMillis) {
+        super(upstream + " 호출 한도 초과 (" + limitType + "), " + retryAfterMillis + "ms 후 다시 시도해주세요.");
+        this.upstream = upstream;
+        this.limitType = limitType;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public String getLimitType() {
+        return limitType;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
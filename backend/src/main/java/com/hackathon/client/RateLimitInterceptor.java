@@ -0,0 +1,130 @@
+package com.hackathon.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림 호출 전 클라이언트 측 호출 한도 적용 (API 키별 토큰 버킷)
+ * - 초당 요청 수 + 버스트
+ * - 분당 토큰 수 (요청에 TokenCost 태그가 있는 경우만, 예: Claude 입력 토큰)
+ * 한도 안이면 바로 보내고, 잠깐 기다리면 되는 경우 토큰을 예약한 뒤 기다렸다 보낸다.
+ * 최대 대기 시간을 넘으면 요청을 보내지 않고 RateLimitExceededException으로 바로 실패한다.
+ * 업스트림에서 거절(429)당하기 전에 한도 근처의 일정한 속도로 호출을 흘려보내는 것이 목적이다.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitInterceptor.class);
+
+    private static final String LIMIT_REQUESTS = "requests";
+    private static final String LIMIT_TOKENS = "tokens";
+
+    private final String upstream;
+    private final String apiKeyHeader;
+    private final double requestsPerSecond;
+    private final long requestBurst;
+    private final long tokensPerMinute;
+    private final long maxWaitNanos;
+
+    // API 키 → 버킷 (키마다 업스트림 할당량이 따로 있음)
+    private final ConcurrentMap<String, KeyBuckets> buckets = new ConcurrentHashMap<>();
+
+    private final Counter requestRejections;
+    private final Counter tokenRejections;
+    private final Timer waitTimer;
+
+    /**
+     * @param apiKeyHeader    API 키가 담긴 요청 헤더 (버킷 구분용)
+     * @param tokensPerMinute 분당 토큰 한도 (0 이하면 적용하지 않음)
+     */
+    public RateLimitInterceptor(String upstream, String apiKeyHeader,
+                                double requestsPerSecond, long requestBurst, long tokensPerMinute,
+                                long maxWaitMillis, MeterRegistry registry) {
+        this.upstream = upstream;
+        this.apiKeyHeader = apiKeyHeader;
+        this.requestsPerSecond = requestsPerSecond;
+        this.requestBurst = requestBurst;
+        this.tokensPerMinute = tokensPerMinute;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        this.requestRejections = Counter.builder("http.client.ratelimit.rejections")
+                .tag("upstream", upstream).tag("limit", LIMIT_REQUESTS).register(registry);
+        this.tokenRejections = Counter.builder("http.client.ratelimit.rejections")
+                .tag("upstream", upstream).tag("limit", LIMIT_TOKENS).register(registry);
+        this.waitTimer = Timer.builder("http.client.ratelimit.wait")
+                .tag("upstream", upstream)
+                .description("호출 한도 때문에 대기한 시간")
+                .register(registry);
+
+        log.info("http.client.rateLimit upstream={} requestsPerSecond={} burst={} tokensPerMinute={}",
+                upstream, requestsPerSecond, requestBurst, tokensPerMinute);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String apiKey = request.header(apiKeyHeader);
+        KeyBuckets keyBuckets = buckets.computeIfAbsent(apiKey != null ? apiKey : "", k -> new KeyBuckets());
+
+        TokenCost tokenCost = request.tag(TokenCost.class);
+        long tokens = tokenCost != null ? tokenCost.tokens() : 0;
+
+        long waitNanos = reserve(keyBuckets, tokens);
+        if (waitNanos > 0) {
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("호출 한도 대기 중 인터럽트 발생");
+            }
+        }
+        return chain.proceed(request);
+    }
+
+    // 요청 버킷과 토큰 버킷 모두에서 예약 (둘 중 하나라도 실패하면 예약 취소 후 실패)
+    private long reserve(KeyBuckets keyBuckets, long tokens) throws RateLimitExceededException {
+        long requestWait = keyBuckets.requests.reserve(1, maxWaitNanos);
+        if (requestWait < 0) {
+            requestRejections.increment();
+            throw new RateLimitExceededException(upstream, LIMIT_REQUESTS, TimeUnit.NANOSECONDS.toMillis(-requestWait));
+        }
+
+        if (keyBuckets.tokens == null || tokens <= 0) {
+            return requestWait;
+        }
+
+        long tokenWait = keyBuckets.tokens.reserve(tokens, maxWaitNanos);
+        if (tokenWait < 0) {
+            keyBuckets.requests.refund(1);
+            tokenRejections.increment();
+            throw new RateLimitExceededException(upstream, LIMIT_TOKENS, TimeUnit.NANOSECONDS.toMillis(-tokenWait));
+        }
+        return Math.max(requestWait, tokenWait);
+    }
+
+    /**
+     * 요청이 소비할 토큰 수 (Request.Builder.tag(TokenCost.class, ...)로 지정)
+     */
+    public record TokenCost(long tokens) {
+    }
+
+    private final class KeyBuckets {
+        private final TokenBucket requests = new TokenBucket(requestsPerSecond, requestBurst);
+        // 분당 한도만큼 한 번에 쓸 수 있고, 초당 tokensPerMinute/60개씩 다시 채워짐
+        private final TokenBucket tokens = tokensPerMinute > 0
+                ? new TokenBucket(tokensPerMinute / 60.0, tokensPerMinute)
+                : null;
+    }
+}
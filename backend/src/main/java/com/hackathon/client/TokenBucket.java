@@ -0,0 +1,66 @@
+package com.hackathon.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷
+ * 남은 토큰 수 대신 "버킷이 다시 가득 차는 시각"(나노초) 하나만 CAS로 갱신한다. (GCRA 방식)
+ * 토큰 1개는 emissionInterval마다 채워지고, 최대 burst개까지 한꺼번에 쓸 수 있다.
+ * 대기가 허용되면 미래의 토큰을 미리 예약하고 필요한 대기 시간을 돌려주므로, 기다리는 호출끼리도 순서대로 나뉜다.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burst;
+    private final long burstToleranceNanos;
+
+    // 지금까지 예약된 토큰을 모두 쓰고 버킷이 비는 시각 (이론적 도착 시각)
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * @param permitsPerSecond 초당 채워지는 토큰 수
+     * @param burst            한 번에 쓸 수 있는 최대 토큰 수
+     */
+    public TokenBucket(double permitsPerSecond, long burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond, burst는 0보다 커야 합니다.");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burst = burst;
+        this.burstToleranceNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * 토큰 예약
+     *
+     * @param permits      필요한 토큰 수 (burst보다 크면 burst로 계산)
+     * @param maxWaitNanos 허용하는 최대 대기 시간
+     * @return 0 이상이면 예약 성공 후 기다려야 할 시간(나노초),
+     *         음수이면 예약 실패이고 절댓값은 토큰이 준비될 때까지 남은 시간
+     */
+    public long reserve(long permits, long maxWaitNanos) {
+        long cost = Math.min(permits, burst) * emissionIntervalNanos;
+        while (true) {
+            long now = System.nanoTime();
+            long current = theoreticalArrivalNanos.get();
+            long next = Math.max(current, now) + cost;
+            long waitNanos = next - now - burstToleranceNanos;
+
+            if (waitNanos > maxWaitNanos) {
+                return -waitNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+                return Math.max(0, waitNanos);
+            }
+        }
+    }
+
+    /**
+     * 예약한 토큰 반환 (다른 버킷에서 거절되어 호출하지 않은 경우)
+     */
+    public void refund(long permits) {
+        theoreticalArrivalNanos.addAndGet(-Math.min(permits, burst) * emissionIntervalNanos);
+    }
+}
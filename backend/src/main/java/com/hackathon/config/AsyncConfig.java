@@ -0,0 +1,103 @@
+package com.hackathon.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 업스트림 동시 조회용 실행기 설정
+ * 건강검진/복용약물 조회처럼 서로 독립적인 Tilko 호출을 병렬로 실행할 때 사용한다.
+ * spring.threads.virtual.enabled=true 이면 플랫폼 스레드 풀 대신 가상 스레드를 사용한다.
+ */
+@Configuration
+@EnableScheduling
+public class AsyncConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    @Value("${tilko.fetch.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${tilko.fetch.max-pool-size:32}")
+    private int maxPoolSize;
+
+    @Value("${tilko.fetch.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${tilko.fetch.virtual-concurrency-limit:256}")
+    private int virtualConcurrencyLimit;
+
+    @Value("${jobs.executor.pool-size:16}")
+    private int jobPoolSize;
+
+    @Value("${jobs.executor.queue-capacity:200}")
+    private int jobQueueCapacity;
+
+    @Value("${claude.coalescing.pool-size:16}")
+    private int claudePoolSize;
+
+    @Value("${claude.coalescing.queue-capacity:200}")
+    private int claudeQueueCapacity;
+
+    @Bean
+    public AsyncTaskExecutor tilkoFetchExecutor() {
+        return buildExecutor("tilko-fetch-", corePoolSize, maxPoolSize, queueCapacity, virtualConcurrencyLimit);
+    }
+
+    /**
+     * 비동기 작업 API용 실행기
+     * 작업 내부에서 tilkoFetchExecutor로 다시 분기하므로 같은 풀을 쓰면 교착될 수 있어 분리한다.
+     */
+    @Bean
+    public AsyncTaskExecutor healthJobExecutor() {
+        return buildExecutor("health-job-", jobPoolSize, jobPoolSize, jobQueueCapacity, jobQueueCapacity);
+    }
+
+    /**
+     * 공유 Claude 분석 호출용 실행기
+     * 같은 입력을 기다리는 요청들이 한 번의 호출을 공유하므로, 어느 요청 스레드에도 묶이지 않게 별도 스레드에서 실행한다.
+     * 스트리밍 분석도 같은 공유 항목으로 이 풀에서 실행되며, 결과를 기다리는 쪽은 완료 콜백만 등록하고 스레드를 점유하지 않는다.
+     */
+    @Bean
+    public AsyncTaskExecutor claudeAnalysisExecutor() {
+        return buildExecutor("claude-analysis-", claudePoolSize, claudePoolSize, claudeQueueCapacity, claudeQueueCapacity);
+    }
+
+    private AsyncTaskExecutor buildExecutor(String threadNamePrefix, int corePoolSize, int maxPoolSize,
+                                            int queueCapacity, int virtualConcurrencyLimit) {
+        if (virtualThreadsEnabled) {
+            log.info("executor.created name={} virtualThreads=true concurrencyLimit={}", threadNamePrefix, virtualConcurrencyLimit);
+
+            // 작업마다 가상 스레드 생성, 동시 실행 수만 제한 (한도 초과 시 대기하지 않고 거절)
+            BoundedVirtualThreadExecutor executor =
+                    new BoundedVirtualThreadExecutor(threadNamePrefix + "vt-", virtualConcurrencyLimit);
+            executor.setTaskDecorator(new RequestContextTaskDecorator());
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        // 요청 상관 ID(MDC)와 Server-Timing 단계 시간을 작업 스레드로 전달
+        executor.setTaskDecorator(new RequestContextTaskDecorator());
+        // 큐가 가득 차면 거절 (호출 측에서 해당 작업을 실패로 처리)
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
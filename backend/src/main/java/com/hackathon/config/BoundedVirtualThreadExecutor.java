@@ -0,0 +1,47 @@
+package com.hackathon.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * 작업마다 가상 스레드를 만들되 동시 실행 수를 제한하는 실행기
+ * SimpleAsyncTaskExecutor.setConcurrencyLimit은 한도에 닿으면 호출 스레드를 막으므로,
+ * 자리가 없으면 바로 거절(RejectedExecutionException)해 플랫폼 스레드 풀의 AbortPolicy와 같게 동작한다.
+ */
+public class BoundedVirtualThreadExecutor extends SimpleAsyncTaskExecutor {
+
+    private final Semaphore permits;
+    private final int limit;
+
+    public BoundedVirtualThreadExecutor(String threadNamePrefix, int limit) {
+        super(threadNamePrefix);
+        this.permits = new Semaphore(limit);
+        this.limit = limit;
+        setVirtualThreads(true);
+    }
+
+    @Override
+    protected void doExecute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException(getThreadNamePrefix() + " 동시 실행 한도 초과 (" + limit + "개)");
+        }
+        try {
+            super.doExecute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveCount() {
+        return limit - permits.availablePermits();
+    }
+}
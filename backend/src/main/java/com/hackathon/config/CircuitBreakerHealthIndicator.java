@@ -0,0 +1,38 @@
+package com.hackathon.config;
+
+import com.hackathon.client.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 업스트림 서킷 상태를 /actuator/health 의 circuitBreaker 항목으로 노출
+ * 업스트림 장애는 이 서버의 장애가 아니므로(대체 응답 가능) 서킷이 열려도 상태는 UP으로 두고 상세 정보로만 보여준다.
+ */
+@Component
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private List<CircuitBreaker> circuitBreakers;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (CircuitBreaker breaker : circuitBreakers) {
+            double[] rates = breaker.currentRates();
+
+            Map<String, Object> detail = new LinkedHashMap<>();
+            detail.put("state", breaker.getState().name());
+            detail.put("failureRate", Math.round(rates[0]) + "%");
+            detail.put("slowCallRate", Math.round(rates[1]) + "%");
+            detail.put("remainingOpenMillis", breaker.remainingOpenMillis());
+            builder.withDetail(breaker.getUpstream(), detail);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,292 @@
+package com.hackathon.config;
+
+import com.hackathon.client.AdaptiveConcurrencyLimiter;
+import com.hackathon.client.CircuitBreaker;
+import com.hackathon.client.HedgedRequestExecutor;
+import com.hackathon.client.HostConcurrencyInterceptor;
+import com.hackathon.client.HttpClientMetrics;
+import com.hackathon.client.RateLimitInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림별 공용 OkHttpClient 설정
+ * 호출마다 클라이언트를 새로 만들면 커넥션 풀/디스패처 스레드/TLS 핸드셰이크를 매번 새로 만들게 되므로
+ * Tilko, Claude 각각 하나의 클라이언트를 빈으로 등록해 커넥션을 재사용한다.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpClientConfig.class);
+
+    // Tilko 설정
+    @Value("${tilko.http.connect-timeout-seconds:10}")
+    private int tilkoConnectTimeout;
+
+    @Value("${tilko.http.read-timeout-seconds:120}")
+    private int tilkoReadTimeout;
+
+    @Value("${tilko.http.write-timeout-seconds:120}")
+    private int tilkoWriteTimeout;
+
+    @Value("${tilko.http.max-idle-connections:10}")
+    private int tilkoMaxIdleConnections;
+
+    @Value("${tilko.http.keep-alive-minutes:5}")
+    private int tilkoKeepAliveMinutes;
+
+    @Value("${tilko.http.max-requests:64}")
+    private int tilkoMaxRequests;
+
+    @Value("${tilko.http.max-requests-per-host:16}")
+    private int tilkoMaxRequestsPerHost;
+
+    // Tilko 호출 한도 (API 키별)
+    @Value("${tilko.rate-limit.enabled:true}")
+    private boolean tilkoRateLimitEnabled;
+
+    @Value("${tilko.rate-limit.requests-per-second:10}")
+    private double tilkoRequestsPerSecond;
+
+    @Value("${tilko.rate-limit.burst:20}")
+    private long tilkoRequestBurst;
+
+    @Value("${tilko.rate-limit.max-wait-millis:3000}")
+    private long tilkoRateLimitMaxWaitMillis;
+
+    // Claude 설정
+    @Value("${claude.http.connect-timeout-seconds:10}")
+    private int claudeConnectTimeout;
+
+    @Value("${claude.http.read-timeout-seconds:60}")
+    private int claudeReadTimeout;
+
+    @Value("${claude.http.write-timeout-seconds:60}")
+    private int claudeWriteTimeout;
+
+    @Value("${claude.http.max-idle-connections:10}")
+    private int claudeMaxIdleConnections;
+
+    @Value("${claude.http.keep-alive-minutes:5}")
+    private int claudeKeepAliveMinutes;
+
+    @Value("${claude.http.max-requests:64}")
+    private int claudeMaxRequests;
+
+    @Value("${claude.http.max-requests-per-host:8}")
+    private int claudeMaxRequestsPerHost;
+
+    // Claude 호출 한도 (API 키별, 분당 입력 토큰 포함)
+    @Value("${claude.rate-limit.enabled:true}")
+    private boolean claudeRateLimitEnabled;
+
+    @Value("${claude.rate-limit.requests-per-second:0.8}")
+    private double claudeRequestsPerSecond;
+
+    @Value("${claude.rate-limit.burst:5}")
+    private long claudeRequestBurst;
+
+    @Value("${claude.rate-limit.input-tokens-per-minute:40000}")
+    private long claudeInputTokensPerMinute;
+
+    @Value("${claude.rate-limit.max-wait-millis:10000}")
+    private long claudeRateLimitMaxWaitMillis;
+
+    // Claude 적응형 동시 요청 한도 (429/529, 응답 시간에 따라 조절)
+    @Value("${claude.limiter.initial-limit:4}")
+    private int claudeInitialLimit;
+
+    @Value("${claude.limiter.min-limit:1}")
+    private int claudeMinLimit;
+
+    @Value("${claude.limiter.max-limit:16}")
+    private int claudeMaxLimit;
+
+    @Value("${claude.limiter.max-queue:100}")
+    private int claudeMaxQueue;
+
+    @Value("${claude.limiter.max-wait-millis:30000}")
+    private long claudeMaxWaitMillis;
+
+    @Value("${claude.limiter.backoff-ratio:0.5}")
+    private double claudeBackoffRatio;
+
+    @Value("${claude.limiter.slow-call-millis:45000}")
+    private long claudeSlowCallMillis;
+
+    // retry-after 헤더 없이 429/529를 받았을 때 새 요청을 멈출 시간
+    @Value("${claude.limiter.default-retry-after-millis:1000}")
+    private long claudeDefaultRetryAfterMillis;
+
+    // 서킷 브레이커 (업스트림 장애 시 타임아웃까지 기다리지 않고 바로 실패)
+    @Value("${tilko.circuit-breaker.window-size:20}")
+    private int tilkoBreakerWindowSize;
+
+    @Value("${tilko.circuit-breaker.minimum-calls:10}")
+    private int tilkoBreakerMinimumCalls;
+
+    @Value("${tilko.circuit-breaker.failure-rate-threshold:50}")
+    private double tilkoBreakerFailureRate;
+
+    @Value("${tilko.circuit-breaker.slow-call-rate-threshold:80}")
+    private double tilkoBreakerSlowCallRate;
+
+    @Value("${tilko.circuit-breaker.slow-call-millis:30000}")
+    private long tilkoBreakerSlowCallMillis;
+
+    @Value("${tilko.circuit-breaker.open-seconds:30}")
+    private long tilkoBreakerOpenSeconds;
+
+    @Value("${tilko.circuit-breaker.half-open-permits:3}")
+    private int tilkoBreakerHalfOpenPermits;
+
+    @Value("${claude.circuit-breaker.window-size:20}")
+    private int claudeBreakerWindowSize;
+
+    @Value("${claude.circuit-breaker.minimum-calls:10}")
+    private int claudeBreakerMinimumCalls;
+
+    @Value("${claude.circuit-breaker.failure-rate-threshold:50}")
+    private double claudeBreakerFailureRate;
+
+    @Value("${claude.circuit-breaker.slow-call-rate-threshold:80}")
+    private double claudeBreakerSlowCallRate;
+
+    @Value("${claude.circuit-breaker.slow-call-millis:30000}")
+    private long claudeBreakerSlowCallMillis;
+
+    @Value("${claude.circuit-breaker.open-seconds:30}")
+    private long claudeBreakerOpenSeconds;
+
+    @Value("${claude.circuit-breaker.half-open-permits:3}")
+    private int claudeBreakerHalfOpenPermits;
+
+    // Tilko 멱등(GET) 요청 헤징 (Public Key 조회, 시간당 1~2건)
+    @Value("${tilko.hedge.percentile:95}")
+    private double tilkoHedgePercentile;
+
+    @Value("${tilko.hedge.window-size:24}")
+    private int tilkoHedgeWindowSize;
+
+    @Value("${tilko.hedge.min-delay-millis:50}")
+    private long tilkoHedgeMinDelayMillis;
+
+    @Value("${tilko.hedge.initial-delay-millis:1000}")
+    private long tilkoHedgeInitialDelayMillis;
+
+    @Value("${tilko.hedge.min-samples:3}")
+    private int tilkoHedgeMinSamples;
+
+    @Value("${tilko.hedge.max-hedge-ratio:1.0}")
+    private double tilkoMaxHedgeRatio;
+
+    // 동시 요청 한도에 걸렸을 때 대기할 최대 시간
+    @Value("${http.client.acquire-timeout-millis:30000}")
+    private long acquireTimeoutMillis;
+
+    @Bean
+    public CircuitBreaker tilkoCircuitBreaker(MeterRegistry meterRegistry) {
+        return new CircuitBreaker("tilko", tilkoBreakerWindowSize, tilkoBreakerMinimumCalls,
+                tilkoBreakerFailureRate, tilkoBreakerSlowCallRate, tilkoBreakerSlowCallMillis,
+                TimeUnit.SECONDS.toMillis(tilkoBreakerOpenSeconds), tilkoBreakerHalfOpenPermits, meterRegistry);
+    }
+
+    @Bean
+    public CircuitBreaker claudeCircuitBreaker(MeterRegistry meterRegistry) {
+        return new CircuitBreaker("claude", claudeBreakerWindowSize, claudeBreakerMinimumCalls,
+                claudeBreakerFailureRate, claudeBreakerSlowCallRate, claudeBreakerSlowCallMillis,
+                TimeUnit.SECONDS.toMillis(claudeBreakerOpenSeconds), claudeBreakerHalfOpenPermits, meterRegistry);
+    }
+
+    @Bean
+    public OkHttpClient tilkoHttpClient(MeterRegistry meterRegistry,
+                                        @Qualifier("tilkoCircuitBreaker") CircuitBreaker circuitBreaker) {
+        return buildClient("tilko", meterRegistry, circuitBreaker,
+                tilkoConnectTimeout, tilkoReadTimeout, tilkoWriteTimeout,
+                tilkoMaxIdleConnections, tilkoKeepAliveMinutes,
+                tilkoMaxRequests, tilkoMaxRequestsPerHost,
+                tilkoRateLimitEnabled
+                        ? new RateLimitInterceptor("tilko", "API-KEY", tilkoRequestsPerSecond, tilkoRequestBurst,
+                                0, tilkoRateLimitMaxWaitMillis, meterRegistry)
+                        : null,
+                new HostConcurrencyInterceptor(tilkoMaxRequestsPerHost, acquireTimeoutMillis));
+    }
+
+    @Bean
+    public HedgedRequestExecutor tilkoHedgedExecutor(MeterRegistry meterRegistry,
+                                                     @Qualifier("tilkoHttpClient") OkHttpClient tilkoHttpClient) {
+        return new HedgedRequestExecutor("tilko", tilkoHttpClient, tilkoHedgePercentile, tilkoHedgeWindowSize,
+                tilkoHedgeMinDelayMillis, tilkoHedgeInitialDelayMillis, tilkoHedgeMinSamples,
+                tilkoMaxHedgeRatio, meterRegistry);
+    }
+
+    @Bean
+    public OkHttpClient claudeHttpClient(MeterRegistry meterRegistry,
+                                         @Qualifier("claudeCircuitBreaker") CircuitBreaker circuitBreaker) {
+        // Messages API 호출에만 적응형 한도 적용 (배치 제출/조회는 별도 한도)
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("claude", "/messages",
+                claudeInitialLimit, claudeMinLimit, claudeMaxLimit,
+                claudeMaxQueue, claudeMaxWaitMillis, claudeBackoffRatio,
+                claudeSlowCallMillis, claudeDefaultRetryAfterMillis, meterRegistry);
+
+        return buildClient("claude", meterRegistry, circuitBreaker,
+                claudeConnectTimeout, claudeReadTimeout, claudeWriteTimeout,
+                claudeMaxIdleConnections, claudeKeepAliveMinutes,
+                claudeMaxRequests, claudeMaxRequestsPerHost,
+                claudeRateLimitEnabled
+                        ? new RateLimitInterceptor("claude", "x-api-key", claudeRequestsPerSecond, claudeRequestBurst,
+                                claudeInputTokensPerMinute, claudeRateLimitMaxWaitMillis, meterRegistry)
+                        : null,
+                limiter);
+    }
+
+    private OkHttpClient buildClient(String upstream, MeterRegistry meterRegistry, CircuitBreaker circuitBreaker,
+                                     int connectTimeout, int readTimeout, int writeTimeout,
+                                     int maxIdleConnections, int keepAliveMinutes,
+                                     int maxRequests, int maxRequestsPerHost,
+                                     Interceptor rateLimitInterceptor, Interceptor concurrencyInterceptor) {
+        ConnectionPool connectionPool = new ConnectionPool(maxIdleConnections, keepAliveMinutes, TimeUnit.MINUTES);
+
+        // 비동기 호출용 디스패처 한도
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+
+        log.info("http.client.created upstream={} maxIdleConnections={} keepAliveMinutes={} maxRequestsPerHost={}",
+                upstream, maxIdleConnections, keepAliveMinutes, maxRequestsPerHost);
+
+        // 호출 한도 대기는 동시 요청 자리를 차지하기 전에 (기다리는 동안 다른 요청이 자리를 쓰도록)
+        OkHttpClient.Builder builder = new OkHttpClient.Builder();
+        if (rateLimitInterceptor != null) {
+            builder.addInterceptor(rateLimitInterceptor);
+        }
+
+        return builder
+                .connectionPool(connectionPool)
+                .dispatcher(dispatcher)
+                // ALPN으로 협상되면 HTTP/2, 아니면 HTTP/1.1 사용
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(connectTimeout, TimeUnit.SECONDS)
+                .readTimeout(readTimeout, TimeUnit.SECONDS)
+                .writeTimeout(writeTimeout, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                .addInterceptor(concurrencyInterceptor)
+                // 서킷은 가장 안쪽: 호출 한도/동시 요청 대기 시간과 로컬 거절은 업스트림 실패/지연으로 세지 않음
+                .addInterceptor(circuitBreaker)
+                .eventListener(new HttpClientMetrics(upstream, connectionPool, meterRegistry))
+                .build();
+    }
+}
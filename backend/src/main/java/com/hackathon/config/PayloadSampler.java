@@ -0,0 +1,38 @@
+package com.hackathon.config;
+
+import com.hackathon.util.LogRedactor;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 업스트림 요청/응답 본문 로그 샘플링
+ * 본문 전체를 매번 찍지 않고, DEBUG가 켜져 있을 때 sample-rate 비율로만 가림 처리 + 길이 제한해서 남긴다.
+ */
+@Component
+public class PayloadSampler {
+
+    // 0이면 본문을 남기지 않음, 1이면 모든 요청
+    @Value("${logging.payload.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${logging.payload.max-chars:2000}")
+    private int maxChars;
+
+    public void debug(Logger log, String event, String payload) {
+        if (payload == null || !log.isDebugEnabled() || !sampled()) {
+            return;
+        }
+        log.debug("{} payloadChars={} payload={}", event, payload.length(), truncate(LogRedactor.json(payload)));
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private String truncate(String payload) {
+        return payload.length() <= maxChars ? payload : payload.substring(0, maxChars) + "…(생략)";
+    }
+}
@@ -0,0 +1,37 @@
+package com.hackathon.config;
+
+import com.hackathon.util.ServerTiming;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+/**
+ * 작업을 제출한 스레드의 요청 문맥을 실행기 스레드로 복사
+ * - MDC (requestId 등)
+ * - Server-Timing 단계 시간 (ServerTiming)
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        return ServerTiming.wrap(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (context != null) {
+                MDC.setContextMap(context);
+            } else {
+                MDC.clear();
+            }
+            try {
+                runnable.run();
+            } finally {
+                if (previous != null) {
+                    MDC.setContextMap(previous);
+                } else {
+                    MDC.clear();
+                }
+            }
+        });
+    }
+}
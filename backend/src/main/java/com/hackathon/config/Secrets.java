@@ -0,0 +1,35 @@
+package com.hackathon.config;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+/**
+ * 비밀 값(암호화 키, HMAC 키) 확인
+ * 비어 있거나 공개된 자리표시 값이면 시작을 중단한다. local/dev 프로필에서만 개발용 값을 허용한다.
+ */
+public final class Secrets {
+
+    private static final Profiles DEVELOPMENT = Profiles.of("local", "dev");
+
+    private Secrets() {
+    }
+
+    /**
+     * @param property 설정 이름 (예: patient.key.secret)
+     * @param envVar   운영에서 값을 넣을 환경 변수 이름
+     * @return 확인된 값
+     * @throws IllegalStateException 운영 프로필에서 값이 없거나 자리표시 값
+     */
+    public static String require(Environment environment, String property, String envVar, String value) {
+        boolean placeholder = value == null || value.isBlank() || value.startsWith("change-me")
+                || value.startsWith("local-dev-only");
+        if (placeholder && !environment.acceptsProfiles(DEVELOPMENT)) {
+            throw new IllegalStateException(property + " 값이 없거나 개발용 값입니다. 환경 변수 " + envVar
+                    + "로 설정하세요. (local/dev 프로필에서만 생략 가능)");
+        }
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException(property + " 값이 없습니다. 환경 변수 " + envVar + "로 설정하세요.");
+        }
+        return value;
+    }
+}
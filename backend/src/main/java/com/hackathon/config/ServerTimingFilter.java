@@ -0,0 +1,44 @@
+package com.hackathon.config;
+
+import com.hackathon.util.ServerTiming;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Server-Timing 대상 요청의 단계 시간 수집 시작/종료
+ * 헤더는 응답 본문을 쓰기 직전에 ServerTimingAdvice가 붙인다. (필터가 끝날 때는 이미 응답이 커밋된 뒤)
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Value("${server-timing.enabled:true}")
+    private boolean enabled;
+
+    // context-path(/api)를 뺀 경로
+    @Value("${server-timing.paths:/auth/request,/integrated/health-data,/integrated/analyze-diseases}")
+    private Set<String> paths;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !paths.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ServerTiming.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ServerTiming.clear();
+        }
+    }
+}
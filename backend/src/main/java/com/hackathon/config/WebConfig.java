@@ -14,6 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOriginPatterns("*") // 모든 오리진 허용 (개발용)
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("Server-Timing", "X-Request-Id") // 웹 클라이언트에서 단계 시간/요청 ID 확인
                 .allowCredentials(true)
                 .maxAge(3600);
     }
@@ -0,0 +1,102 @@
+package com.hackathon.controller;
+
+import com.hackathon.client.CircuitOpenException;
+import com.hackathon.client.RateLimitExceededException;
+import com.hackathon.service.AuthSessionExpiredException;
+import com.hackathon.service.InvalidRegistrationException;
+import com.hackathon.service.RegistrationQueueFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 컨트롤러 밖으로 나온 예외를 구조화된 오류 응답으로 변환
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiExceptionHandler.class);
+
+    // 업스트림 호출 한도 초과 → 429 + Retry-After (클라이언트가 잠시 후 다시 요청)
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimitExceeded(RateLimitExceededException e) {
+        log.warn("upstream.rateLimited upstream={} limit={} retryAfterMillis={}",
+                e.getUpstream(), e.getLimitType(), e.getRetryAfterMillis());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "RATE_LIMITED");
+        body.put("message", "요청이 많아 잠시 후 다시 시도해주세요.");
+        body.put("upstream", e.getUpstream());
+        body.put("limit", e.getLimitType());
+        body.put("retryAfterMillis", e.getRetryAfterMillis());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfterMillis()))
+                .body(body);
+    }
+
+    // 업스트림 서킷 열림 → 503 + Retry-After (타임아웃까지 기다리지 않고 바로 응답)
+    @ExceptionHandler(CircuitOpenException.class)
+    public ResponseEntity<Map<String, Object>> handleCircuitOpen(CircuitOpenException e) {
+        log.warn("upstream.circuitOpen upstream={} retryAfterMillis={}", e.getUpstream(), e.getRetryAfterMillis());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "CIRCUIT_OPEN");
+        body.put("message", "외부 서비스 장애로 잠시 후 다시 시도해주세요.");
+        body.put("upstream", e.getUpstream());
+        body.put("retryAfterMillis", e.getRetryAfterMillis());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfterMillis()))
+                .body(body);
+    }
+
+    // 회원가입 대기열 가득 참 → 503 + Retry-After (가입 폭주가 잦아들면 다시 시도)
+    @ExceptionHandler(RegistrationQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleRegistrationQueueFull(RegistrationQueueFullException e) {
+        log.warn("registration.rejected error={}", e.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("status", "QUEUE_FULL");
+        body.put("message", "가입 요청이 많아 잠시 후 다시 시도해주세요.");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(1000))
+                .body(body);
+    }
+
+    // 회원가입 요청 값 오류 → 400 (저장할 수 없는 값은 대기열에 넣지 않음)
+    @ExceptionHandler(InvalidRegistrationException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRegistration(InvalidRegistrationException e) {
+        log.info("registration.invalid error={}", e.getMessage());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("status", "INVALID_REQUEST");
+        body.put("message", e.getMessage());
+
+        return ResponseEntity.badRequest().body(body);
+    }
+
+    // 인증 세션 만료/없음 → 401 (간편인증 다시 진행)
+    @ExceptionHandler(AuthSessionExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleAuthSessionExpired(AuthSessionExpiredException e) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "SESSION_EXPIRED");
+        body.put("message", e.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+    }
+
+    private static String retryAfterSeconds(long retryAfterMillis) {
+        return String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+}
@@ -2,7 +2,14 @@ package com.hackathon.controller;
 
 import com.hackathon.dto.AuthRequestDto;
 import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.dto.RegistrationRequestDto;
 import com.hackathon.service.AuthService;
+import com.hackathon.service.AuthSessionService;
+import com.hackathon.service.InvalidRegistrationException;
+import com.hackathon.service.RegistrationQueueFullException;
+import com.hackathon.service.RegistrationWriteBehindQueue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
@@ -13,9 +20,17 @@ import java.util.Map;
 @RequestMapping("/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private RegistrationWriteBehindQueue registrationQueue;
+
+    @Autowired
+    private AuthSessionService authSessions;
+
     // 간편인증 요청 API - 필터링된 DTO 반환 (통합 API 호출용)
     @PostMapping("/request")
     public AuthResponseDto requestAuth(@RequestBody AuthRequestDto authRequest) throws Exception {
@@ -28,39 +43,39 @@ public class AuthController {
         return authService.requestSimpleAuthRaw(authRequest);
     }
 
-    // 회원가입 완료 API (해커톤용 임시 구현)
+    // 간편인증 세션 종료 (서버에 보관한 인증 정보 삭제)
+    @DeleteMapping("/session")
+    public ResponseEntity<Void> closeSession(@RequestHeader("X-Auth-Session") String sessionId) {
+        authSessions.close(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    // 회원가입 완료 API - 저널에 기록되면 바로 응답하고 DB 저장은 백그라운드에서 배치 처리
     @PostMapping("/register/complete")
-    public ResponseEntity<Map<String, Object>> completeRegistration(@RequestBody Map<String, Object> registrationData) {
+    public ResponseEntity<Map<String, Object>> completeRegistration(@RequestBody RegistrationRequestDto registration) {
         try {
-            System.out.println("=== 회원가입 완료 요청 받음 ===");
-            System.out.println("받은 데이터: " + registrationData);
-
-            // 해커톤용 간단한 처리
-            // 실제로는 여기서 데이터베이스에 사용자 정보를 저장해야 함
-
-            String userId = (String) registrationData.get("userId");
-            String userName = (String) registrationData.get("userName");
-            String phoneNumber = (String) registrationData.get("phoneNumber");
+            long sequence = registrationQueue.enqueue(registration);
 
-            // 임시 응답 생성
+            // 임시 응답 생성 (토큰 발급은 아직 해커톤용)
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "회원가입이 완료되었습니다.");
             response.put("token", "temp-jwt-token-" + System.currentTimeMillis());
 
             Map<String, Object> user = new HashMap<>();
-            user.put("userId", userId);
-            user.put("name", userName);
-            user.put("phoneNumber", phoneNumber);
+            user.put("userId", registration.getUserId().trim());
+            user.put("name", registration.getUserName());
+            user.put("phoneNumber", registration.getPhoneNumber());
             response.put("user", user);
 
-            System.out.println("회원가입 완료 - userId: " + userId);
+            log.info("registration.accepted sequence={}", sequence);
 
             return ResponseEntity.ok(response);
 
+        } catch (RegistrationQueueFullException | InvalidRegistrationException e) {
+            throw e; // ApiExceptionHandler에서 503 + Retry-After / 400
         } catch (Exception e) {
-            System.err.println("회원가입 완료 처리 중 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("registration.failed error={}", e.getMessage(), e);
 
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("success", false);
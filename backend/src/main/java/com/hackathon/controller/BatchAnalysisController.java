@@ -0,0 +1,61 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.BatchAnalysisReportDto;
+import com.hackathon.dto.BatchAnalysisRequestDto;
+import com.hackathon.dto.BatchAnalysisResultDto;
+import com.hackathon.service.ClaudeBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 기저질환 일괄 분석 API (Claude Message Batches)
+ * 제출 후 결과는 몇 분~몇 시간 뒤에 반영되므로 배치 ID로 진행 상황과 결과를 조회한다.
+ */
+@RestController
+@RequestMapping("/integrated/batches")
+public class BatchAnalysisController {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchAnalysisController.class);
+
+    @Autowired
+    private ClaudeBatchService claudeBatchService;
+
+    // 일괄 분석 제출 (환자 수가 많으면 여러 배치로 나뉨)
+    @PostMapping
+    public ResponseEntity<?> submit(@RequestBody BatchAnalysisRequestDto request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(claudeBatchService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("batch.submit.failed error={}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("일괄 분석 제출 중 오류가 발생했습니다: " + e.getMessage());
+        }
+    }
+
+    // 배치 진행 상황 + 처리량/환자당 비용
+    @GetMapping("/{batchId}")
+    public ResponseEntity<BatchAnalysisReportDto> getReport(@PathVariable String batchId) {
+        BatchAnalysisReportDto report = claudeBatchService.getReport(batchId);
+        if (report == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(report);
+    }
+
+    // 환자별 분석 결과
+    @GetMapping("/{batchId}/results")
+    public ResponseEntity<List<BatchAnalysisResultDto>> getResults(@PathVariable String batchId) {
+        List<BatchAnalysisResultDto> results = claudeBatchService.getResults(batchId);
+        if (results == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(results);
+    }
+}
@@ -0,0 +1,63 @@
+package com.hackathon.controller;
+
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.dto.DiseaseAnalysisRequestDto;
+import com.hackathon.dto.HealthJobDto;
+import com.hackathon.service.AuthSessionService;
+import com.hackathon.service.HealthJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 통합 건강 정보 조회/기저질환 분석 비동기 작업 API
+ * POST로 작업을 등록하면 jobId를 바로 반환하고, 진행 상황은 SSE 또는 폴링으로 확인한다.
+ */
+@RestController
+@RequestMapping("/integrated/jobs")
+public class HealthJobController {
+
+    @Autowired
+    private HealthJobService healthJobService;
+
+    @Autowired
+    private AuthSessionService authSessions;
+
+    // 통합 건강 정보 조회 작업 등록 (analyze=true면 기저질환 분석까지)
+    @PostMapping("/health-data")
+    public ResponseEntity<HealthJobDto> submitHealthData(@RequestBody AuthResponseDto authData,
+                                                         @RequestParam(defaultValue = "false") boolean analyze) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(healthJobService.submitHealthDataJob(authSessions.resolve(authData), analyze));
+    }
+
+    // 기저질환 분석 작업 등록
+    @PostMapping("/analyze-diseases")
+    public ResponseEntity<HealthJobDto> submitAnalyzeDiseases(@RequestBody DiseaseAnalysisRequestDto request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(healthJobService.submitAnalysisJob(request, authSessions.patientKeyFor(request.getSessionId())));
+    }
+
+    // 작업 상태/결과 조회 (폴링용)
+    @GetMapping("/{jobId}")
+    public ResponseEntity<HealthJobDto> getJob(@PathVariable String jobId) {
+        HealthJobDto job = healthJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    // 작업 진행 상황 스트림 (Server-Sent Events)
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        SseEmitter emitter = healthJobService.subscribe(jobId);
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+}
@@ -3,42 +3,54 @@ package com.hackathon.controller;
 import com.hackathon.dto.AuthResponseDto;
 import com.hackathon.dto.IntegratedHealthDataDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.DiseaseAnalysisRequestDto;
+import com.hackathon.service.AuthSessionService;
 import com.hackathon.service.IntegratedHealthService;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/integrated")
 public class IntegratedHealthController {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegratedHealthController.class);
     
     @Autowired
     private IntegratedHealthService integratedHealthService;
+
+    @Autowired
+    private AuthSessionService authSessions;
     
-    // 통합 건강 정보 조회 API (건강검진 + 복용약물)
+    // 통합 건강 정보 조회 API (건강검진 + 복용약물) - { sessionId } 만 보내도 됨
     @PostMapping("/health-data")
     public IntegratedHealthDataDto getIntegratedHealthData(@RequestBody AuthResponseDto authData) throws Exception {
+        // 세션 만료는 ApiExceptionHandler에서 401로 응답
+        AuthResponseDto resolved = authSessions.resolve(authData);
         try {
-            return integratedHealthService.getIntegratedHealthData(authData);
+            return integratedHealthService.getIntegratedHealthData(resolved);
         } catch (Exception e) {
-            System.out.println("외부 API 실패 "+e.getMessage());
+            log.error("health.request.failed error={}", e.getMessage(), e);
             return null;
         }
     }
     
     // ChatGPT AI 기저질환 분석 API
     @PostMapping("/analyze-diseases")
-    public DiseaseAnalysisDto analyzeDiseases(@RequestBody Object medicationData) {
+    public DiseaseAnalysisDto analyzeDiseases(@RequestBody DiseaseAnalysisRequestDto request) {
         try {
-            System.out.println("=== 기저질환 분석 요청 받음 ===");
-            System.out.println("입력 데이터: " + medicationData.toString());
+            int recordCount = request.getMedicationData() != null && request.getMedicationData().getResultList() != null
+                    ? request.getMedicationData().getResultList().size() : 0;
+            log.info("analysis.request records={}", recordCount);
             
-            return integratedHealthService.analyzeDiseases(medicationData);
+            return integratedHealthService.analyzeDiseases(request.getMedicationData(),
+                    authSessions.patientKeyFor(request.getSessionId()));
             
         } catch (Exception e) {
-            System.err.println("기저질환 분석 API 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("analysis.request.failed error={}", e.getMessage(), e);
             
             // 오류 발생 시 기본 응답 반환
             DiseaseAnalysisDto errorResponse = new DiseaseAnalysisDto();
@@ -51,4 +63,12 @@ public class IntegratedHealthController {
         }
     }
 
+    // 기저질환 스트리밍 분석 API (질환이 확정될 때마다 SSE로 전달)
+    @PostMapping(value = "/analyze-diseases/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalyzeDiseases(@RequestBody DiseaseAnalysisRequestDto request) {
+        log.info("analysis.stream.request");
+        return integratedHealthService.streamDiseaseAnalysis(request.getMedicationData(),
+                authSessions.patientKeyFor(request.getSessionId()));
+    }
+
 }
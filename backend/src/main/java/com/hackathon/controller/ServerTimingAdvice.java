@@ -0,0 +1,37 @@
+package com.hackathon.controller;
+
+import com.hackathon.util.ServerTiming;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Server-Timing 응답 헤더 추가 (ServerTimingFilter 대상 요청만)
+ * 단계별 시간(공개키 조회, 암호화, Tilko/Claude 호출, 파싱 등)을 브라우저/앱 개발자 도구에서 바로 볼 수 있다.
+ * 오류 응답(ApiExceptionHandler)에도 붙는다.
+ */
+@RestControllerAdvice
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            response.getHeaders().set(HEADER, timing.toHeaderValue());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,68 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 분석 배치의 환자별 결과
+ * custom_id는 배치 요청/결과를 환자와 연결하는 키 (환자 ID는 Anthropic에 보내지 않음)
+ */
+@Entity
+@Table(name = "batch_analysis_result",
+        uniqueConstraints = @UniqueConstraint(name = "uk_batch_analysis_result_custom_id", columnNames = {"batch_id", "custom_id"}),
+        indexes = @Index(name = "idx_batch_analysis_result_patient_id", columnList = "patient_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchAnalysisResult {
+
+    public static final String STATUS_PENDING = "PENDING";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "batch_id", nullable = false, length = 100)
+    private String batchId;
+
+    @Column(name = "custom_id", nullable = false, length = 64)
+    private String customId;
+
+    @Column(name = "patient_id", nullable = false, length = 100)
+    private String patientId;
+
+    // 분석 캐시 키 (성공 결과를 실시간 분석 캐시에도 반영)
+    @Column(name = "cache_key", nullable = false, length = 64)
+    private String cacheKey;
+
+    // PENDING, SUCCEEDED, ERRORED, CANCELED, EXPIRED
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    // DiseaseAnalysisDto JSON
+    @Column(name = "result_json", columnDefinition = "MEDIUMTEXT")
+    private String resultJson;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @Column(name = "input_tokens", nullable = false)
+    private int inputTokens;
+
+    @Column(name = "output_tokens", nullable = false)
+    private int outputTokens;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,75 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Claude Message Batches API로 제출한 기저질환 일괄 분석 배치
+ * batch_id = Anthropic 배치 ID (msgbatch_...)
+ */
+@Entity
+@Table(name = "claude_analysis_batch")
+@Getter
+@Setter
+@NoArgsConstructor
+public class ClaudeAnalysisBatch {
+
+    @Id
+    @Column(name = "batch_id", length = 100)
+    private String batchId;
+
+    @Column(name = "model", nullable = false, length = 100)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false, length = 64)
+    private String promptVersion;
+
+    // in_progress, canceling, ended (Anthropic processing_status)
+    @Column(name = "processing_status", nullable = false, length = 20)
+    private String processingStatus;
+
+    // 결과 파일까지 모두 반영했는지
+    @Column(name = "results_collected", nullable = false)
+    private boolean resultsCollected;
+
+    @Column(name = "request_count", nullable = false)
+    private int requestCount;
+
+    @Column(name = "succeeded_count", nullable = false)
+    private int succeededCount;
+
+    @Column(name = "errored_count", nullable = false)
+    private int erroredCount;
+
+    @Column(name = "canceled_count", nullable = false)
+    private int canceledCount;
+
+    @Column(name = "expired_count", nullable = false)
+    private int expiredCount;
+
+    @Column(name = "input_tokens", nullable = false)
+    private long inputTokens;
+
+    @Column(name = "output_tokens", nullable = false)
+    private long outputTokens;
+
+    // 배치 할인 적용 추정 비용 (USD)
+    @Column(name = "estimated_cost_usd", nullable = false)
+    private double estimatedCostUsd;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "ended_at")
+    private LocalDateTime endedAt;
+
+    @Column(name = "collected_at")
+    private LocalDateTime collectedAt;
+}
@@ -0,0 +1,46 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기저질환 분석 결과 캐시 (2차 저장소)
+ * cache_key = SHA-256(정규화된 처방 목록 + 모델명 + 프롬프트 버전)
+ */
+@Entity
+@Table(name = "disease_analysis_cache", indexes = {
+        @Index(name = "idx_disease_analysis_cache_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class DiseaseAnalysisCacheEntry {
+
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(name = "model", nullable = false, length = 100)
+    private String model;
+
+    @Column(name = "prompt_version", nullable = false, length = 64)
+    private String promptVersion;
+
+    // DiseaseAnalysisDto JSON
+    @Column(name = "result_json", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String resultJson;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,66 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 환자별 건강검진 내역
+ * 자연 키: 환자 + 검진일 + 검진기관 + 코드 (환자별 검진일 조회에도 이 인덱스 사용, 스키마: db/schema.sql)
+ */
+@Entity
+@Table(name = "health_checkup_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_health_checkup_history_natural_key",
+                columnNames = {"patient_key", "checkup_date", "location", "code"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class HealthCheckupHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_key", nullable = false, length = 64)
+    private String patientKey;
+
+    // 정렬/비교용 검진일 (Year + CheckUpDate → yyyyMMdd)
+    @Column(name = "checkup_date", nullable = false, length = 8)
+    private String checkupDate;
+
+    // Tilko 원본 값 (응답 재구성용)
+    @Column(name = "checkup_year", length = 10)
+    private String year;
+
+    @Column(name = "check_up_date", length = 10)
+    private String checkUpDate;
+
+    @Column(name = "code", nullable = false, length = 50)
+    private String code;
+
+    @Column(name = "location", nullable = false, length = 200)
+    private String location;
+
+    @Column(name = "description", length = 500)
+    private String description;
+
+    // 검사 항목 트리 (JSON)
+    @Column(name = "inspections_json", columnDefinition = "MEDIUMTEXT")
+    private String inspectionsJson;
+
+    // 매핑하지 않은 Tilko 필드 (JSON 객체)
+    @Column(name = "extra_json", columnDefinition = "TEXT")
+    private String extraJson;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,69 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 환자별 진료/투약 내역 (처방 약품 한 줄 단위)
+ * 자연 키: 환자 + 진료개시일 + 병의원/약국 + 진료형태 + 약품명 (약품이 없는 진료는 약품명, 형태가 없으면 진료형태 빈 문자열)
+ * 자연 키 유니크 인덱스가 (환자, 진료개시일)로 시작하므로 환자별 날짜 조회에도 그대로 쓰인다 (스키마: db/schema.sql).
+ */
+@Entity
+@Table(name = "medication_history",
+        uniqueConstraints = @UniqueConstraint(name = "uk_medication_history_natural_key",
+                columnNames = {"patient_key", "visit_date", "institution", "treatment_type", "drug_name"}))
+@Getter
+@Setter
+@NoArgsConstructor
+public class MedicationHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "patient_key", nullable = false, length = 64)
+    private String patientKey;
+
+    // 정렬/비교용 진료개시일 (yyyyMMdd)
+    @Column(name = "visit_date", nullable = false, length = 8)
+    private String visitDate;
+
+    // Tilko 원본 진료개시일 (응답 재구성용)
+    @Column(name = "jin_ryo_gaesi_il", length = 20)
+    private String jinRyoGaesiIl;
+
+    @Column(name = "institution", nullable = false, length = 200)
+    private String institution;
+
+    @Column(name = "treatment_type", nullable = false, length = 50)
+    private String treatmentType;
+
+    @Column(name = "drug_name", nullable = false, length = 300)
+    private String drugName;
+
+    @Column(name = "drug_efficacy", length = 300)
+    private String drugEfficacy;
+
+    @Column(name = "dosage_days", length = 20)
+    private String dosageDays;
+
+    // 매핑하지 않은 Tilko 필드 (진료 항목 / 약품 항목, JSON 객체)
+    @Column(name = "visit_extra_json", columnDefinition = "TEXT")
+    private String visitExtraJson;
+
+    @Column(name = "detail_extra_json", columnDefinition = "TEXT")
+    private String detailExtraJson;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,43 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 환자별 Tilko 조회 이력 동기화 상태
+ * 마지막 동기화 시각으로 저장된 이력을 바로 쓸지(신선도) 판단하고,
+ * 가장 최근 진료일/검진일 이후 기록만 새로 병합한다.
+ */
+@Entity
+@Table(name = "patient_sync_state")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatientSyncState {
+
+    // 환자 식별 키 (이름+생년월일+휴대폰 HMAC)
+    @Id
+    @Column(name = "patient_key", length = 64)
+    private String patientKey;
+
+    @Column(name = "medication_synced_at")
+    private LocalDateTime medicationSyncedAt;
+
+    // 저장된 진료 내역 중 가장 최근 진료개시일 (yyyyMMdd)
+    @Column(name = "latest_visit_date", length = 8)
+    private String latestVisitDate;
+
+    @Column(name = "checkup_synced_at")
+    private LocalDateTime checkupSyncedAt;
+
+    // 저장된 검진 내역 중 가장 최근 검진일 (yyyyMMdd)
+    @Column(name = "latest_checkup_date", length = 8)
+    private String latestCheckupDate;
+}
@@ -0,0 +1,50 @@
+package com.hackathon.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 (회원가입 완료 시 RegistrationWriteBehindQueue를 거쳐 저장)
+ */
+@Entity
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = "uk_users_user_id", columnNames = "user_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class User {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, length = 100)
+    private String userId;
+
+    @Column(name = "user_name", length = 100)
+    private String userName;
+
+    @Column(name = "phone_number", length = 20)
+    private String phoneNumber;
+
+    @Column(name = "birth_date", length = 8)
+    private String birthDate;
+
+    // 회원가입 요청을 접수(저널 기록)한 시각
+    @Column(name = "registered_at", nullable = false)
+    private LocalDateTime registeredAt;
+
+    // DB에 실제로 저장된 시각
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -17,6 +17,8 @@ public class AuthResponseDto {
     private String birthDate;
     private String userCellphoneNumber;
     private String authMethod; // 어떤 방법으로 사용자가 인증 했는지 ex: kakao, naver, onepass
+    private String patientKey; // 환자 식별 키 (HMAC) - 서버 세션에 보관, 요청에 담겨 온 값은 사용하지 않음
+    private String sessionId;  // 서버 세션 ID - 조회 요청 시 이것만 보내면 저장된 인증 정보 사용
 
 
 }
@@ -0,0 +1,35 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 일괄 분석 배치 진행 상황 및 처리량/비용 리포트
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisReportDto {
+    private String batchId;
+    private String processingStatus; // in_progress, canceling, ended
+    private boolean resultsCollected;
+
+    private int requestCount;
+    private int succeededCount;
+    private int erroredCount;
+    private int canceledCount;
+    private int expiredCount;
+
+    private long inputTokens;
+    private long outputTokens;
+    private double estimatedCostUsd;
+    private Double costPerPatientUsd;  // 성공 건 기준
+
+    private LocalDateTime createdAt;
+    private LocalDateTime endedAt;
+    private Long elapsedSeconds;
+    private Double patientsPerHour;
+}
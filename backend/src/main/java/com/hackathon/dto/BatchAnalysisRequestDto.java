@@ -0,0 +1,28 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 기저질환 일괄 분석 요청 (야간 재분석, 의료진 코호트 검토용)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchAnalysisRequestDto {
+    private List<Patient> patients;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Patient {
+        private String patientId;
+        private TilkoResultDto<MedicationRecordDto> medicationData;
+    }
+}
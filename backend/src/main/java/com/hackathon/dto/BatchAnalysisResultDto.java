@@ -0,0 +1,15 @@
+package com.hackathon.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAnalysisResultDto {
+    private String patientId;
+    private String status; // PENDING, SUCCEEDED, ERRORED, CANCELED, EXPIRED
+    private String errorMessage;
+    private DiseaseAnalysisDto diseaseAnalysis;
+}
@@ -1,5 +1,6 @@
 package com.hackathon.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +11,7 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ClaudeApiRequestDto {
     private String model;
 
@@ -18,8 +20,14 @@ public class ClaudeApiRequestDto {
 
     private double temperature = 0.3;
 
+    // 고정 지시문 (cache_control 지정 시 프롬프트 캐시 대상)
+    private List<SystemBlock> system;
+
     private List<Message> messages;
 
+    // true면 응답을 이벤트 스트림(SSE)으로 받음
+    private Boolean stream;
+
     // @JsonProperty("anthropic_version")
     // private String anthropicVersion = "2023-06-01";
 
@@ -30,4 +38,27 @@ public class ClaudeApiRequestDto {
         private String role;
         private String content;
     }
-}
\ No newline at end of file
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SystemBlock {
+        private String type = "text";
+        private String text;
+
+        @JsonProperty("cache_control")
+        private CacheControl cacheControl;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CacheControl {
+        private String type;
+
+        public static CacheControl ephemeral() {
+            return new CacheControl("ephemeral");
+        }
+    }
+}
@@ -46,5 +46,12 @@ public class ClaudeApiResponseDto {
 
         @JsonProperty("output_tokens")
         private int outputTokens;
+
+        // 프롬프트 캐시 사용량 (캐시 지점이 없으면 null)
+        @JsonProperty("cache_creation_input_tokens")
+        private Integer cacheCreationInputTokens;
+
+        @JsonProperty("cache_read_input_tokens")
+        private Integer cacheReadInputTokens;
     }
 }
\ No newline at end of file
@@ -10,12 +10,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 public class DiseaseAnalysisDto {
-    private String status;
+    private String status; // SUCCESS, PARTIAL_SUCCESS, NO_DATA, ERROR, RATE_LIMITED, CIRCUIT_OPEN
     private String message;
     private List<PredictedDisease> predictedDiseases;
     private String analysisReason;
     private List<String> recommendations;
     private String riskLevel; // LOW, MEDIUM, HIGH
+    private Long retryAfterMillis; // RATE_LIMITED, CIRCUIT_OPEN일 때 다시 시도할 수 있는 시간
+    private boolean stale; // 업스트림 장애로 이전 분석 결과를 대신 반환한 경우
+    private String dataAsOf; // stale일 때 원래 결과의 분석 시각
     
     @Data
     @NoArgsConstructor
@@ -0,0 +1,19 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 기저질환 분석 요청 ({ medicationData: { ResultList: [...] }, userInfo: {...} })
+ * 요청 본문을 Map 트리가 아닌 타입 객체로 바로 변환한다. (userInfo는 분석에 사용하지 않아 무시)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DiseaseAnalysisRequestDto {
+    private TilkoResultDto<MedicationRecordDto> medicationData;
+    private String sessionId;  // 간편인증 응답의 sessionId (선택) - 확인된 세션이면 장애 시 이전 분석 결과로 대체
+}
@@ -0,0 +1,55 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 건강검진 내역 한 건 (ggpab003m0105 ResultList 항목)
+ * 매핑하지 않은 Tilko 필드는 extra에 담아 응답에 그대로 다시 내보낸다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class HealthCheckupRecordDto {
+    @JsonProperty("Year")
+    private String year; // 예: "2023년"
+
+    @JsonProperty("CheckUpDate")
+    private String checkUpDate; // 예: "05/17"
+
+    @JsonProperty("Code")
+    private String code;
+
+    @JsonProperty("Location")
+    private String location; // 검진기관
+
+    @JsonProperty("Description")
+    private String description;
+
+    // 검사 항목 (구조가 검진 종류마다 달라 트리 그대로 유지)
+    @JsonProperty("Inspections")
+    private JsonNode inspections;
+
+    // 매핑하지 않은 Tilko 필드 (받은 순서대로)
+    private final Map<String, JsonNode> extra = new LinkedHashMap<>();
+
+    @JsonAnyGetter
+    public Map<String, JsonNode> getExtra() {
+        return extra;
+    }
+
+    @JsonAnySetter
+    public void putExtra(String name, JsonNode value) {
+        extra.put(name, value);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hackathon.dto;
+
+import com.hackathon.enums.JobPhase;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HealthJobDto {
+    private String jobId;
+    private String type;  // HEALTH_DATA, ANALYZE_DISEASES
+    private String status; // RUNNING, COMPLETED, FAILED
+    private String message;
+    private JobPhase currentPhase;
+    private List<JobPhase> completedPhases;
+    private long createdAt;
+    private Long completedAt;
+
+    // 작업 결과 (완료 후에만 채워짐)
+    private IntegratedHealthDataDto healthData;
+    private DiseaseAnalysisDto diseaseAnalysis;
+}
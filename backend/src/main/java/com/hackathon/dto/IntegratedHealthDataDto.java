@@ -8,8 +8,25 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 public class IntegratedHealthDataDto {
-    private Object healthCheckupData;
-    private Object medicationData;
-    private String status;
+    private TilkoResultDto<HealthCheckupRecordDto> healthCheckupData;
+    private TilkoResultDto<MedicationRecordDto> medicationData;
+    private String status; // SUCCESS, PARTIAL_SUCCESS, ERROR
     private String message;
+
+    // 업스트림 장애로 이전 조회 결과를 대신 반환한 경우 (dataAsOf: 가장 오래된 대체 결과의 조회 시각)
+    private boolean stale;
+    private String dataAsOf;
+
+    // 조회별 결과 (한쪽만 실패해도 나머지 데이터는 반환)
+    private FetchStatus healthCheckupStatus;
+    private FetchStatus medicationStatus;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FetchStatus {
+        private String status; // SUCCESS, ERROR, TIMEOUT, RATE_LIMITED, CIRCUIT_OPEN, STALE
+        private String message;
+        private long elapsedMillis;
+    }
 }
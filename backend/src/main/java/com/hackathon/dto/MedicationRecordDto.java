@@ -0,0 +1,77 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 진료/투약 내역 한 건 (retrievetreatmentinjectioninformationperson ResultList 항목)
+ * 코드에서 쓰는 필드만 타입으로 받고, 나머지 Tilko 필드는 extra에 담아 응답에 그대로 다시 내보낸다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MedicationRecordDto {
+    @JsonProperty("JinRyoGaesiIl")
+    private String jinRyoGaesiIl; // 진료개시일
+
+    @JsonProperty("ByungEuiwonYakGukMyung")
+    private String byungEuiwonYakGukMyung; // 병의원/약국명
+
+    @JsonProperty("JinRyoHyungTae")
+    private String jinRyoHyungTae; // 진료형태 (처방조제, 외래, 입원 등)
+
+    @JsonProperty("RetrieveTreatmentInjectionInformationPersonDetailList")
+    private List<Detail> detailList;
+
+    // 매핑하지 않은 Tilko 필드 (받은 순서대로)
+    private final Map<String, JsonNode> extra = new LinkedHashMap<>();
+
+    @JsonAnyGetter
+    public Map<String, JsonNode> getExtra() {
+        return extra;
+    }
+
+    @JsonAnySetter
+    public void putExtra(String name, JsonNode value) {
+        extra.put(name, value);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Detail {
+        @JsonProperty("ChoBangYakPumMyung")
+        private String choBangYakPumMyung; // 처방약품명
+
+        @JsonProperty("ChoBangYakPumHyoneung")
+        private String choBangYakPumHyoneung; // 처방약품효능
+
+        @JsonProperty("TuyakIlSoo")
+        private String tuyakIlSoo; // 투약일수
+
+        // 매핑하지 않은 Tilko 필드
+        private final Map<String, JsonNode> extra = new LinkedHashMap<>();
+
+        @JsonAnyGetter
+        public Map<String, JsonNode> getExtra() {
+            return extra;
+        }
+
+        @JsonAnySetter
+        public void putExtra(String name, JsonNode value) {
+            extra.put(name, value);
+        }
+    }
+}
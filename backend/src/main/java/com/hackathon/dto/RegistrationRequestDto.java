@@ -0,0 +1,20 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 회원가입 완료 요청 (/auth/register/complete)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RegistrationRequestDto {
+    private String userId;
+    private String userName;
+    private String phoneNumber;
+    private String birthDate; // 선택 (6자리 형식, 예: 981014)
+}
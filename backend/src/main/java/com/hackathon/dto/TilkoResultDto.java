@@ -0,0 +1,50 @@
+package com.hackathon.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tilko 조회 API 공통 응답 (Status, Message, ErrorLog, ResultList)
+ * 필드명은 클라이언트 호환을 위해 Tilko 원본 이름 그대로 직렬화하고,
+ * 그 밖의 최상위 필드도 extra에 담아 그대로 다시 내보낸다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TilkoResultDto<T> {
+    @JsonProperty("Status")
+    private String status;
+
+    @JsonProperty("Message")
+    private String message;
+
+    @JsonProperty("ErrorLog")
+    private String errorLog;
+
+    @JsonProperty("ResultList")
+    private List<T> resultList;
+
+    // 매핑하지 않은 최상위 Tilko 필드 (받은 순서대로)
+    private final Map<String, JsonNode> extra = new LinkedHashMap<>();
+
+    @JsonAnyGetter
+    public Map<String, JsonNode> getExtra() {
+        return extra;
+    }
+
+    @JsonAnySetter
+    public void putExtra(String name, JsonNode value) {
+        extra.put(name, value);
+    }
+}
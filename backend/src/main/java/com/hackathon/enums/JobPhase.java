@@ -0,0 +1,32 @@
+package com.hackathon.enums;
+
+public enum JobPhase {
+    SUBMITTED("submitted", "작업 접수"),
+    AUTH_VALIDATED("auth-validated", "인증 정보 확인 완료"),
+    CHECKUP_FETCHED("checkup-fetched", "건강검진 정보 조회 완료"),
+    MEDICATION_FETCHED("medication-fetched", "복용약물 정보 조회 완료"),
+    ANALYSIS_DONE("analysis-done", "기저질환 분석 완료"),
+    COMPLETED("completed", "작업 완료"),
+    FAILED("failed", "작업 실패");
+
+    private final String eventName;
+    private final String description;
+
+    JobPhase(String eventName, String description) {
+        this.eventName = eventName;
+        this.description = description;
+    }
+
+    // SSE 이벤트 이름
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
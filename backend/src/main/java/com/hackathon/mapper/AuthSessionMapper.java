@@ -0,0 +1,32 @@
+package com.hackathon.mapper;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * 공유 세션 저장소 테이블 (resources/mapper/AuthSessionMapper.xml)
+ */
+@Mapper
+public interface AuthSessionMapper {
+
+    int upsert(@Param("sessionHash") String sessionHash, @Param("authJson") String authJson,
+               @Param("expiresAt") LocalDateTime expiresAt, @Param("createdAt") LocalDateTime createdAt);
+
+    String findAuthJson(@Param("sessionHash") String sessionHash, @Param("now") LocalDateTime now);
+
+    int delete(@Param("sessionHash") String sessionHash);
+
+    // 만료되지 않은 세션에만 확인 시각 기록 (이미 기록됐으면 유지)
+    int markVerified(@Param("sessionHash") String sessionHash, @Param("now") LocalDateTime now);
+
+    boolean isVerified(@Param("sessionHash") String sessionHash, @Param("now") LocalDateTime now);
+
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    long count();
+
+    // 만료가 가까운 세션부터 limit건 삭제 (크기 상한 유지용)
+    int deleteOldest(@Param("limit") long limit);
+}
@@ -0,0 +1,25 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.HealthCheckupHistory;
+import com.hackathon.domain.MedicationHistory;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 진료/투약, 건강검진 내역 대량 삽입 (resources/mapper/HealthRecordMapper.xml)
+ * BATCH 실행기 세션에서 호출하면 JDBC 배치로 묶이고,
+ * rewriteBatchedStatements=true 이면 MySQL 드라이버가 다중 VALUES 한 문장으로 보낸다.
+ */
+@Mapper
+public interface HealthRecordMapper {
+
+    int insertMedication(MedicationHistory row);
+
+    int insertHealthCheckup(HealthCheckupHistory row);
+
+    int deleteMedicationByPatientKey(@Param("patientKey") String patientKey);
+
+    int deleteHealthCheckupByPatientKey(@Param("patientKey") String patientKey);
+
+    int deleteSyncState(@Param("patientKey") String patientKey);
+}
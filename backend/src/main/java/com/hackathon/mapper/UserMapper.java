@@ -0,0 +1,13 @@
+package com.hackathon.mapper;
+
+import com.hackathon.domain.User;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * 회원 대량 삽입 (resources/mapper/UserMapper.xml)
+ */
+@Mapper
+public interface UserMapper {
+
+    int insertUser(User user);
+}
@@ -0,0 +1,11 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.BatchAnalysisResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface BatchAnalysisResultRepository extends JpaRepository<BatchAnalysisResult, Long> {
+
+    List<BatchAnalysisResult> findByBatchIdOrderByIdAsc(String batchId);
+}
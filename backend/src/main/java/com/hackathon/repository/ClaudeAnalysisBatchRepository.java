@@ -0,0 +1,12 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.ClaudeAnalysisBatch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ClaudeAnalysisBatchRepository extends JpaRepository<ClaudeAnalysisBatch, String> {
+
+    // 아직 결과를 반영하지 않은 배치 (폴링 대상)
+    List<ClaudeAnalysisBatch> findByResultsCollectedFalse();
+}
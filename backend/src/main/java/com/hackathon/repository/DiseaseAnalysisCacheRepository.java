@@ -0,0 +1,25 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.DiseaseAnalysisCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface DiseaseAnalysisCacheRepository extends JpaRepository<DiseaseAnalysisCacheEntry, String> {
+
+    // 만료된 항목 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DiseaseAnalysisCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // 모델 또는 프롬프트 버전이 바뀌어 더 이상 쓰이지 않는 항목 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM DiseaseAnalysisCacheEntry e WHERE e.model <> :model OR e.promptVersion <> :promptVersion")
+    int deleteOutdated(@Param("model") String model, @Param("promptVersion") String promptVersion);
+}
@@ -0,0 +1,15 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.HealthCheckupHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface HealthCheckupHistoryRepository extends JpaRepository<HealthCheckupHistory, Long> {
+
+    // 최근 검진일 순
+    List<HealthCheckupHistory> findByPatientKeyOrderByCheckupDateDescIdAsc(String patientKey);
+
+    // 병합 시 중복 확인용 (마지막 저장 검진일 이후 기록)
+    List<HealthCheckupHistory> findByPatientKeyAndCheckupDateGreaterThanEqual(String patientKey, String checkupDate);
+}
@@ -0,0 +1,15 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.MedicationHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface MedicationHistoryRepository extends JpaRepository<MedicationHistory, Long> {
+
+    // 최근 진료일 순 (같은 진료는 저장 순서대로)
+    List<MedicationHistory> findByPatientKeyOrderByVisitDateDescIdAsc(String patientKey);
+
+    // 병합 시 중복 확인용 (마지막 저장 진료일 이후 기록)
+    List<MedicationHistory> findByPatientKeyAndVisitDateGreaterThanEqual(String patientKey, String visitDate);
+}
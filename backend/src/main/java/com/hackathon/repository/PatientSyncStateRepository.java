@@ -0,0 +1,7 @@
+package com.hackathon.repository;
+
+import com.hackathon.domain.PatientSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PatientSyncStateRepository extends JpaRepository<PatientSyncState, String> {
+}
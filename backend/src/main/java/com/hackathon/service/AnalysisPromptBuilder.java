@@ -0,0 +1,260 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.ClaudeApiResponseDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기저질환 분석 프롬프트의 처방 데이터 부분 생성
+ * 방문/약물 줄을 그대로 나열하지 않고 약물별 요약(처방 횟수, 총 투약일수, 첫/마지막 처방일)으로 합치고,
+ * 입력 토큰 예산을 넘으면 정보량이 적은 약물(단기·단발 처방)부터 뺀다.
+ * 처방 이력이 길어져도 입력 토큰 수가 예산 안에서 거의 일정하게 유지된다.
+ */
+@Component
+public class AnalysisPromptBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalysisPromptBuilder.class);
+
+    // 처방 데이터 표현 방식 버전 - 바뀌면 분석 캐시가 무효화되도록 PROMPT_VERSION에 포함
+    public static final String FORMAT_VERSION = "drug-summary-v1";
+
+    // 토큰 추정 기준 (영문/숫자는 약 4자당 1토큰, 한글 등은 보수적으로 1자당 1토큰)
+    private static final double ASCII_CHARS_PER_TOKEN = 4.0;
+    private static final double NON_ASCII_CHARS_PER_TOKEN = 1.0;
+
+    // 프롬프트 전체(템플릿 + 처방 데이터) 입력 토큰 예산
+    @Value("${claude.prompt.input-token-budget:3000}")
+    private int inputTokenBudget;
+
+    private final DistributionSummary estimatedTokens;
+    private final DistributionSummary actualTokens;
+    private final DistributionSummary estimateRatio;
+    private final Counter droppedDrugs;
+    private final Counter uncachedTokens;
+    private final Counter cacheCreationTokens;
+    private final Counter cacheReadTokens;
+
+    public AnalysisPromptBuilder(MeterRegistry meterRegistry) {
+        this.estimatedTokens = DistributionSummary.builder("claude.prompt.input.tokens")
+                .tag("kind", "estimated").register(meterRegistry);
+        this.actualTokens = DistributionSummary.builder("claude.prompt.input.tokens")
+                .tag("kind", "actual").register(meterRegistry);
+        this.estimateRatio = DistributionSummary.builder("claude.prompt.input.tokens.estimate-ratio")
+                .description("추정 입력 토큰 / 실제 입력 토큰").register(meterRegistry);
+        this.droppedDrugs = Counter.builder("claude.prompt.dropped.drugs").register(meterRegistry);
+        this.uncachedTokens = Counter.builder("claude.prompt.input.tokens.total")
+                .tag("cache", "none").register(meterRegistry);
+        this.cacheCreationTokens = Counter.builder("claude.prompt.input.tokens.total")
+                .tag("cache", "creation").register(meterRegistry);
+        this.cacheReadTokens = Counter.builder("claude.prompt.input.tokens.total")
+                .tag("cache", "read").register(meterRegistry);
+    }
+
+    /**
+     * 처방 데이터 부분 생성
+     *
+     * @param medicationData 처방 데이터
+     * @param reservedTokens 처방 데이터 외 고정 텍스트(템플릿)의 추정 토큰 수
+     */
+    public AnalysisPrompt build(TilkoResultDto<MedicationRecordDto> medicationData, int reservedTokens) {
+        List<DrugSummary> summaries = summarize(medicationData);
+
+        // 정보량이 많은 약물부터 넣고, 예산을 넘으면 나머지는 생략
+        summaries.sort(Comparator.comparingInt(DrugSummary::informativeness)
+                .thenComparingInt(DrugSummary::totalDays)
+                .thenComparingInt(DrugSummary::prescriptionCount)
+                .reversed());
+
+        int budget = inputTokenBudget - reservedTokens;
+        int used = 0;
+        int included = 0;
+        StringBuilder data = new StringBuilder();
+
+        for (DrugSummary summary : summaries) {
+            String line = summary.toLine();
+            int lineTokens = estimateTokens(line);
+            if (included > 0 && used + lineTokens > budget) {
+                break;
+            }
+            data.append(line);
+            used += lineTokens;
+            included++;
+        }
+
+        int dropped = summaries.size() - included;
+        if (dropped > 0) {
+            data.append("(그 외 단기/단발 처방 약물 ").append(dropped).append("종 생략)\n");
+            droppedDrugs.increment(dropped);
+        }
+
+        List<String> medicationNames = new ArrayList<>();
+        summaries.forEach(summary -> medicationNames.add(summary.name));
+
+        String prescriptionData = data.toString();
+        int estimated = reservedTokens + estimateTokens(prescriptionData);
+        estimatedTokens.record(estimated);
+
+        log.debug("prompt.build medications={} included={} estimatedTokens={} budget={}",
+                summaries.size(), included, estimated, inputTokenBudget);
+        return new AnalysisPrompt(prescriptionData, medicationNames, estimated, dropped);
+    }
+
+    /**
+     * 텍스트의 입력 토큰 수 추정 (실제보다 약간 크게 잡음)
+     */
+    public int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int nonAscii = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                nonAscii++;
+            }
+        }
+        return (int) Math.ceil(ascii / ASCII_CHARS_PER_TOKEN + nonAscii / NON_ASCII_CHARS_PER_TOKEN);
+    }
+
+    /**
+     * 응답 usage 기록 - 추정치 보정 및 프롬프트 캐시 효과 확인용
+     * 캐시를 쓰면 input_tokens에는 캐시 지점 이후 부분만 들어가므로, 실제 입력 토큰은 세 값을 합친 값이다.
+     *
+     * @param estimated 추정 입력 토큰 (모르면 0)
+     */
+    public void recordUsage(int estimated, ClaudeApiResponseDto.Usage usage) {
+        int cacheCreation = usage.getCacheCreationInputTokens() != null ? usage.getCacheCreationInputTokens() : 0;
+        int cacheRead = usage.getCacheReadInputTokens() != null ? usage.getCacheReadInputTokens() : 0;
+        int actual = usage.getInputTokens() + cacheCreation + cacheRead;
+
+        uncachedTokens.increment(usage.getInputTokens());
+        cacheCreationTokens.increment(cacheCreation);
+        cacheReadTokens.increment(cacheRead);
+
+        if (actual <= 0) {
+            return;
+        }
+        actualTokens.record(actual);
+        if (estimated > 0) {
+            estimateRatio.record((double) estimated / actual);
+        }
+        log.debug("prompt.usage estimatedTokens={} actualTokens={} cacheCreation={} cacheRead={}",
+                estimated, actual, cacheCreation, cacheRead);
+    }
+
+    // 같은 약물의 처방 기록을 하나로 합침
+    private List<DrugSummary> summarize(TilkoResultDto<MedicationRecordDto> medicationData) {
+        Map<String, DrugSummary> byName = new LinkedHashMap<>();
+        if (medicationData == null || medicationData.getResultList() == null) {
+            return new ArrayList<>();
+        }
+
+        for (MedicationRecordDto record : medicationData.getResultList()) {
+            if (record.getDetailList() == null) {
+                continue;
+            }
+            for (MedicationRecordDto.Detail detail : record.getDetailList()) {
+                String name = detail.getChoBangYakPumMyung();
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                byName.computeIfAbsent(name.trim(), DrugSummary::new)
+                        .add(record.getJinRyoGaesiIl(), detail.getChoBangYakPumHyoneung(), detail.getTuyakIlSoo());
+            }
+        }
+        return new ArrayList<>(byName.values());
+    }
+
+    /**
+     * 처방 데이터 부분 + 토큰 추정 결과
+     */
+    public record AnalysisPrompt(String prescriptionData, List<String> medicationNames,
+                                 int estimatedInputTokens, int droppedDrugCount) {
+    }
+
+    // 약물 한 종의 처방 요약
+    private static final class DrugSummary {
+        private final String name;
+        private String efficacy;
+        private String firstDate;
+        private String lastDate;
+        private int totalDays;
+        private int prescriptionCount;
+
+        private DrugSummary(String name) {
+            this.name = name;
+        }
+
+        void add(String date, String efficacy, String days) {
+            prescriptionCount++;
+            totalDays += parseDays(days);
+            if (this.efficacy == null && efficacy != null && !efficacy.isBlank()) {
+                this.efficacy = efficacy.trim();
+            }
+            if (date != null && !date.isBlank()) {
+                if (firstDate == null || dateKey(date).compareTo(dateKey(firstDate)) < 0) {
+                    firstDate = date.trim();
+                }
+                if (lastDate == null || dateKey(date).compareTo(dateKey(lastDate)) > 0) {
+                    lastDate = date.trim();
+                }
+            }
+        }
+
+        int totalDays() {
+            return totalDays;
+        }
+
+        int prescriptionCount() {
+            return prescriptionCount;
+        }
+
+        // 분석 규칙상 의미 있는 약물(반복 처방 또는 총 14일 이상)이면 1, 단기·단발 처방이면 0
+        int informativeness() {
+            return prescriptionCount > 1 || totalDays >= 14 ? 1 : 0;
+        }
+
+        String toLine() {
+            StringBuilder line = new StringBuilder("- ").append(name);
+            if (efficacy != null) {
+                line.append(" (").append(efficacy).append(")");
+            }
+            line.append(": 처방 ").append(prescriptionCount).append("회, 총 투약 ").append(totalDays).append("일");
+            if (firstDate != null) {
+                line.append(", 기간 ").append(firstDate).append(" ~ ").append(lastDate);
+            }
+            return line.append("\n").toString();
+        }
+
+        private static int parseDays(String days) {
+            if (days == null) {
+                return 0;
+            }
+            String digits = days.replaceAll("[^0-9]", "");
+            if (digits.isEmpty() || digits.length() > 6) {
+                return 0;
+            }
+            return Integer.parseInt(digits);
+        }
+
+        // 날짜 형식(yyyyMMdd, yyyy-MM-dd 등)과 관계없이 비교하기 위해 숫자만 사용
+        private static String dateKey(String date) {
+            return date.replaceAll("[^0-9]", "");
+        }
+    }
+}
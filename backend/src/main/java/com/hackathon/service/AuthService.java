@@ -6,16 +6,21 @@ import okhttp3.*;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.hackathon.config.PayloadSampler;
 import com.hackathon.enums.AuthMethod;
+import com.hackathon.util.LogRedactor;
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.IOException;
-import java.security.KeyFactory;
+import java.nio.charset.StandardCharsets;
 import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
@@ -23,16 +28,41 @@ import java.util.concurrent.TimeUnit;
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    private static final String SIMPLE_AUTH_ENDPOINT = "simpleauthrequest";
+
     @Value("${tilko.api.host}")
     private String apiHost;
 
     @Value("${tilko.api.key}")
     private String apiKey;
 
+    @Value("${tilko.http.auth-timeout-seconds:60}")
+    private int authTimeoutSeconds;
+
+    @Autowired
+    @Qualifier("tilkoHttpClient")
+    private OkHttpClient tilkoHttpClient;
+
+    @Autowired
+    private TilkoPublicKeyCache publicKeyCache;
+
+    @Autowired
+    private PatientKeyGenerator patientKeys;
+
+    @Autowired
+    private AuthSessionService authSessions;
+
+    @Autowired
+    private PayloadSampler payloadSampler;
+
+    @Autowired
+    private UpstreamMetrics upstreamMetrics;
+
     // JSON 응답을 AuthResponseDto로 변환 (API 스펙에 맞게 ENC: 접두어 추가)
     private AuthResponseDto parseAuthResponse(String jsonStr) throws ParseException {
-        System.out.println("=== 간편인증 응답 파싱 시작 ===");
-        System.out.println("원본 응답: " + jsonStr);
+        payloadSampler.debug(log, "tilko.simpleauth.response", jsonStr);
 
         JSONParser parser = new JSONParser();
         JSONObject jsonObject = (JSONObject) parser.parse(jsonStr);
@@ -55,17 +85,11 @@ public class AuthService {
         String statusSeq = jsonObject.get("StatusSeq") != null ?
                 jsonObject.get("StatusSeq").toString() : null;
 
-        System.out.println("파싱된 값들:");
-        System.out.println("- Status: " + status);
-        System.out.println("- StatusSeq: " + statusSeq);
-        System.out.println("- CxId: " + cxId);
-        System.out.println("- PrivateAuthType: " + privateAuthType);
-        System.out.println("- ReqTxId: " + reqTxId);
-        System.out.println("- Token: " + (token != null ? "있음" : "없음"));
-        System.out.println("- TxId: " + txId);
-        System.out.println("- UserName: " + (userName != null ? "있음" : "없음"));
-        System.out.println("- BirthDate: " + (birthDate != null ? "있음" : "없음"));
-        System.out.println("- UserCellphoneNumber: " + (userCellphoneNumber != null ? "있음" : "없음"));
+        log.debug("tilko.simpleauth.parsed status={} statusSeq={} privateAuthType={} cxId={} reqTxId={} txId={} "
+                        + "hasToken={} hasUserName={} hasBirthDate={} hasPhone={}",
+                status, statusSeq, privateAuthType, LogRedactor.token(cxId), LogRedactor.token(reqTxId),
+                LogRedactor.token(txId), token != null, userName != null, birthDate != null,
+                userCellphoneNumber != null);
 
         // 에러 응답인 경우
         if ("Error".equals(status)) {
@@ -79,7 +103,7 @@ public class AuthService {
         // ResultData가 있는 경우 (일부 응답에서 사용)
         JSONObject resultData = (JSONObject) jsonObject.get("ResultData");
         if (resultData != null) {
-            System.out.println("ResultData가 존재합니다. ResultData에서 값 추출");
+            log.debug("tilko.simpleauth.resultData 존재 - ResultData에서 값 추출");
             cxId = cxId != null ? cxId : (String) resultData.get("CxId");
             privateAuthType = privateAuthType != null ? privateAuthType : (String) resultData.get("PrivateAuthType");
             reqTxId = reqTxId != null ? reqTxId : (String) resultData.get("ReqTxId");
@@ -92,8 +116,7 @@ public class AuthService {
 
         // 필수 값 검증
         if (reqTxId == null || reqTxId.trim().isEmpty()) {
-            System.err.println("ReqTxId가 없습니다. 전체 응답 확인:");
-            System.err.println(jsonStr);
+            log.warn("tilko.simpleauth.missingReqTxId status={} responseChars={}", status, jsonStr.length());
             throw new RuntimeException("간편인증 응답에 ReqTxId가 없습니다.");
         }
 
@@ -116,16 +139,15 @@ public class AuthService {
         responseDto.setBirthDate(birthDate != null ? "ENC:" + birthDate : null);
         responseDto.setUserCellphoneNumber(userCellphoneNumber != null ? "ENC:" + userCellphoneNumber : null);
 
-        System.out.println("AuthResponseDto 생성 완료");
-        System.out.println("- ReqTxId 최종값: " + responseDto.getReqTxId());
+        log.debug("tilko.simpleauth.parsed reqTxId={}", LogRedactor.token(responseDto.getReqTxId()));
 
         return responseDto;
     }
 
     // 간편인증 요청 처리 - 인증 방법별 처리 추가
     public AuthResponseDto requestSimpleAuth(AuthRequestDto authRequest) throws Exception {
-        // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        // RSA Public Key 조회 (캐시)
+        PublicKey rsaPublicKey = publicKeyCache.getPublicKey();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -135,7 +157,10 @@ public class AuthService {
                 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
 
         // AES Key를 RSA Public Key로 암호화
+        long stepNanos = System.nanoTime();
         String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_RSA_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
         // API URL 설정
         String url = apiHost + "/api/v1.0/nhissimpleauth/simpleauthrequest";
@@ -146,22 +171,17 @@ public class AuthService {
         // API 요청 파라미터 설정
         JSONObject json = new JSONObject();
         json.put("PrivateAuthType", privateAuthType);
+        stepNanos = System.nanoTime();
         json.put("UserName", aesEncrypt(aesKey, aesIv, authRequest.getUserName()));
         json.put("BirthDate", aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
         json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_AES_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
-        System.out.println("간편인증 요청 URL: " + url);
-        System.out.println("인증 방법: " + authRequest.getAuthMethod());
-        System.out.println("PrivateAuthType: " + privateAuthType);
-        System.out.println("간편인증 요청 데이터: " + json.toJSONString());
-
-        // API 호출
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
+        log.info("tilko.simpleauth.request authMethod={} privateAuthType={}",
+                authRequest.getAuthMethod(), privateAuthType);
 
+        // API 호출 (공용 Tilko 클라이언트 사용)
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("API-KEY", apiKey)
@@ -169,24 +189,46 @@ public class AuthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), json.toJSONString()))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            System.out.println("HTTP Status Code: " + response.code());
+        Call call = tilkoHttpClient.newCall(request);
+        call.timeout().timeout(authTimeoutSeconds, TimeUnit.SECONDS);
+        upstreamMetrics.recordRequestSize(UpstreamMetrics.TILKO, SIMPLE_AUTH_ENDPOINT, request.body().contentLength());
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            upstreamMetrics.recordFailedCall(UpstreamMetrics.TILKO, SIMPLE_AUTH_ENDPOINT, 1,
+                    System.nanoTime() - startNanos, e);
+            throw e;
+        }
+
+        try (response) {
+            long headersNanos = System.nanoTime();
+            upstreamMetrics.recordCall(UpstreamMetrics.TILKO, SIMPLE_AUTH_ENDPOINT, response.code(), 1,
+                    headersNanos - startNanos);
+            log.info("tilko.simpleauth.response httpStatus={} elapsedMs={}", response.code(),
+                    TimeUnit.NANOSECONDS.toMillis(headersNanos - startNanos));
 
             if (response.body() == null) {
                 throw new IOException("Response body is null");
             }
 
-            String responseStr = response.body().string();
-            System.out.println("간편인증 원본 응답:");
-            System.out.println(responseStr);
+            byte[] responseBytes = response.body().bytes();
+            upstreamMetrics.recordResponseSize(UpstreamMetrics.TILKO, SIMPLE_AUTH_ENDPOINT, responseBytes.length);
+            String responseStr = new String(responseBytes, StandardCharsets.UTF_8);
 
             // JSON 응답을 DTO로 변환
             AuthResponseDto responseDto = parseAuthResponse(responseStr);
+            upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_RESPONSE_PARSE,
+                    System.nanoTime() - headersNanos);
 
             // 인증 방법 정보 추가
             responseDto.setAuthMethod(authRequest.getAuthMethod());
+            responseDto.setPatientKey(patientKeys.keyFor(responseDto));
 
-            return responseDto;
+            // 인증 정보는 서버 세션에 보관하고 세션 ID 발급
+            return authSessions.open(responseDto);
         }
     }
 
@@ -195,21 +237,20 @@ public class AuthService {
         try {
             AuthMethod auth = AuthMethod.fromMethod(authMethod);
 
-            System.out.println("인증 방법 매핑 - 입력: " + authMethod +
-                    ", 출력: " + auth.getPrivateAuthType() +
-                    " (" + auth.getDescription() + ")");
+            log.debug("auth.method.mapped input={} privateAuthType={} description={}",
+                    authMethod, auth.getPrivateAuthType(), auth.getDescription());
 
             return auth.getPrivateAuthType();
         } catch (IllegalArgumentException e) {
-            System.err.println("알 수 없는 인증 방법: " + authMethod + ", 기본값(PASS) 사용");
+            log.warn("auth.method.unknown input={} - 기본값(PASS) 사용", authMethod);
             return AuthMethod.PASS.getPrivateAuthType();
         }
     }
 
     // 간편인증 요청 처리 - 원본 JSON 반환 (Raw)
     public Object requestSimpleAuthRaw(AuthRequestDto authRequest) throws Exception {
-        // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+        // RSA Public Key 조회 (캐시)
+        PublicKey rsaPublicKey = publicKeyCache.getPublicKey();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -230,13 +271,7 @@ public class AuthService {
         json.put("BirthDate", aesEncrypt(aesKey, aesIv, authRequest.getBirthDate()));
         json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, authRequest.getUserCellphoneNumber()));
 
-        // API 호출
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(60, TimeUnit.SECONDS)
-                .readTimeout(60, TimeUnit.SECONDS)
-                .writeTimeout(60, TimeUnit.SECONDS)
-                .build();
-
+        // API 호출 (공용 Tilko 클라이언트 사용)
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("API-KEY", apiKey)
@@ -244,7 +279,10 @@ public class AuthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), json.toJSONString()))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
+        Call call = tilkoHttpClient.newCall(request);
+        call.timeout().timeout(authTimeoutSeconds, TimeUnit.SECONDS);
+
+        try (Response response = call.execute()) {
             if (response.body() == null) {
                 throw new IOException("Response body is null");
             }
@@ -257,40 +295,8 @@ public class AuthService {
         }
     }
 
-    // Public Key 조회
-    private String getPublicKey() throws Exception {
-        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
-
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
-
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
-
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new IOException("Response body is null");
-            }
-
-            String responseStr = response.body().string();
-            JSONParser jsonParser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) jsonParser.parse(responseStr);
-
-            return (String) jsonObject.get("PublicKey");
-        }
-    }
-
     // RSA 암호화
-    private String rsaEncrypt(String publicKeyStr, byte[] data) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        PublicKey publicKey = keyFactory.generatePublic(spec);
-
+    private String rsaEncrypt(PublicKey publicKey, byte[] data) throws Exception {
         Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
         cipher.init(Cipher.ENCRYPT_MODE, publicKey);
         byte[] encrypted = cipher.doFinal(data);
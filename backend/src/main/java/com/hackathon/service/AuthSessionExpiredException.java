@@ -0,0 +1,11 @@
+package com.hackathon.service;
+
+/**
+ * 세션 ID로 인증 정보를 찾지 못함 (만료, 제거 또는 잘못된 ID) - 간편인증을 다시 해야 함
+ */
+public class AuthSessionExpiredException extends RuntimeException {
+
+    public AuthSessionExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,153 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.util.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * 간편인증 결과 서버 세션
+ * 간편인증이 끝나면 인증 정보(CxId, ReqTxId, Token, TxId, ENC: 사용자 정보)를 서버에 보관하고
+ * 추측할 수 없는 세션 ID만 클라이언트에 준다. 이후 조회 API는 세션 ID만 보내면 된다.
+ * 세션은 Tilko 간편인증 토큰 유효 시간(ttl-minutes) 동안 유지된다.
+ */
+@Service
+public class AuthSessionService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Value("${auth.session.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.session.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    // false면 간편인증 응답에서 인증 정보를 빼고 세션 ID만 반환 (클라이언트가 모두 세션 ID로 전환한 뒤 사용)
+    @Value("${auth.session.expose-auth-material:true}")
+    private boolean exposeAuthMaterial;
+
+    @Autowired
+    private AuthSessionStore store;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public AuthSessionService(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("auth.session.lookups")
+                .tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("auth.session.lookups")
+                .tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 간편인증 결과를 세션으로 저장하고 클라이언트에 돌려줄 응답 반환 (sessionId 포함)
+     */
+    public AuthResponseDto open(AuthResponseDto auth) {
+        if (!enabled || auth.getReqTxId() == null) {
+            return auth;
+        }
+
+        String sessionId = newSessionId();
+        store.put(HashUtils.sha256Hex(sessionId), copyOf(auth), Duration.ofMinutes(ttlMinutes));
+        auth.setSessionId(sessionId);
+
+        if (exposeAuthMaterial) {
+            return auth;
+        }
+        AuthResponseDto response = new AuthResponseDto();
+        response.setSessionId(sessionId);
+        response.setAuthMethod(auth.getAuthMethod());
+        response.setPatientKey(auth.getPatientKey());
+        return response;
+    }
+
+    /**
+     * 요청의 인증 정보 확정
+     * sessionId가 있으면 저장된 인증 정보를 사용하고(없거나 만료면 AuthSessionExpiredException),
+     * 없으면 요청에 담긴 인증 정보를 그대로 사용한다. (세션 도입 전 클라이언트 호환)
+     */
+    public AuthResponseDto resolve(AuthResponseDto request) {
+        if (request == null || request.getSessionId() == null || request.getSessionId().isBlank()) {
+            return request;
+        }
+
+        AuthResponseDto stored = store.get(HashUtils.sha256Hex(request.getSessionId()));
+        if (stored == null) {
+            misses.increment();
+            throw new AuthSessionExpiredException("인증 세션이 만료되었습니다. 간편인증을 다시 시도해주세요.");
+        }
+        hits.increment();
+
+        AuthResponseDto resolved = copyOf(stored);
+        resolved.setSessionId(request.getSessionId());
+        return resolved;
+    }
+
+    /**
+     * 분석 결과 저장/장애 시 대체에 쓸 환자 키
+     * Tilko 조회로 확인된 세션에 보관된 키만 사용한다. (클라이언트가 보낸 키는 다른 환자 것일 수 있으므로 받지 않음)
+     * 세션이 없거나 확인 전이면 null - 분석은 하되 결과를 저장하거나 이전 결과로 대체하지 않는다.
+     */
+    public String patientKeyFor(String sessionId) {
+        if (!enabled || sessionId == null || sessionId.isBlank()) {
+            return null;
+        }
+        String sessionHash = HashUtils.sha256Hex(sessionId);
+        AuthResponseDto stored = store.get(sessionHash);
+        if (stored == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return store.isVerified(sessionHash) ? stored.getPatientKey() : null;
+    }
+
+    /**
+     * 저장된 건강 내역을 돌려줘도 되는 인증인지
+     * 세션이 있고 그 인증 정보로 Tilko 조회가 성공한 적이 있어야 한다.
+     * 세션 없이 요청에 담겨 온 인증 정보는 Tilko가 받아주기 전까지 확인되지 않은 것으로 본다.
+     */
+    public boolean isVerified(AuthResponseDto auth) {
+        if (!enabled || auth == null || auth.getSessionId() == null || auth.getSessionId().isBlank()) {
+            return false;
+        }
+        return store.isVerified(HashUtils.sha256Hex(auth.getSessionId()));
+    }
+
+    /**
+     * Tilko 조회 성공 후 호출 - 이후 같은 세션은 저장된 내역 사용 가능
+     */
+    public void markVerified(AuthResponseDto auth) {
+        if (!enabled || auth == null || auth.getSessionId() == null || auth.getSessionId().isBlank()) {
+            return;
+        }
+        store.markVerified(HashUtils.sha256Hex(auth.getSessionId()));
+    }
+
+    public void close(String sessionId) {
+        if (sessionId != null && !sessionId.isBlank()) {
+            store.remove(HashUtils.sha256Hex(sessionId));
+        }
+    }
+
+    // 256비트 난수 (URL-safe Base64)
+    private static String newSessionId() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // 저장본과 응답 객체를 분리 (세션 ID 자체는 저장하지 않음)
+    private static AuthResponseDto copyOf(AuthResponseDto auth) {
+        return new AuthResponseDto(auth.getCxId(), auth.getPrivateAuthType(), auth.getReqTxId(), auth.getToken(),
+                auth.getTxId(), auth.getUserName(), auth.getBirthDate(), auth.getUserCellphoneNumber(),
+                auth.getAuthMethod(), auth.getPatientKey(), null);
+    }
+}
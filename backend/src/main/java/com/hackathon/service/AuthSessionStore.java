@@ -0,0 +1,32 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+
+import java.time.Duration;
+
+/**
+ * 간편인증 결과 세션 저장소
+ * auth.session.store=memory(기본, 단일 서버) 또는 jdbc(여러 서버가 DB 테이블 공유) 중 하나를 사용한다.
+ * 키는 세션 ID 원문이 아닌 SHA-256 해시다. (AuthSessionService에서 변환)
+ */
+public interface AuthSessionStore {
+
+    void put(String sessionHash, AuthResponseDto auth, Duration ttl);
+
+    /**
+     * 만료되지 않은 세션의 인증 정보 (없으면 null)
+     */
+    AuthResponseDto get(String sessionHash);
+
+    void remove(String sessionHash);
+
+    /**
+     * 세션의 인증 정보로 Tilko 조회가 한 번 이상 성공했음을 기록 (세션이 없으면 무시)
+     */
+    void markVerified(String sessionHash);
+
+    /**
+     * 만료되지 않은 세션이고 Tilko 조회로 인증 정보가 확인되었는지
+     */
+    boolean isVerified(String sessionHash);
+}
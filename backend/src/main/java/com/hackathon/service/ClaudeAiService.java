@@ -1,24 +1,56 @@
 package com.hackathon.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.client.CircuitOpenException;
+import com.hackathon.client.ConcurrencyLimitExceededException;
+import com.hackathon.client.RateLimitExceededException;
+import com.hackathon.client.RateLimitInterceptor;
+import com.hackathon.config.PayloadSampler;
 import com.hackathon.dto.ClaudeApiRequestDto;
 import com.hackathon.dto.ClaudeApiResponseDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import com.hackathon.util.HashUtils;
+import com.hackathon.util.JsonArrayStreamParser;
 import okhttp3.*;
-import org.json.simple.JSONArray;
-import org.json.simple.JSONObject;
+import okio.BufferedSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 @Service
 public class ClaudeAiService {
 
+    private static final Logger log = LoggerFactory.getLogger(ClaudeAiService.class);
+
+    // upstream.call 지표의 endpoint 태그
+    private static final String MESSAGES_ENDPOINT = "messages";
+    private static final String STREAM_ENDPOINT = "messages-stream";
+
     @Value("${claude.api.url}")
     private String claudeApiUrl;
 
@@ -31,6 +63,88 @@ public class ClaudeAiService {
     @Value("${claude.api.max-tokens}")
     private int maxTokens;
 
+    // 분석 지시문 (모든 호출에서 동일 - system 블록으로 보내고 프롬프트 캐시 대상으로 지정)
+    private static final String ANALYSIS_SYSTEM_PROMPT = """
+        <task>
+        환자의 처방 이력을 분석하여 기저질환을 최대 4개까지 추정하세요.
+        </task>
+
+        <rules>
+        - 동일 계열 약물이 총 14일 이상 또는 반복 처방된 경우만 기저질환으로 판단
+        - 단기 처방(7일 이내)이면서 반복되지 않은 경우는 제외
+        - 감기약, 소화제, 단순 진통제 등은 고려하지 않음
+        - 판단이 모호한 경우는 제외
+        - 아래 <allowed_diseases>에 있는 질환만 선택 가능
+        </rules>
+
+        <allowed_diseases>
+        뇌전증, 치매, 파킨슨병, 뇌졸중 후유증, 만성두통,
+        심부전, 고혈압, 관상동맥질환, 심방세동, 고지혈증,
+        COPD, 천식, 폐섬유화증, 수면무호흡증,
+        빈혈, 혈우병, 항응고치료중, 고형암, 혈액암,
+        당뇨병, 갑상선기능이상, 골다공증, 부신기능장애,
+        만성신부전, 투석환자, 신증후군,
+        간경변, B형간염, C형간염, 비알코올성지방간,
+        위염, 소화성궤양, 염증성장질환, 과민성장증후군,
+        류마티스관절염, 골관절염, 통풍, 전신홍반루푸스,
+        자가면역질환, 장기이식 후 면역억제 치료 중,
+        HIV, 결핵, 만성바이러스간염,
+        우울증, 조현병, 양극성장애, 불안장애,
+        PKU, 윌슨병, 헌팅턴병
+        </allowed_diseases>
+
+        <output_format>
+        반드시 JSON 배열 형식으로만 응답하세요. 다른 설명은 포함하지 마세요.
+        질환이 없으면 빈 배열 []을 반환하세요.
+
+        예시:
+        ["고혈압", "당뇨병", "고지혈증"]
+        </output_format>
+
+        처방 데이터는 사용자 메시지의 <prescription_data>에 주어집니다.
+        """;
+
+    // 환자별 프롬프트 템플릿 (%s 자리에 처방 데이터)
+    private static final String PRESCRIPTION_PROMPT_TEMPLATE = """
+        <prescription_data>
+        %s
+        </prescription_data>
+        """;
+
+    // 프롬프트 버전 - 템플릿이 바뀌면 값이 바뀌어 분석 캐시가 자동으로 무효화됨
+    public static final String PROMPT_VERSION = HashUtils.sha256Hex(
+            ANALYSIS_SYSTEM_PROMPT + PRESCRIPTION_PROMPT_TEMPLATE + AnalysisPromptBuilder.FORMAT_VERSION).substring(0, 16);
+
+    // 프롬프트의 <allowed_diseases> 목록 (규칙 기반 분류도 이 목록 안에서만 판단)
+    public static final Set<String> ALLOWED_DISEASES = parseAllowedDiseases(ANALYSIS_SYSTEM_PROMPT);
+
+    @Autowired
+    @Qualifier("claudeHttpClient")
+    private OkHttpClient claudeHttpClient;
+
+    @Autowired
+    private DiseaseAnalysisCache analysisCache;
+
+    @Autowired
+    private AnalysisPromptBuilder promptBuilder;
+
+    @Autowired
+    private PayloadSampler payloadSampler;
+
+    @Autowired
+    private UpstreamMetrics upstreamMetrics;
+
+    @Autowired
+    @Qualifier("claudeAnalysisExecutor")
+    private Executor claudeAnalysisExecutor;
+
+    // 동일 입력 분석을 기다릴 최대 시간
+    @Value("${claude.coalescing.wait-timeout-seconds:150}")
+    private long coalescingWaitSeconds;
+
+    // 진행 중인 분석 (캐시 키 → 공유 결과)
+    private final ConcurrentMap<String, CompletableFuture<DiseaseAnalysisDto>> inFlightAnalyses = new ConcurrentHashMap<>();
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -39,86 +153,251 @@ public class ClaudeAiService {
      * @param medicationData 처방 데이터
      * @return 기저질환 분석 결과
      */
-    public DiseaseAnalysisDto analyzePrescriptionForDiseases(Object medicationData) {
+    public DiseaseAnalysisDto analyzePrescriptionForDiseases(TilkoResultDto<MedicationRecordDto> medicationData) {
         try {
-            System.out.println("=== Claude AI 분석 시작 ===");
-            System.out.println("medicationData 타입: " + medicationData.getClass().getName());
+            // 동일한 처방 목록/모델/프롬프트로 분석한 결과가 있으면 재사용
+            String cacheKey = analysisCache.keyFor(medicationData);
+            DiseaseAnalysisDto cached = analysisCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("analysis.cache.hit");
+                return cached;
+            }
 
-            // 처방 데이터에서 약물 정보 추출
-            List<String> actualMedicationNames = extractMedicationNames(medicationData);
-            String medicationInfo = extractMedicationInfo(medicationData);
+            // 같은 입력으로 진행 중인 분석이 있으면 그 결과를 함께 기다림 (single-flight)
+            CompletableFuture<DiseaseAnalysisDto> created = new CompletableFuture<>();
+            CompletableFuture<DiseaseAnalysisDto> shared = inFlightAnalyses.putIfAbsent(cacheKey, created);
+            if (shared == null) {
+                shared = created;
+                startSharedAnalysis(cacheKey, created, () -> analyzeUncached(cacheKey, medicationData));
+            } else {
+                log.debug("analysis.coalesced");
+            }
 
-            System.out.println("추출된 약물명 목록: " + actualMedicationNames);
+            // 대기를 포기해도 공유 호출은 취소하지 않음 (다른 요청이 기다리고 있을 수 있음)
+            return shared.get(coalescingWaitSeconds, TimeUnit.SECONDS);
 
-            // Claude API에 전송할 프롬프트 생성
-            String prompt = createAnalysisPrompt(medicationInfo, actualMedicationNames);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return errorResult("AI 분석 대기 중 인터럽트가 발생했습니다.");
 
-            // Claude API 호출
-            String claudeResponse = callClaudeApi(prompt);
+        } catch (Exception e) {
+            return failureResult(e);
+        }
+    }
 
-            // Claude 응답을 파싱하여 결과 생성
-            return parseClaudeResponse(claudeResponse);
+    /**
+     * 스트리밍 분석 - 질환이 하나씩 완성될 때마다 onDisease로 전달하고, 반환한 future로 최종 결과를 전달
+     * 일반 분석과 같은 single-flight 항목을 쓰므로 같은 입력의 분석이 진행 중이면 새로 호출하지 않고
+     * 그 결과를 한 번에 전달한다. 기다리는 동안 스레드를 점유하지 않는다.
+     * 반환한 future는 실패해도 예외 대신 오류 상태의 결과로 완료된다.
+     */
+    public CompletableFuture<DiseaseAnalysisDto> streamPrescriptionAnalysis(
+            TilkoResultDto<MedicationRecordDto> medicationData, Consumer<DiseaseAnalysisDto.PredictedDisease> onDisease) {
+        try {
+            String cacheKey = analysisCache.keyFor(medicationData);
+            DiseaseAnalysisDto cached = analysisCache.get(cacheKey);
+            if (cached != null) {
+                log.debug("analysis.cache.hit");
+                return CompletableFuture.completedFuture(replay(cached, onDisease));
+            }
+
+            CompletableFuture<DiseaseAnalysisDto> created = new CompletableFuture<>();
+            CompletableFuture<DiseaseAnalysisDto> shared = inFlightAnalyses.putIfAbsent(cacheKey, created);
+            if (shared == null) {
+                startSharedAnalysis(cacheKey, created, () -> streamUncached(cacheKey, medicationData, onDisease));
+                return created.handle((result, error) -> error != null ? failureResult(error) : result);
+            }
+
+            // 진행 중인 분석 결과를 기다림 (대기 시간 초과는 복사본에만 적용 - 공유 호출은 그대로 진행)
+            log.debug("analysis.coalesced");
+            return shared.copy()
+                    .orTimeout(coalescingWaitSeconds, TimeUnit.SECONDS)
+                    .handle((result, error) -> error != null ? failureResult(error) : replay(result, onDisease));
 
         } catch (Exception e) {
-            System.err.println("Claude AI 분석 오류: " + e.getMessage());
-            e.printStackTrace();
+            return CompletableFuture.completedFuture(failureResult(e));
+        }
+    }
+
+    // 이미 끝난 분석 결과의 질환을 한 번에 전달
+    private DiseaseAnalysisDto replay(DiseaseAnalysisDto result, Consumer<DiseaseAnalysisDto.PredictedDisease> onDisease) {
+        if (result.getPredictedDiseases() != null) {
+            result.getPredictedDiseases().forEach(onDisease);
+        }
+        return result;
+    }
 
-            DiseaseAnalysisDto errorResult = new DiseaseAnalysisDto();
-            errorResult.setStatus("ERROR");
-            errorResult.setMessage("AI 분석 중 오류가 발생했습니다: " + e.getMessage());
-            errorResult.setPredictedDiseases(new ArrayList<>());
-            errorResult.setRiskLevel("UNKNOWN");
+    // 공유 분석 호출 시작 - 요청 스레드가 아닌 별도 실행기에서 실행
+    private void startSharedAnalysis(String cacheKey, CompletableFuture<DiseaseAnalysisDto> future, AnalysisCall call) {
+        // 완료되면 목록에서 제거 (이후 요청은 캐시 또는 새 호출)
+        future.whenComplete((result, error) -> inFlightAnalyses.remove(cacheKey, future));
 
-            return errorResult;
+        try {
+            claudeAnalysisExecutor.execute(() -> {
+                try {
+                    future.complete(call.run());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IOException("대기 중인 AI 분석이 너무 많습니다. 잠시 후 다시 시도해주세요."));
+        }
+    }
+
+    // 캐시/공유 없이 스트리밍으로 Claude를 호출해서 분석 (배열이 끝까지 닫힌 결과만 캐시)
+    private DiseaseAnalysisDto streamUncached(String cacheKey, TilkoResultDto<MedicationRecordDto> medicationData,
+                                              Consumer<DiseaseAnalysisDto.PredictedDisease> onDisease) throws IOException {
+        AnalysisPromptBuilder.AnalysisPrompt prescription = buildPrescriptionData(medicationData);
+        StreamedAnalysis streamed = callClaudeApiStreaming(createAnalysisPrompt(prescription.prescriptionData()),
+                prescription.estimatedInputTokens(), name -> {
+                    if (!name.isBlank()) {
+                        onDisease.accept(toPredictedDisease(name));
+                    }
+                });
+
+        DiseaseAnalysisDto result = buildAnalysisResult(streamed.diseaseNames());
+        if (!streamed.complete()) {
+            // max_tokens 도달이나 연결 종료로 배열이 닫히기 전에 끝남 - 받은 질환만 전달하고 캐시하지 않음
+            log.warn("analysis.claude.streamIncomplete diseases={}", result.getPredictedDiseases().size());
+            result.setStatus("PARTIAL_SUCCESS");
+            result.setMessage("AI 응답이 중간에 끊겨 일부 결과만 전달합니다.");
+            result.setRiskLevel("UNKNOWN");
+            return result;
         }
+
+        result.setStatus("SUCCESS");
+        result.setMessage("기저질환 분석이 완료되었습니다.");
+        analysisCache.put(cacheKey, result);
+        return result;
+    }
+
+    // 캐시/공유 없이 실제로 Claude를 호출해서 분석
+    private DiseaseAnalysisDto analyzeUncached(String cacheKey, TilkoResultDto<MedicationRecordDto> medicationData)
+            throws IOException {
+        // 처방 데이터를 약물별로 요약 (입력 토큰 예산 안에서)
+        long stepNanos = System.nanoTime();
+        AnalysisPromptBuilder.AnalysisPrompt prescription = buildPrescriptionData(medicationData);
+
+        log.debug("analysis.prompt medications={} estimatedInputTokens={}",
+                prescription.medicationNames().size(), prescription.estimatedInputTokens());
+
+        // Claude API에 전송할 프롬프트 생성
+        String prompt = createAnalysisPrompt(prescription.prescriptionData());
+        upstreamMetrics.recordStep(UpstreamMetrics.CLAUDE, UpstreamMetrics.STEP_PROMPT_BUILD,
+                System.nanoTime() - stepNanos);
+
+        // Claude API 호출
+        String claudeResponse = callClaudeApi(prompt);
+
+        // Claude 응답을 파싱하여 결과 생성
+        stepNanos = System.nanoTime();
+        DiseaseAnalysisDto result = parseClaudeResponse(claudeResponse, prescription.estimatedInputTokens());
+        upstreamMetrics.recordStep(UpstreamMetrics.CLAUDE, UpstreamMetrics.STEP_RESPONSE_PARSE,
+                System.nanoTime() - stepNanos);
+        analysisCache.put(cacheKey, result);
+
+        return result;
+    }
+
+    // 공유 분석 실패를 결과로 변환 (대기 시간 초과, 호출 한도 초과, 서킷 열림, 그 밖의 오류)
+    private DiseaseAnalysisDto failureResult(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof TimeoutException) {
+            log.warn("analysis.claude.waitTimeout timeoutSeconds={}", coalescingWaitSeconds);
+            return errorResult("AI 분석 대기 시간이 초과되었습니다.");
+        }
+        if (cause instanceof RateLimitExceededException rateLimited) {
+            return rateLimitedResult(rateLimited);
+        }
+        if (cause instanceof CircuitOpenException circuitOpen) {
+            return circuitOpenResult(circuitOpen);
+        }
+        log.error("analysis.claude.failed error={}", cause.getMessage(), cause);
+
+        return errorResult("AI 분석 중 오류가 발생했습니다: " + cause.getMessage());
+    }
+
+    private DiseaseAnalysisDto errorResult(String message) {
+        DiseaseAnalysisDto errorResult = new DiseaseAnalysisDto();
+        errorResult.setStatus("ERROR");
+        errorResult.setMessage(message);
+        errorResult.setPredictedDiseases(new ArrayList<>());
+        errorResult.setRiskLevel("UNKNOWN");
+
+        return errorResult;
+    }
+
+    // 서킷 열림 - 호출하지 않고 바로 실패 (호출 측에서 이전 결과로 대체 가능)
+    private DiseaseAnalysisDto circuitOpenResult(CircuitOpenException e) {
+        log.warn("analysis.claude.circuitOpen retryAfterMillis={}", e.getRetryAfterMillis());
+
+        DiseaseAnalysisDto result = errorResult("AI 분석 서비스 장애로 잠시 후 다시 시도해주세요.");
+        result.setStatus("CIRCUIT_OPEN");
+        result.setRetryAfterMillis(e.getRetryAfterMillis());
+        return result;
+    }
+
+    // 호출 한도 초과 - 오류와 구분해서 클라이언트가 retryAfterMillis 후 다시 요청할 수 있도록
+    private DiseaseAnalysisDto rateLimitedResult(RateLimitExceededException e) {
+        log.warn("analysis.claude.rateLimited retryAfterMillis={}", e.getRetryAfterMillis());
+
+        DiseaseAnalysisDto result = errorResult("요청이 많아 AI 분석을 잠시 후 다시 시도해주세요.");
+        result.setStatus("RATE_LIMITED");
+        result.setRetryAfterMillis(e.getRetryAfterMillis());
+        return result;
+    }
+
+    /**
+     * Claude API에 전송할 분석 프롬프트(사용자 메시지)를 생성하는 메소드
+     * 지시문은 system 블록으로 따로 보내고, 여기서는 환자별 처방 데이터만 담는다.
+     */
+    private String createAnalysisPrompt(String prescriptionData) {
+        return PRESCRIPTION_PROMPT_TEMPLATE.formatted(prescriptionData);
+    }
+
+    // 템플릿 토큰을 제외한 예산 안에서 처방 데이터 요약 생성
+    private AnalysisPromptBuilder.AnalysisPrompt buildPrescriptionData(TilkoResultDto<MedicationRecordDto> medicationData) {
+        return promptBuilder.build(medicationData, promptBuilder.estimateTokens(ANALYSIS_SYSTEM_PROMPT + PRESCRIPTION_PROMPT_TEMPLATE));
     }
 
     /**
-     * Claude API에 전송할 분석 프롬프트를 생성하는 메소드
-     * Claude는 XML 태그를 잘 이해하므로 구조화된 프롬프트 사용
+     * 배치 분석용 요청 본문 생성 (실시간 분석과 같은 프롬프트/모델 사용)
      */
-    private String createAnalysisPrompt(String medicationInfo, List<String> actualMedicationNames) {
-        return """
-                <task>
-                환자의 처방 이력을 분석하여 기저질환을 최대 4개까지 추정하세요.
-                </task>
-
-                <rules>
-                - 동일 계열 약물이 총 14일 이상 또는 반복 처방된 경우만 기저질환으로 판단
-                - 단기 처방(7일 이내)이면서 반복되지 않은 경우는 제외
-                - 감기약, 소화제, 단순 진통제 등은 고려하지 않음
-                - 판단이 모호한 경우는 제외
-                - 아래 <allowed_diseases>에 있는 질환만 선택 가능
-                </rules>
-
-                <allowed_diseases>
-                뇌전증, 치매, 파킨슨병, 뇌졸중 후유증, 만성두통,
-                심부전, 고혈압, 관상동맥질환, 심방세동, 고지혈증,
-                COPD, 천식, 폐섬유화증, 수면무호흡증,
-                빈혈, 혈우병, 항응고치료중, 고형암, 혈액암,
-                당뇨병, 갑상선기능이상, 골다공증, 부신기능장애,
-                만성신부전, 투석환자, 신증후군,
-                간경변, B형간염, C형간염, 비알코올성지방간,
-                위염, 소화성궤양, 염증성장질환, 과민성장증후군,
-                류마티스관절염, 골관절염, 통풍, 전신홍반루푸스,
-                자가면역질환, 장기이식 후 면역억제 치료 중,
-                HIV, 결핵, 만성바이러스간염,
-                우울증, 조현병, 양극성장애, 불안장애,
-                PKU, 윌슨병, 헌팅턴병
-                </allowed_diseases>
-
-                <prescription_data>
-                %s
-                </prescription_data>
-
-                <output_format>
-                반드시 JSON 배열 형식으로만 응답하세요. 다른 설명은 포함하지 마세요.
-                질환이 없으면 빈 배열 []을 반환하세요.
-
-                예시:
-                ["고혈압", "당뇨병", "고지혈증"]
-                </output_format>
-                """.formatted(medicationInfo);
+    public ClaudeApiRequestDto buildAnalysisRequest(TilkoResultDto<MedicationRecordDto> medicationData) {
+        AnalysisPromptBuilder.AnalysisPrompt prescription = buildPrescriptionData(medicationData);
+        return createRequestDto(createAnalysisPrompt(prescription.prescriptionData()));
+    }
+
+    /**
+     * 배치 결과의 message(JSON)를 분석 결과로 변환 (실시간 분석과 같은 파싱 로직)
+     */
+    public DiseaseAnalysisDto parseAnalysisMessage(String messageJson) {
+        return parseClaudeResponse(messageJson, 0);
+    }
+
+    private ClaudeApiRequestDto createRequestDto(String prompt) {
+        ClaudeApiRequestDto requestDto = new ClaudeApiRequestDto();
+        requestDto.setModel(claudeModel);
+        requestDto.setMaxTokens(maxTokens);
+        requestDto.setTemperature(0.3);
+
+        // 고정 지시문은 캐시 지점으로 지정 (같은 접두부가 다시 오면 캐시에서 읽음)
+        ClaudeApiRequestDto.SystemBlock systemBlock = new ClaudeApiRequestDto.SystemBlock();
+        systemBlock.setText(ANALYSIS_SYSTEM_PROMPT);
+        systemBlock.setCacheControl(ClaudeApiRequestDto.CacheControl.ephemeral());
+        requestDto.setSystem(List.of(systemBlock));
+
+        // 메시지 생성
+        ClaudeApiRequestDto.Message userMessage = new ClaudeApiRequestDto.Message();
+        userMessage.setRole("user");
+        userMessage.setContent(prompt);
+
+        requestDto.setMessages(Arrays.asList(userMessage));
+        return requestDto;
     }
 
     /**
@@ -136,34 +415,10 @@ public class ClaudeAiService {
 
         for (int attempt = 0; attempt < maxRetries; attempt++) {
             try {
-                OkHttpClient client = new OkHttpClient.Builder()
-                        .connectTimeout(60, TimeUnit.SECONDS)
-                        .readTimeout(60, TimeUnit.SECONDS)
-                        .writeTimeout(60, TimeUnit.SECONDS)
-                        .build();
-
-                // 요청 DTO 생성
-                ClaudeApiRequestDto requestDto = new ClaudeApiRequestDto();
-                requestDto.setModel(claudeModel);
-                requestDto.setMaxTokens(maxTokens);
-                requestDto.setTemperature(0.3);
-
-                // 메시지 생성
-                ClaudeApiRequestDto.Message userMessage = new ClaudeApiRequestDto.Message();
-                userMessage.setRole("user");
-                userMessage.setContent(prompt);
-
-                requestDto.setMessages(Arrays.asList(userMessage));
+                // 요청 DTO 생성 후 JSON 변환
+                String requestJson = objectMapper.writeValueAsString(createRequestDto(prompt));
 
-                // JSON 변환
-                String requestJson = objectMapper.writeValueAsString(requestDto);
-
-                System.out.println("=== Claude API 요청 ===");
-                System.out.println("URL: " + claudeApiUrl);
-                System.out.println("Model: " + claudeModel);
-                if (attempt > 0) {
-                    System.out.println("재시도 횟수: " + attempt + "/" + maxRetries);
-                }
+                long startNanos = System.nanoTime();
 
                 // HTTP 요청 생성
                 Request request = new Request.Builder()
@@ -172,26 +427,45 @@ public class ClaudeAiService {
                         .addHeader("x-api-key", claudeApiKey)
                         .addHeader("anthropic-version", "2023-06-01")
                         .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), requestJson))
+                        .tag(RateLimitInterceptor.TokenCost.class,
+                                new RateLimitInterceptor.TokenCost(promptBuilder.estimateTokens(ANALYSIS_SYSTEM_PROMPT + prompt)))
                         .build();
 
-                // API 호출
-                try (Response response = client.newCall(request).execute()) {
-                    System.out.println("Claude API 응답 코드: " + response.code());
+                upstreamMetrics.recordRequestSize(UpstreamMetrics.CLAUDE, MESSAGES_ENDPOINT, request.body().contentLength());
+
+                // API 호출 (공용 Claude 클라이언트 사용 - 재시도 시에도 커넥션 재사용)
+                Response response;
+                try {
+                    response = claudeHttpClient.newCall(request).execute();
+                } catch (IOException e) {
+                    upstreamMetrics.recordFailedCall(UpstreamMetrics.CLAUDE, MESSAGES_ENDPOINT, attempt + 1,
+                            System.nanoTime() - startNanos, e);
+                    throw e;
+                }
+
+                try (response) {
+                    long elapsedNanos = System.nanoTime() - startNanos;
+                    upstreamMetrics.recordCall(UpstreamMetrics.CLAUDE, MESSAGES_ENDPOINT, response.code(), attempt + 1,
+                            elapsedNanos);
+                    log.info("claude.call model={} attempt={} httpStatus={} elapsedMs={}", claudeModel, attempt + 1,
+                            response.code(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
 
                     if (response.body() == null) {
                         throw new IOException("Claude API 응답 본문이 비어있습니다.");
                     }
 
-                    String responseBody = response.body().string();
+                    byte[] responseBytes = response.body().bytes();
+                    upstreamMetrics.recordResponseSize(UpstreamMetrics.CLAUDE, MESSAGES_ENDPOINT, responseBytes.length);
+                    String responseBody = new String(responseBytes, StandardCharsets.UTF_8);
 
                     // 성공적인 응답
                     if (response.isSuccessful()) {
-                        System.out.println("Claude API 성공적 응답 수신");
                         return responseBody;
                     }
 
                     // 에러 응답 처리
-                    System.err.println("Claude API 오류 응답: " + responseBody);
+                    log.warn("claude.call.error httpStatus={} bodyChars={}", response.code(), responseBody.length());
+                    payloadSampler.debug(log, "claude.call.errorBody", responseBody);
 
                     // 401: 인증 실패
                     if (response.code() == 401) {
@@ -201,9 +475,8 @@ public class ClaudeAiService {
                     // 429: 요청 한도 초과
                     if (response.code() == 429) {
                         if (attempt < maxRetries - 1) {
-                            System.out.println("Claude API 요청 한도 초과. " + (retryDelay / 1000) + "초 후 재시도...");
-                            Thread.sleep(retryDelay);
-                            retryDelay *= 2; // Exponential backoff
+                            // 대기는 동시 요청 한도 인터셉터가 retry-after만큼 처리
+                            log.warn("claude.call.retry reason=rateLimited attempt={}", attempt + 1);
                             continue;
                         } else {
                             throw new IOException("Claude API 요청 한도 초과: 잠시 후 다시 시도해주세요.");
@@ -213,9 +486,8 @@ public class ClaudeAiService {
                     // 529: 서버 과부하
                     if (response.code() == 529) {
                         if (attempt < maxRetries - 1) {
-                            System.out.println("Claude API 서버 과부하. " + (retryDelay / 1000) + "초 후 재시도...");
-                            Thread.sleep(retryDelay);
-                            retryDelay *= 2; // Exponential backoff
+                            // 대기는 동시 요청 한도 인터셉터가 retry-after만큼 처리
+                            log.warn("claude.call.retry reason=overloaded attempt={}", attempt + 1);
                             continue;
                         } else {
                             throw new IOException("Claude API 서버 과부하: 잠시 후 다시 시도해주세요.");
@@ -226,13 +498,14 @@ public class ClaudeAiService {
                     throw new IOException("Claude API 호출 실패: " + response.code());
                 }
 
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new IOException("Claude API 호출 중 인터럽트 발생");
+            } catch (ConcurrencyLimitExceededException | RateLimitExceededException | CircuitOpenException e) {
+                // 대기열이 가득 찼거나 대기 시간 초과, 호출 한도 초과, 서킷 열림 - 재시도하면 대기만 길어지므로 바로 실패
+                throw e;
             } catch (IOException e) {
                 // 마지막 시도가 아니면 재시도
                 if (attempt < maxRetries - 1 && !e.getMessage().contains("인증 실패")) {
-                    System.out.println("Claude API 호출 실패. " + (retryDelay / 1000) + "초 후 재시도...");
+                    log.warn("claude.call.retry reason=ioError attempt={} delayMs={} error={}",
+                            attempt + 1, retryDelay, e.getMessage());
                     try {
                         Thread.sleep(retryDelay);
                         retryDelay *= 2;
@@ -250,14 +523,120 @@ public class ClaudeAiService {
         throw new IOException("Claude API 호출 실패: 모든 재시도 시도가 실패했습니다.");
     }
 
+    /**
+     * Claude API 스트리밍 호출 - 이벤트 스트림의 텍스트 조각을 바로 JSON 배열 파서에 넣고,
+     * 배열이 닫히면 나머지 스트림은 읽지 않고 연결을 닫는다.
+     *
+     * @return 파싱된 질환명 목록과 배열이 끝까지 닫혔는지 여부
+     */
+    private StreamedAnalysis callClaudeApiStreaming(String prompt, int estimatedInputTokens,
+                                                Consumer<String> onDiseaseName) throws IOException {
+        if (claudeApiKey == null || claudeApiKey.trim().isEmpty()) {
+            throw new IOException("Claude API 키가 설정되지 않았습니다.");
+        }
+
+        ClaudeApiRequestDto requestDto = createRequestDto(prompt);
+        requestDto.setStream(true);
+
+        Request request = new Request.Builder()
+                .url(claudeApiUrl)
+                .addHeader("Content-Type", "application/json")
+                .addHeader("Accept", "text/event-stream")
+                .addHeader("x-api-key", claudeApiKey)
+                .addHeader("anthropic-version", "2023-06-01")
+                .post(RequestBody.create(objectMapper.writeValueAsString(requestDto), MediaType.get("application/json; charset=utf-8")))
+                .tag(RateLimitInterceptor.TokenCost.class, new RateLimitInterceptor.TokenCost(estimatedInputTokens))
+                .build();
+
+        long startNanos = System.nanoTime();
+        AtomicBoolean firstReceived = new AtomicBoolean();
+        JsonArrayStreamParser parser = new JsonArrayStreamParser(name -> {
+            if (firstReceived.compareAndSet(false, true)) {
+                log.debug("claude.stream.firstDisease elapsedMs={}",
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+            }
+            onDiseaseName.accept(name);
+        });
+
+        upstreamMetrics.recordRequestSize(UpstreamMetrics.CLAUDE, STREAM_ENDPOINT, request.body().contentLength());
+        Response response;
+        try {
+            response = claudeHttpClient.newCall(request).execute();
+        } catch (IOException e) {
+            upstreamMetrics.recordFailedCall(UpstreamMetrics.CLAUDE, STREAM_ENDPOINT, 1, System.nanoTime() - startNanos, e);
+            throw e;
+        }
+
+        // 스트리밍은 생성이 끝날 때(또는 배열이 닫혀 연결을 끊을 때)까지가 Claude 호출 시간
+        try (response) {
+            if (!response.isSuccessful() || response.body() == null) {
+                String body = response.body() != null ? response.body().string() : "";
+                log.warn("claude.stream.error httpStatus={} bodyChars={}", response.code(), body.length());
+                payloadSampler.debug(log, "claude.stream.errorBody", body);
+                throw new IOException("Claude API 스트리밍 호출 실패: " + response.code());
+            }
+
+            BufferedSource source = response.body().source();
+            String line;
+            while (!parser.isDone() && (line = source.readUtf8Line()) != null) {
+                // SSE 형식: "event: ..." / "data: {...}" / 빈 줄
+                if (!line.startsWith("data:")) {
+                    continue;
+                }
+
+                JsonNode event = objectMapper.readTree(line.substring(5).trim());
+                switch (event.path("type").asText()) {
+                    case "message_start" -> {
+                        JsonNode usage = event.path("message").path("usage");
+                        if (!usage.isMissingNode()) {
+                            ClaudeApiResponseDto.Usage inputUsage =
+                                    objectMapper.treeToValue(usage, ClaudeApiResponseDto.Usage.class);
+                            promptBuilder.recordUsage(estimatedInputTokens, inputUsage);
+                            upstreamMetrics.recordTokens(claudeModel, inputUsage.getInputTokens(), 0);
+                        }
+                    }
+                    // 누적 출력 토큰 (배열이 닫혀 먼저 연결을 끊으면 받지 못함)
+                    case "message_delta" -> upstreamMetrics.recordTokens(claudeModel, 0,
+                            event.path("usage").path("output_tokens").asInt());
+                    case "content_block_delta" -> {
+                        JsonNode delta = event.path("delta");
+                        if ("text_delta".equals(delta.path("type").asText())) {
+                            parser.feed(delta.path("text").asText());
+                        }
+                    }
+                    case "error" -> throw new IOException("Claude API 스트리밍 오류: "
+                            + event.path("error").path("message").asText());
+                    default -> {
+                        // ping, content_block_start/stop, message_stop
+                    }
+                }
+            }
+        } finally {
+            upstreamMetrics.recordCall(UpstreamMetrics.CLAUDE, STREAM_ENDPOINT, response.code(), 1,
+                    System.nanoTime() - startNanos);
+        }
+
+        log.info("claude.stream model={} diseases={} complete={} elapsedMs={}", claudeModel,
+                parser.getElements().size(), parser.isDone(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return new StreamedAnalysis(parser.getElements(), parser.isDone());
+    }
+
     /**
      * Claude API 응답을 파싱하여 DiseaseAnalysisDto로 변환하는 메소드
      */
-    private DiseaseAnalysisDto parseClaudeResponse(String claudeResponse) {
+    private DiseaseAnalysisDto parseClaudeResponse(String claudeResponse, int estimatedInputTokens) {
         try {
             // Claude API 응답 파싱
             ClaudeApiResponseDto apiResponse = objectMapper.readValue(claudeResponse, ClaudeApiResponseDto.class);
 
+            // 토큰 사용량 기록 (프롬프트 캐시 생성/적중 포함)
+            if (apiResponse.getUsage() != null) {
+                promptBuilder.recordUsage(estimatedInputTokens, apiResponse.getUsage());
+                upstreamMetrics.recordTokens(apiResponse.getModel() != null ? apiResponse.getModel() : claudeModel,
+                        apiResponse.getUsage().getInputTokens(), apiResponse.getUsage().getOutputTokens());
+            }
+
             if (apiResponse.getContent() != null && !apiResponse.getContent().isEmpty()) {
                 String analysisText = apiResponse.getContent().get(0).getText();
 
@@ -275,7 +654,7 @@ public class ClaudeAiService {
             }
 
         } catch (Exception e) {
-            System.err.println("Claude 응답 파싱 오류: " + e.getMessage());
+            log.warn("claude.response.parseFailed error={}", e.getMessage());
 
             DiseaseAnalysisDto result = new DiseaseAnalysisDto();
             result.setStatus("PARTIAL_SUCCESS");
@@ -287,225 +666,19 @@ public class ClaudeAiService {
         }
     }
 
-    /**
-     * 처방 데이터에서 실제 약물명 목록을 추출하는 메소드
-     */
-    private List<String> extractMedicationNames(Object medicationData) {
-        List<String> medicationNames = new ArrayList<>();
-
-        try {
-            // LinkedHashMap 타입 처리 (Spring Boot가 JSON을 자동 변환한 경우)
-            if (medicationData instanceof Map) {
-                Map<String, Object> data = (Map<String, Object>) medicationData;
-
-                // medicationData 안의 medicationData를 가져옴
-                Object innerMedicationData = data.get("medicationData");
-                if (innerMedicationData instanceof Map) {
-                    Map<String, Object> medData = (Map<String, Object>) innerMedicationData;
-                    Object resultListObj = medData.get("ResultList");
-
-                    if (resultListObj instanceof List) {
-                        List<Object> resultList = (List<Object>) resultListObj;
-
-                        for (Object resultObj : resultList) {
-                            if (resultObj instanceof Map) {
-                                Map<String, Object> result = (Map<String, Object>) resultObj;
-                                // 대문자 R로 시작하는 필드명 사용
-                                Object detailListObj = result.get("RetrieveTreatmentInjectionInformationPersonDetailList");
-
-                                if (detailListObj instanceof List) {
-                                    List<Object> detailList = (List<Object>) detailListObj;
-
-                                    for (Object detailObj : detailList) {
-                                        if (detailObj instanceof Map) {
-                                            Map<String, Object> detail = (Map<String, Object>) detailObj;
-                                            // 대문자 C로 시작하는 필드명 사용
-                                            String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                            if (drugName != null && !drugName.trim().isEmpty()) {
-                                                medicationNames.add(drugName.trim());
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-            // JSONObject 타입 처리 (직접 JSONObject를 받은 경우)
-            else if (medicationData instanceof JSONObject) {
-                JSONObject data = (JSONObject) medicationData;
-
-                // medicationData 안의 medicationData를 가져옴
-                Object innerMedicationData = data.get("medicationData");
-                if (innerMedicationData instanceof JSONObject) {
-                    JSONObject medData = (JSONObject) innerMedicationData;
-                    Object resultListObj = medData.get("ResultList");
-
-                    if (resultListObj instanceof JSONArray) {
-                        JSONArray resultList = (JSONArray) resultListObj;
-
-                        for (Object resultObj : resultList) {
-                            if (resultObj instanceof JSONObject) {
-                                JSONObject result = (JSONObject) resultObj;
-                                // 대문자 R로 시작하는 필드명 사용
-                                Object detailListObj = result.get("RetrieveTreatmentInjectionInformationPersonDetailList");
-
-                                if (detailListObj instanceof JSONArray) {
-                                    JSONArray detailList = (JSONArray) detailListObj;
-
-                                    for (Object detailObj : detailList) {
-                                        if (detailObj instanceof JSONObject) {
-                                            JSONObject detail = (JSONObject) detailObj;
-                                            // 대문자 C로 시작하는 필드명 사용
-                                            String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                            if (drugName != null && !drugName.trim().isEmpty()) {
-                                                medicationNames.add(drugName.trim());
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("약물명 추출 중 오류: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        System.out.println("추출된 약물명: " + medicationNames);
-        return medicationNames;
-    }
-
-    /**
-     * 처방 데이터에서 약물 정보를 추출하는 메소드
-     */
-    private String extractMedicationInfo(Object medicationData) {
-        StringBuilder medicationInfo = new StringBuilder();
-
-        try {
-            // LinkedHashMap 타입 처리 (Spring Boot가 JSON을 자동 변환한 경우)
-            if (medicationData instanceof Map) {
-                Map<String, Object> data = (Map<String, Object>) medicationData;
-
-                // medicationData 안의 medicationData를 가져옴
-                Object innerMedicationData = data.get("medicationData");
-                if (innerMedicationData instanceof Map) {
-                    Map<String, Object> medData = (Map<String, Object>) innerMedicationData;
-                    Object resultListObj = medData.get("ResultList");
-
-                    if (resultListObj instanceof List) {
-                        List<Object> resultList = (List<Object>) resultListObj;
-
-                        for (Object resultObj : resultList) {
-                            if (resultObj instanceof Map) {
-                                Map<String, Object> result = (Map<String, Object>) resultObj;
-
-                                // 소문자로 시작하는 필드명 사용
-                                String treatmentDate = (String) result.get("JinRyoGaesiIl");
-                                String hospitalName = (String) result.get("ByungEuiwonYakGukMyung");
-
-                                medicationInfo.append("진료일자: ").append(treatmentDate)
-                                        .append(", 병원: ").append(hospitalName).append("\n");
-
-                                Object detailListObj = result.get("RetrieveTreatmentInjectionInformationPersonDetailList");
-
-                                if (detailListObj instanceof List) {
-                                    List<Object> detailList = (List<Object>) detailListObj;
-
-                                    for (Object detailObj : detailList) {
-                                        if (detailObj instanceof Map) {
-                                            Map<String, Object> detail = (Map<String, Object>) detailObj;
-
-                                            String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                            String dosageDays = (String) detail.get("TuyakIlSoo");
-
-                                            medicationInfo.append("- 약물명: ").append(drugName)
-                                                    .append(", 투약일수: ").append(dosageDays)
-                                                    .append("\n");
-                                        }
-                                    }
-                                }
-                                medicationInfo.append("\n");
-                            }
-                        }
-                    }
-                }
-            }
-            // JSONObject 타입 처리 (직접 JSONObject를 받은 경우)
-            else if (medicationData instanceof JSONObject) {
-                JSONObject data = (JSONObject) medicationData;
-
-                // medicationData 안의 medicationData를 가져옴
-                Object innerMedicationData = data.get("medicationData");
-                if (innerMedicationData instanceof JSONObject) {
-                    JSONObject medData = (JSONObject) innerMedicationData;
-                    Object resultListObj = medData.get("ResultList");
-
-                    if (resultListObj instanceof JSONArray) {
-                        JSONArray resultList = (JSONArray) resultListObj;
-
-                        for (Object resultObj : resultList) {
-                            if (resultObj instanceof JSONObject) {
-                                JSONObject result = (JSONObject) resultObj;
-
-                                // 서버에서 받아오는 필드명이 대문자이므로 대문자로 수정
-                                String treatmentDate = (String) result.get("JinRyoGaesiIl");
-                                String hospitalName = (String) result.get("ByungEuiwonYakGukMyung");
-
-                                medicationInfo.append("진료일자: ").append(treatmentDate)
-                                        .append(", 병원: ").append(hospitalName).append("\n");
-
-                                Object detailListObj = result.get("RetrieveTreatmentInjectionInformationPersonDetailList");
-
-                                if (detailListObj instanceof JSONArray) {
-                                    JSONArray detailList = (JSONArray) detailListObj;
-
-                                    for (Object detailObj : detailList) {
-                                        if (detailObj instanceof JSONObject) {
-                                            JSONObject detail = (JSONObject) detailObj;
-
-                                            String drugName = (String) detail.get("ChoBangYakPumMyung");
-                                            String dosageDays = (String) detail.get("TuyakIlSoo");
-
-                                            medicationInfo.append("- 약물명: ").append(drugName)
-                                                    .append(", 투약일수: ").append(dosageDays)
-                                                    .append("\n");
-                                        }
-                                    }
-                                }
-                                medicationInfo.append("\n");
-                            }
-                        }
-                    }
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("약물 정보 추출 중 오류: " + e.getMessage());
-            return "약물 정보 추출에 실패했습니다.";
-        }
-
-        return medicationInfo.toString();
-    }
     /**
      * 텍스트에서 JSON 배열 부분을 추출하는 메소드
      */
     private String extractJsonArrayFromText(String text) {
         try {
-            System.out.println("=== 원본 Claude ai 응답 ===");
-            System.out.println(text);
-            System.out.println("=========================");
+            payloadSampler.debug(log, "claude.response.text", text);
 
             // ```json으로 시작하고 ```로 끝나는 부분을 찾기
             if (text.contains("```json")) {
                 int startIndex = text.indexOf("```json") + 7;
                 int endIndex = text.indexOf("```", startIndex);
                 if (endIndex > startIndex) {
-                    String extracted = text.substring(startIndex, endIndex).trim();
-                    System.out.println("JSON 블록에서 추출: " + extracted);
-                    return extracted;
+                    return text.substring(startIndex, endIndex).trim();
                 }
             }
 
@@ -513,16 +686,14 @@ public class ClaudeAiService {
             int startIndex = text.indexOf("[");
             int endIndex = text.lastIndexOf("]");
             if (startIndex >= 0 && endIndex > startIndex) {
-                String extracted = text.substring(startIndex, endIndex + 1);
-                System.out.println("배열 부분에서 추출: " + extracted);
-                return extracted;
+                return text.substring(startIndex, endIndex + 1);
             }
 
-            System.out.println("JSON 배열을 찾지 못함, 원본 반환");
+            log.warn("claude.response.noJsonArray textChars={}", text.length());
             return text;
 
         } catch (Exception e) {
-            System.err.println("JSON 배열 추출 오류: " + e.getMessage());
+            log.warn("claude.response.extractFailed error={}", e.getMessage());
             return text;
         }
     }
@@ -532,43 +703,18 @@ public class ClaudeAiService {
      */
     private DiseaseAnalysisDto parseAnalysisJsonArray(String jsonArrayText) throws Exception {
         try {
-            System.out.println("=== 파싱할 JSON 배열 ===");
-            System.out.println(jsonArrayText);
-            System.out.println("=========================");
-
             // ObjectMapper를 사용해 JSON 배열을 List로 파싱
             @SuppressWarnings("unchecked")
             List<String> diseaseNames = objectMapper.readValue(jsonArrayText, List.class);
 
-            DiseaseAnalysisDto result = new DiseaseAnalysisDto();
-            List<DiseaseAnalysisDto.PredictedDisease> diseases = new ArrayList<>();
-
-            // 추출된 질환명들을 PredictedDisease 객체로 변환
-            for (String diseaseName : diseaseNames) {
-                if (diseaseName != null && !diseaseName.trim().isEmpty()) {
-                    DiseaseAnalysisDto.PredictedDisease disease = new DiseaseAnalysisDto.PredictedDisease();
-                    disease.setDiseaseName(diseaseName.trim());
-                    disease.setProbability("추정"); // 기본값
-                    disease.setReason("처방 패턴 분석 결과"); // 기본값
-                    disease.setRelatedMedications(new ArrayList<>()); // 빈 목록으로 초기화
-
-                    diseases.add(disease);
-                    System.out.println("추가된 질병: " + disease.getDiseaseName());
-                }
-            }
-
-            result.setPredictedDiseases(diseases);
-            result.setAnalysisReason("처방 데이터 패턴 분석을 통한 기저질환 추정");
-            result.setRiskLevel(diseases.isEmpty() ? "LOW" : "MEDIUM");
-            result.setRecommendations(Arrays.asList("의료진과 상담 권장", "정기적인 건강검진"));
+            DiseaseAnalysisDto result = buildAnalysisResult(diseaseNames);
 
-            System.out.println("파싱 완료: " + result.getPredictedDiseases().size() + "개 질병 추출");
+            log.debug("claude.response.parsed diseases={}", result.getPredictedDiseases().size());
 
             return result;
 
         } catch (Exception e) {
-            System.err.println("JSON 배열 파싱 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.warn("claude.response.jsonArrayFailed error={}", e.getMessage());
 
             // 파싱 실패 시 기본 값 반환
             DiseaseAnalysisDto result = new DiseaseAnalysisDto();
@@ -580,6 +726,56 @@ public class ClaudeAiService {
             throw e;
         }
     }
-    // extractMedicationNames, extractMedicationInfo, extractJsonArrayFromText, parseAnalysisJsonArray 메소드는
-    // 기존 서비스 클래스와 동일 하므로 복사
+    private static Set<String> parseAllowedDiseases(String prompt) {
+        int start = prompt.indexOf("<allowed_diseases>") + "<allowed_diseases>".length();
+        int end = prompt.indexOf("</allowed_diseases>");
+
+        Set<String> diseases = new LinkedHashSet<>();
+        for (String name : prompt.substring(start, end).split("[,\\n]")) {
+            if (!name.isBlank()) {
+                diseases.add(name.trim());
+            }
+        }
+        return Collections.unmodifiableSet(diseases);
+    }
+
+    /**
+     * 질환명 목록을 DiseaseAnalysisDto로 변환 (일반/스트리밍 분석 공용)
+     */
+    private DiseaseAnalysisDto buildAnalysisResult(List<String> diseaseNames) {
+        DiseaseAnalysisDto result = new DiseaseAnalysisDto();
+        List<DiseaseAnalysisDto.PredictedDisease> diseases = new ArrayList<>();
+
+        // 추출된 질환명들을 PredictedDisease 객체로 변환
+        for (String diseaseName : diseaseNames) {
+            if (diseaseName != null && !diseaseName.trim().isEmpty()) {
+                diseases.add(toPredictedDisease(diseaseName));
+            }
+        }
+
+        result.setPredictedDiseases(diseases);
+        result.setAnalysisReason("처방 데이터 패턴 분석을 통한 기저질환 추정");
+        result.setRiskLevel(diseases.isEmpty() ? "LOW" : "MEDIUM");
+        result.setRecommendations(Arrays.asList("의료진과 상담 권장", "정기적인 건강검진"));
+
+        return result;
+    }
+
+    private DiseaseAnalysisDto.PredictedDisease toPredictedDisease(String diseaseName) {
+        DiseaseAnalysisDto.PredictedDisease disease = new DiseaseAnalysisDto.PredictedDisease();
+        disease.setDiseaseName(diseaseName.trim());
+        disease.setProbability("추정"); // 기본값
+        disease.setReason("처방 패턴 분석 결과"); // 기본값
+        disease.setRelatedMedications(new ArrayList<>()); // 빈 목록으로 초기화
+        return disease;
+    }
+
+    // 스트리밍 호출 결과 (complete=false면 응답이 배열 도중에 끝남)
+    private record StreamedAnalysis(List<String> diseaseNames, boolean complete) {
+    }
+
+    @FunctionalInterface
+    private interface AnalysisCall {
+        DiseaseAnalysisDto run() throws IOException;
+    }
 }
\ No newline at end of file
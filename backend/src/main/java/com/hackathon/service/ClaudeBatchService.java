@@ -0,0 +1,385 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.config.PayloadSampler;
+import com.hackathon.domain.BatchAnalysisResult;
+import com.hackathon.domain.ClaudeAnalysisBatch;
+import com.hackathon.dto.BatchAnalysisReportDto;
+import com.hackathon.dto.BatchAnalysisRequestDto;
+import com.hackathon.dto.BatchAnalysisResultDto;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.repository.BatchAnalysisResultRepository;
+import com.hackathon.repository.ClaudeAnalysisBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claude Message Batches API 기반 기저질환 일괄 분석
+ * 실시간 분석과 같은 프롬프트로 요청을 만들어 배치로 제출하고, 주기적으로 상태를 확인해서
+ * 끝난 배치의 결과 파일(JSONL)을 환자별 결과로 저장한다.
+ * 배치 엔드포인트는 실시간 분석과 요청 한도를 나눠 쓰지 않고, 토큰 단가도 할인된다.
+ */
+@Service
+public class ClaudeBatchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClaudeBatchService.class);
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    @Value("${claude.api.key}")
+    private String claudeApiKey;
+
+    @Value("${claude.api.model}")
+    private String claudeModel;
+
+    @Value("${claude.batch.url:https://api.anthropic.com/v1/messages/batches}")
+    private String batchUrl;
+
+    // 배치 하나에 넣을 최대 요청 수 (초과분은 배치를 나눠서 제출)
+    @Value("${claude.batch.max-requests-per-batch:1000}")
+    private int maxRequestsPerBatch;
+
+    // 백만 토큰당 정가 (USD)
+    @Value("${claude.batch.pricing.input-per-mtok:3.0}")
+    private double inputPricePerMtok;
+
+    @Value("${claude.batch.pricing.output-per-mtok:15.0}")
+    private double outputPricePerMtok;
+
+    // 배치 할인율 (정가 대비 청구 비율)
+    @Value("${claude.batch.pricing.discount-rate:0.5}")
+    private double discountRate;
+
+    @Autowired
+    @Qualifier("claudeHttpClient")
+    private OkHttpClient claudeHttpClient;
+
+    @Autowired
+    private ClaudeAiService claudeAiService;
+
+    @Autowired
+    private DiseaseAnalysisCache analysisCache;
+
+    @Autowired
+    private ClaudeAnalysisBatchRepository batchRepository;
+
+    @Autowired
+    private BatchAnalysisResultRepository resultRepository;
+
+    @Autowired
+    private PayloadSampler payloadSampler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry;
+
+    public ClaudeBatchService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 일괄 분석 제출 (환자 수가 많으면 여러 배치로 나눠서 제출)
+     */
+    public List<BatchAnalysisReportDto> submit(BatchAnalysisRequestDto request) throws IOException {
+        if (request == null || request.getPatients() == null || request.getPatients().isEmpty()) {
+            throw new IllegalArgumentException("분석할 환자 목록이 비어있습니다.");
+        }
+        if (claudeApiKey == null || claudeApiKey.trim().isEmpty()) {
+            throw new IOException("Claude API 키가 설정되지 않았습니다.");
+        }
+
+        List<BatchAnalysisRequestDto.Patient> patients = request.getPatients();
+        List<BatchAnalysisReportDto> reports = new ArrayList<>();
+
+        for (int from = 0; from < patients.size(); from += maxRequestsPerBatch) {
+            List<BatchAnalysisRequestDto.Patient> chunk =
+                    patients.subList(from, Math.min(from + maxRequestsPerBatch, patients.size()));
+            reports.add(toReport(submitChunk(chunk)));
+        }
+
+        return reports;
+    }
+
+    /**
+     * 배치 진행 상황/처리량/비용 조회 (없으면 null)
+     */
+    public BatchAnalysisReportDto getReport(String batchId) {
+        return batchRepository.findById(batchId).map(this::toReport).orElse(null);
+    }
+
+    /**
+     * 배치의 환자별 결과 조회 (없으면 null)
+     */
+    public List<BatchAnalysisResultDto> getResults(String batchId) {
+        if (!batchRepository.existsById(batchId)) {
+            return null;
+        }
+
+        List<BatchAnalysisResultDto> results = new ArrayList<>();
+        for (BatchAnalysisResult row : resultRepository.findByBatchIdOrderByIdAsc(batchId)) {
+            DiseaseAnalysisDto analysis = null;
+            if (row.getResultJson() != null) {
+                try {
+                    analysis = objectMapper.readValue(row.getResultJson(), DiseaseAnalysisDto.class);
+                } catch (IOException e) {
+                    log.warn("claude.batch.resultParseFailed id={} error={}", row.getId(), e.getMessage());
+                }
+            }
+            results.add(new BatchAnalysisResultDto(row.getPatientId(), row.getStatus(), row.getErrorMessage(), analysis));
+        }
+        return results;
+    }
+
+    /**
+     * 진행 중인 배치 상태 확인, 끝난 배치는 결과 반영
+     */
+    @Scheduled(fixedDelayString = "${claude.batch.poll-interval-millis:60000}")
+    public void pollBatches() {
+        for (ClaudeAnalysisBatch batch : batchRepository.findByResultsCollectedFalse()) {
+            try {
+                poll(batch);
+            } catch (Exception e) {
+                // 다음 주기에 다시 시도
+                log.warn("claude.batch.pollFailed batchId={} error={}", batch.getBatchId(), e.getMessage());
+            }
+        }
+    }
+
+    private ClaudeAnalysisBatch submitChunk(List<BatchAnalysisRequestDto.Patient> chunk) throws IOException {
+        List<Map<String, Object>> requests = new ArrayList<>();
+        List<BatchAnalysisResult> rows = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            BatchAnalysisRequestDto.Patient patient = chunk.get(i);
+            if (patient.getPatientId() == null || patient.getPatientId().isBlank()) {
+                throw new IllegalArgumentException("patientId가 없는 환자가 포함되어 있습니다.");
+            }
+
+            // custom_id는 영문/숫자/-/_ 64자 이내여야 하므로 순번 사용
+            String customId = "patient-" + i;
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("custom_id", customId);
+            entry.put("params", claudeAiService.buildAnalysisRequest(patient.getMedicationData()));
+            requests.add(entry);
+
+            BatchAnalysisResult row = new BatchAnalysisResult();
+            row.setCustomId(customId);
+            row.setPatientId(patient.getPatientId());
+            row.setCacheKey(analysisCache.keyFor(patient.getMedicationData()));
+            row.setStatus(BatchAnalysisResult.STATUS_PENDING);
+            rows.add(row);
+        }
+
+        String requestJson = objectMapper.writeValueAsString(Map.of("requests", requests));
+        Request request = newRequest(batchUrl).post(RequestBody.create(requestJson, JSON)).build();
+
+        JsonNode created;
+        try (Response response = claudeHttpClient.newCall(request).execute()) {
+            String body = response.body() != null ? response.body().string() : "";
+            if (!response.isSuccessful()) {
+                // 오류 본문에 요청 내용(처방 내역)이 포함될 수 있으므로 길이만 남기고 본문은 샘플링
+                log.warn("claude.batch.submitError httpStatus={} bodyChars={}", response.code(), body.length());
+                payloadSampler.debug(log, "claude.batch.errorBody", body);
+                throw new IOException("Claude 배치 제출 실패: " + response.code());
+            }
+            created = objectMapper.readTree(body);
+        }
+
+        String batchId = created.path("id").asText(null);
+        if (batchId == null) {
+            throw new IOException("Claude 배치 응답에 ID가 없습니다.");
+        }
+
+        ClaudeAnalysisBatch batch = new ClaudeAnalysisBatch();
+        batch.setBatchId(batchId);
+        batch.setModel(claudeModel);
+        batch.setPromptVersion(ClaudeAiService.PROMPT_VERSION);
+        batch.setProcessingStatus(created.path("processing_status").asText("in_progress"));
+        batch.setRequestCount(chunk.size());
+        batch.setCreatedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+
+        rows.forEach(row -> row.setBatchId(batchId));
+        resultRepository.saveAll(rows);
+
+        log.info("claude.batch.submitted batchId={} patients={}", batchId, chunk.size());
+        return batch;
+    }
+
+    private void poll(ClaudeAnalysisBatch batch) throws IOException {
+        JsonNode status;
+        try (Response response = claudeHttpClient.newCall(newRequest(batchUrl + "/" + batch.getBatchId()).get().build()).execute()) {
+            String body = response.body() != null ? response.body().string() : "";
+            if (!response.isSuccessful()) {
+                throw new IOException("Claude 배치 조회 실패: " + response.code());
+            }
+            status = objectMapper.readTree(body);
+        }
+
+        batch.setProcessingStatus(status.path("processing_status").asText(batch.getProcessingStatus()));
+        if (!"ended".equals(batch.getProcessingStatus())) {
+            batchRepository.save(batch);
+            return;
+        }
+
+        String resultsUrl = status.path("results_url").asText(null);
+        if (resultsUrl == null) {
+            throw new IOException("종료된 배치에 results_url이 없습니다.");
+        }
+
+        batch.setEndedAt(LocalDateTime.now());
+        collectResults(batch, resultsUrl);
+    }
+
+    // 결과 파일(JSONL)을 한 줄씩 읽어 환자별 결과로 반영
+    private void collectResults(ClaudeAnalysisBatch batch, String resultsUrl) throws IOException {
+        Map<String, BatchAnalysisResult> rows = new HashMap<>();
+        for (BatchAnalysisResult row : resultRepository.findByBatchIdOrderByIdAsc(batch.getBatchId())) {
+            rows.put(row.getCustomId(), row);
+        }
+
+        int succeeded = 0, errored = 0, canceled = 0, expired = 0;
+        long inputTokens = 0, outputTokens = 0;
+
+        try (Response response = claudeHttpClient.newCall(newRequest(resultsUrl).get().build()).execute()) {
+            if (!response.isSuccessful() || response.body() == null) {
+                throw new IOException("Claude 배치 결과 조회 실패: " + response.code());
+            }
+
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body().byteStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JsonNode entry = objectMapper.readTree(line);
+                BatchAnalysisResult row = rows.get(entry.path("custom_id").asText());
+                if (row == null) {
+                    continue;
+                }
+
+                JsonNode result = entry.path("result");
+                String type = result.path("type").asText();
+                row.setStatus(type.toUpperCase());
+                row.setCompletedAt(LocalDateTime.now());
+
+                switch (type) {
+                    case "succeeded" -> {
+                        JsonNode message = result.path("message");
+                        DiseaseAnalysisDto analysis = claudeAiService.parseAnalysisMessage(message.toString());
+                        row.setResultJson(objectMapper.writeValueAsString(analysis));
+                        row.setInputTokens(message.path("usage").path("input_tokens").asInt());
+                        row.setOutputTokens(message.path("usage").path("output_tokens").asInt());
+                        inputTokens += row.getInputTokens();
+                        outputTokens += row.getOutputTokens();
+
+                        // 같은 처방 목록의 실시간 분석은 캐시에서 바로 응답
+                        analysisCache.put(row.getCacheKey(), analysis);
+                        succeeded++;
+                    }
+                    case "errored" -> {
+                        JsonNode error = result.path("error");
+                        row.setErrorMessage(truncate(error.path("error").path("message").asText(error.toString())));
+                        errored++;
+                    }
+                    case "canceled" -> canceled++;
+                    case "expired" -> expired++;
+                    default -> row.setErrorMessage("알 수 없는 결과 유형: " + type);
+                }
+            }
+        }
+
+        resultRepository.saveAll(rows.values());
+
+        batch.setSucceededCount(succeeded);
+        batch.setErroredCount(errored);
+        batch.setCanceledCount(canceled);
+        batch.setExpiredCount(expired);
+        batch.setInputTokens(inputTokens);
+        batch.setOutputTokens(outputTokens);
+        batch.setEstimatedCostUsd(estimateCost(inputTokens, outputTokens));
+        batch.setResultsCollected(true);
+        batch.setCollectedAt(LocalDateTime.now());
+        batchRepository.save(batch);
+
+        count("succeeded", succeeded);
+        count("errored", errored);
+        count("canceled", canceled);
+        count("expired", expired);
+
+        BatchAnalysisReportDto report = toReport(batch);
+        log.info("claude.batch.collected batchId={} succeeded={} requests={} patientsPerHour={} costPerPatientUsd={}",
+                batch.getBatchId(), succeeded, batch.getRequestCount(), report.getPatientsPerHour(),
+                report.getCostPerPatientUsd());
+    }
+
+    private BatchAnalysisReportDto toReport(ClaudeAnalysisBatch batch) {
+        Long elapsedSeconds = null;
+        Double patientsPerHour = null;
+        if (batch.getEndedAt() != null) {
+            elapsedSeconds = Math.max(1, Duration.between(batch.getCreatedAt(), batch.getEndedAt()).getSeconds());
+            patientsPerHour = batch.getRequestCount() * 3600.0 / elapsedSeconds;
+        }
+
+        Double costPerPatient = batch.getSucceededCount() > 0
+                ? batch.getEstimatedCostUsd() / batch.getSucceededCount() : null;
+
+        return new BatchAnalysisReportDto(batch.getBatchId(), batch.getProcessingStatus(), batch.isResultsCollected(),
+                batch.getRequestCount(), batch.getSucceededCount(), batch.getErroredCount(),
+                batch.getCanceledCount(), batch.getExpiredCount(),
+                batch.getInputTokens(), batch.getOutputTokens(), batch.getEstimatedCostUsd(), costPerPatient,
+                batch.getCreatedAt(), batch.getEndedAt(), elapsedSeconds, patientsPerHour);
+    }
+
+    private double estimateCost(long inputTokens, long outputTokens) {
+        double listPrice = inputTokens / 1_000_000.0 * inputPricePerMtok
+                + outputTokens / 1_000_000.0 * outputPricePerMtok;
+        return listPrice * discountRate;
+    }
+
+    private Request.Builder newRequest(String url) {
+        return new Request.Builder()
+                .url(url)
+                .addHeader("x-api-key", claudeApiKey)
+                .addHeader("anthropic-version", "2023-06-01");
+    }
+
+    private void count(String result, int amount) {
+        if (amount > 0) {
+            Counter.builder("claude.batch.requests").tag("result", result)
+                    .register(meterRegistry).increment(amount);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > 1000 ? value.substring(0, 1000) : value;
+    }
+}
@@ -0,0 +1,318 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.domain.DiseaseAnalysisCacheEntry;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import com.hackathon.repository.DiseaseAnalysisCacheRepository;
+import com.hackathon.util.HashUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 기저질환 분석 결과 캐시
+ * 1차: 메모리 (LRU + TTL), 2차: MySQL (재시작 후에도 유지)
+ * 키에 모델명, 프롬프트 버전, 입력 토큰 예산이 포함되므로 claude.api.model이나 프롬프트 템플릿, 예산이 바뀌면 기존 항목은 자동으로 무효화된다.
+ */
+@Component
+public class DiseaseAnalysisCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DiseaseAnalysisCache.class);
+
+    @Value("${claude.api.model}")
+    private String claudeModel;
+
+    // 예산에 따라 프롬프트에 들어가는 약물 요약이 달라지므로 키에 포함
+    @Value("${claude.prompt.input-token-budget:3000}")
+    private int inputTokenBudget;
+
+    @Value("${claude.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${claude.cache.memory.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${claude.cache.memory.ttl-minutes:60}")
+    private long memoryTtlMinutes;
+
+    @Value("${claude.cache.database.enabled:true}")
+    private boolean databaseEnabled;
+
+    @Value("${claude.cache.database.ttl-days:30}")
+    private long databaseTtlDays;
+
+    @Autowired
+    private DiseaseAnalysisCacheRepository cacheRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // 접근 순서 기준 LinkedHashMap (가장 오래 안 쓴 항목이 맨 앞)
+    private final LinkedHashMap<String, MemoryEntry> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter memoryHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public DiseaseAnalysisCache(MeterRegistry meterRegistry) {
+        this.memoryHits = Counter.builder("claude.analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.databaseHits = Counter.builder("claude.analysis.cache.requests")
+                .tag("result", "hit").tag("tier", "database").register(meterRegistry);
+        this.misses = Counter.builder("claude.analysis.cache.requests")
+                .tag("result", "miss").tag("tier", "none").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("claude.analysis.cache.evictions")
+                .tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("claude.analysis.cache.evictions")
+                .tag("cause", "expired").register(meterRegistry);
+        Gauge.builder("claude.analysis.cache.size", this, DiseaseAnalysisCache::memorySize)
+                .tag("tier", "memory").register(meterRegistry);
+    }
+
+    /**
+     * 캐시 키 생성: 정규화된 처방 목록(진료일자|병원|약물명|투약일수, 정렬) + 모델명 + 프롬프트 버전 + 입력 토큰 예산
+     * 같은 줄이 여러 번 나오면(같은 날 같은 약 재처방) 투약 횟수가 달라지므로 중복을 제거하지 않는다.
+     */
+    public String keyFor(TilkoResultDto<MedicationRecordDto> medicationData) {
+        List<String> normalized = new ArrayList<>();
+
+        if (medicationData != null && medicationData.getResultList() != null) {
+            for (MedicationRecordDto record : medicationData.getResultList()) {
+                String visit = trim(record.getJinRyoGaesiIl()) + "|" + trim(record.getByungEuiwonYakGukMyung());
+                if (record.getDetailList() == null || record.getDetailList().isEmpty()) {
+                    normalized.add(visit);
+                    continue;
+                }
+                for (MedicationRecordDto.Detail detail : record.getDetailList()) {
+                    normalized.add(visit + "|" + trim(detail.getChoBangYakPumMyung()) + "|" + trim(detail.getTuyakIlSoo()));
+                }
+            }
+        }
+
+        normalized.sort(Comparator.naturalOrder());
+
+        StringBuilder source = new StringBuilder()
+                .append(claudeModel).append('\n')
+                .append(ClaudeAiService.PROMPT_VERSION).append('\n')
+                .append(inputTokenBudget).append('\n');
+        normalized.forEach(line -> source.append(line).append('\n'));
+
+        return HashUtils.sha256Hex(source.toString());
+    }
+
+    /**
+     * 캐시 조회 (메모리 → DB 순서, 없으면 null)
+     */
+    public DiseaseAnalysisDto get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        String json = getFromMemory(key);
+        if (json != null) {
+            memoryHits.increment();
+            return deserialize(json);
+        }
+
+        json = getFromDatabase(key);
+        if (json != null) {
+            databaseHits.increment();
+            putInMemory(key, json);
+            return deserialize(json);
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 분석 결과 저장 (성공한 결과만)
+     */
+    public void put(String key, DiseaseAnalysisDto result) {
+        if (!enabled || result == null || !"SUCCESS".equals(result.getStatus())) {
+            return;
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(result);
+        } catch (Exception e) {
+            log.warn("analysis.cache.serializeFailed error={}", e.getMessage());
+            return;
+        }
+
+        putInMemory(key, json);
+        putInDatabase(key, json);
+    }
+
+    /**
+     * 시작 시 모델/프롬프트가 바뀌어 더 이상 맞지 않는 DB 항목 정리
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeOutdated() {
+        if (!enabled || !databaseEnabled) {
+            return;
+        }
+        try {
+            int deleted = cacheRepository.deleteOutdated(claudeModel, ClaudeAiService.PROMPT_VERSION);
+            log.info("analysis.cache.purgeOutdated deleted={}", deleted);
+        } catch (Exception e) {
+            log.warn("analysis.cache.purgeOutdatedFailed error={}", e.getMessage());
+        }
+    }
+
+    /**
+     * 만료 항목 주기적 정리
+     */
+    @Scheduled(fixedDelayString = "${claude.cache.cleanup-interval-millis:600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Iterator<MemoryEntry> iterator = memory.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAt() <= now) {
+                    iterator.remove();
+                    expiredEvictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (databaseEnabled) {
+            try {
+                cacheRepository.deleteExpired(LocalDateTime.now());
+            } catch (Exception e) {
+                log.warn("analysis.cache.evictExpiredFailed error={}", e.getMessage());
+            }
+        }
+    }
+
+    private String getFromMemory(String key) {
+        lock.lock();
+        try {
+            MemoryEntry entry = memory.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() <= System.currentTimeMillis()) {
+                memory.remove(key);
+                expiredEvictions.increment();
+                return null;
+            }
+            return entry.json();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void putInMemory(String key, String json) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(memoryTtlMinutes);
+
+        lock.lock();
+        try {
+            memory.put(key, new MemoryEntry(json, expiresAt));
+
+            // 최대 개수를 넘으면 가장 오래 안 쓴 항목부터 제거
+            Iterator<Map.Entry<String, MemoryEntry>> iterator = memory.entrySet().iterator();
+            while (memory.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                sizeEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String getFromDatabase(String key) {
+        if (!databaseEnabled) {
+            return null;
+        }
+        try {
+            Optional<DiseaseAnalysisCacheEntry> entry = cacheRepository.findById(key);
+            if (entry.isPresent() && entry.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+                return entry.get().getResultJson();
+            }
+        } catch (Exception e) {
+            // DB 장애 시에도 분석은 계속 진행
+            log.warn("analysis.cache.readFailed error={}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void putInDatabase(String key, String json) {
+        if (!databaseEnabled) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+
+            DiseaseAnalysisCacheEntry entry = new DiseaseAnalysisCacheEntry();
+            entry.setCacheKey(key);
+            entry.setModel(claudeModel);
+            entry.setPromptVersion(ClaudeAiService.PROMPT_VERSION);
+            entry.setResultJson(json);
+            entry.setCreatedAt(now);
+            entry.setExpiresAt(now.plusDays(databaseTtlDays));
+
+            cacheRepository.save(entry);
+        } catch (Exception e) {
+            log.warn("analysis.cache.writeFailed error={}", e.getMessage());
+        }
+    }
+
+    private DiseaseAnalysisDto deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, DiseaseAnalysisDto.class);
+        } catch (Exception e) {
+            log.warn("analysis.cache.deserializeFailed error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    private int memorySize() {
+        lock.lock();
+        try {
+            return memory.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String trim(String value) {
+        return value != null ? value.trim() : "";
+    }
+
+    private record MemoryEntry(String json, long expiresAt) {
+    }
+}
@@ -0,0 +1,335 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.DiseaseAnalysisRequestDto;
+import com.hackathon.dto.HealthJobDto;
+import com.hackathon.dto.IntegratedHealthDataDto;
+import com.hackathon.enums.JobPhase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 통합 건강 정보 조회/기저질환 분석 비동기 작업 관리
+ * 요청은 작업 ID를 바로 돌려받고, 진행 상황은 SSE로 받거나 폴링으로 조회한다.
+ * 완료된 결과는 보관 기간 동안 다시 조회할 수 있다.
+ */
+@Service
+public class HealthJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthJobService.class);
+
+    public static final String TYPE_HEALTH_DATA = "HEALTH_DATA";
+    public static final String TYPE_ANALYZE_DISEASES = "ANALYZE_DISEASES";
+
+    @Autowired
+    private IntegratedHealthService integratedHealthService;
+
+    @Autowired
+    private PatientKeyGenerator patientKeys;
+
+    @Autowired
+    @Qualifier("healthJobExecutor")
+    private Executor healthJobExecutor;
+
+    // 완료된 작업 결과 보관 기간
+    @Value("${jobs.result-retention-minutes:30}")
+    private long resultRetentionMinutes;
+
+    @Value("${jobs.sse-timeout-seconds:180}")
+    private long sseTimeoutSeconds;
+
+    private final ConcurrentMap<String, HealthJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 통합 건강 정보 조회 작업 등록 (analyze=true면 조회 후 기저질환 분석까지 수행)
+     */
+    public HealthJobDto submitHealthDataJob(AuthResponseDto authData, boolean analyze) {
+        HealthJob job = register(TYPE_HEALTH_DATA);
+
+        return start(job, () -> {
+            IntegratedHealthDataDto healthData = integratedHealthService.getIntegratedHealthData(authData, job::advance);
+            job.setHealthData(healthData);
+
+            if (analyze && healthData.getMedicationData() != null) {
+                job.setDiseaseAnalysis(integratedHealthService.analyzeDiseases(healthData.getMedicationData(),
+                        patientKeys.keyFor(authData)));
+                job.advance(JobPhase.ANALYSIS_DONE);
+            }
+
+            if ("ERROR".equals(healthData.getStatus())) {
+                job.fail(healthData.getMessage());
+            } else {
+                job.complete(healthData.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 기저질환 분석 작업 등록
+     *
+     * @param patientKey 확인된 세션의 환자 키 (없으면 null - 결과 저장/장애 시 대체 안 함)
+     */
+    public HealthJobDto submitAnalysisJob(DiseaseAnalysisRequestDto request, String patientKey) {
+        HealthJob job = register(TYPE_ANALYZE_DISEASES);
+
+        return start(job, () -> {
+            DiseaseAnalysisDto analysis = integratedHealthService.analyzeDiseases(request.getMedicationData(),
+                    patientKey);
+            job.setDiseaseAnalysis(analysis);
+            job.advance(JobPhase.ANALYSIS_DONE);
+
+            if ("ERROR".equals(analysis.getStatus())) {
+                job.fail(analysis.getMessage());
+            } else {
+                job.complete(analysis.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 작업 상태 조회 (없으면 null)
+     */
+    public HealthJobDto getJob(String jobId) {
+        HealthJob job = jobs.get(jobId);
+        return job != null ? job.toDto() : null;
+    }
+
+    /**
+     * 작업 진행 상황 SSE 구독 (없으면 null)
+     * 이미 지난 단계는 구독 즉시 다시 보내고, 완료된 작업이면 결과를 보낸 뒤 종료한다.
+     */
+    public SseEmitter subscribe(String jobId) {
+        HealthJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(sseTimeoutSeconds));
+        emitter.onCompletion(() -> job.removeEmitter(emitter));
+        emitter.onTimeout(() -> job.removeEmitter(emitter));
+        emitter.onError(e -> job.removeEmitter(emitter));
+
+        job.addEmitter(emitter);
+        return emitter;
+    }
+
+    /**
+     * 보관 기간이 지난 완료 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${jobs.cleanup-interval-millis:60000}")
+    public void evictExpiredJobs() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(resultRetentionMinutes);
+        jobs.values().removeIf(job -> job.isExpired(cutoff));
+    }
+
+    private HealthJob register(String type) {
+        HealthJob job = new HealthJob(UUID.randomUUID().toString(), type);
+        jobs.put(job.jobId, job);
+        return job;
+    }
+
+    private HealthJobDto start(HealthJob job, JobTask task) {
+        try {
+            healthJobExecutor.execute(() -> {
+                try {
+                    task.run();
+                } catch (Exception e) {
+                    log.error("job.failed jobId={} error={}", job.jobId, e.getMessage(), e);
+                    job.fail("작업 처리 중 오류가 발생했습니다: " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            job.fail("처리 대기 중인 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return job.toDto();
+    }
+
+    @FunctionalInterface
+    private interface JobTask {
+        void run() throws Exception;
+    }
+
+    /**
+     * 작업 한 건의 상태와 구독자 목록
+     */
+    private static final class HealthJob {
+        private final String jobId;
+        private final String type;
+        private final long createdAt = System.currentTimeMillis();
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<JobPhase> completedPhases = new ArrayList<>();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private String status = "RUNNING";
+        private String message = "작업이 접수되었습니다.";
+        private JobPhase currentPhase = JobPhase.SUBMITTED;
+        private Long completedAt;
+        private IntegratedHealthDataDto healthData;
+        private DiseaseAnalysisDto diseaseAnalysis;
+
+        private HealthJob(String jobId, String type) {
+            this.jobId = jobId;
+            this.type = type;
+            this.completedPhases.add(JobPhase.SUBMITTED);
+        }
+
+        void advance(JobPhase phase) {
+            lock.lock();
+            try {
+                if (currentPhase.isTerminal()) {
+                    return;
+                }
+                currentPhase = phase;
+                completedPhases.add(phase);
+                broadcast(phase.getEventName(), phaseEvent(phase));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void complete(String message) {
+            finish("COMPLETED", JobPhase.COMPLETED, message);
+        }
+
+        void fail(String message) {
+            finish("FAILED", JobPhase.FAILED, message);
+        }
+
+        private void finish(String status, JobPhase phase, String message) {
+            lock.lock();
+            try {
+                if (currentPhase.isTerminal()) {
+                    return;
+                }
+                this.status = status;
+                this.message = message;
+                this.currentPhase = phase;
+                this.completedPhases.add(phase);
+                this.completedAt = System.currentTimeMillis();
+
+                broadcast(phase.getEventName(), toDtoUnlocked());
+                List<SseEmitter> subscribers = new ArrayList<>(emitters);
+                emitters.clear();
+                subscribers.forEach(SseEmitter::complete);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void setHealthData(IntegratedHealthDataDto healthData) {
+            lock.lock();
+            try {
+                this.healthData = healthData;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void setDiseaseAnalysis(DiseaseAnalysisDto diseaseAnalysis) {
+            lock.lock();
+            try {
+                this.diseaseAnalysis = diseaseAnalysis;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void addEmitter(SseEmitter emitter) {
+            lock.lock();
+            try {
+                // 지난 단계 재전송
+                for (JobPhase phase : completedPhases) {
+                    if (!phase.isTerminal()) {
+                        send(emitter, phase.getEventName(), phaseEvent(phase));
+                    }
+                }
+
+                if (currentPhase.isTerminal()) {
+                    send(emitter, currentPhase.getEventName(), toDtoUnlocked());
+                    emitter.complete();
+                } else {
+                    emitters.add(emitter);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeEmitter(SseEmitter emitter) {
+            lock.lock();
+            try {
+                emitters.remove(emitter);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean isExpired(long cutoff) {
+            lock.lock();
+            try {
+                return completedAt != null && completedAt < cutoff;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        HealthJobDto toDto() {
+            lock.lock();
+            try {
+                return toDtoUnlocked();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private HealthJobDto toDtoUnlocked() {
+            return new HealthJobDto(jobId, type, status, message, currentPhase,
+                    new ArrayList<>(completedPhases), createdAt, completedAt, healthData, diseaseAnalysis);
+        }
+
+        private Map<String, Object> phaseEvent(JobPhase phase) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("jobId", jobId);
+            event.put("phase", phase);
+            event.put("description", phase.getDescription());
+            return event;
+        }
+
+        private void broadcast(String eventName, Object data) {
+            emitters.removeIf(emitter -> !send(emitter, eventName, data));
+        }
+
+        // 전송 실패한 구독자는 false 반환 (목록에서 제거)
+        private boolean send(SseEmitter emitter, String eventName, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // 연결이 끊긴 구독자
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.hackathon.service;
+
+import com.hackathon.enums.JobPhase;
+
+/**
+ * 통합 건강 정보 조회/분석 진행 단계 알림
+ */
+@FunctionalInterface
+public interface HealthProgressListener {
+
+    HealthProgressListener NONE = phase -> { };
+
+    void onPhase(JobPhase phase);
+}
@@ -0,0 +1,68 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.HealthCheckupHistory;
+import com.hackathon.domain.MedicationHistory;
+import com.hackathon.mapper.HealthRecordMapper;
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * 진료/투약, 건강검진 내역 JDBC 배치 삽입
+ * 환자 한 명의 처방 내역이 수천 줄이 될 수 있어 행마다 INSERT 하지 않고 MyBatis BATCH 실행기로 묶어 보낸다.
+ * (IDENTITY 키 엔티티는 Hibernate가 JDBC 배치를 쓰지 않으므로 JPA saveAll 대신 사용)
+ * 호출 측 트랜잭션(JPA)과 같은 커넥션에서 실행되며, batch-size 건마다 한 번씩 전송한다.
+ */
+@Component
+public class HealthRecordBatchWriter {
+
+    @Value("${health-records.batch-size:500}")
+    private int batchSize;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    private SqlSessionTemplate batchSession;
+
+    @PostConstruct
+    public void init() {
+        batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
+    /**
+     * @return 전송한 행 수
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertMedications(List<MedicationHistory> rows) {
+        return insertAll(rows, HealthRecordMapper::insertMedication);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int insertHealthCheckups(List<HealthCheckupHistory> rows) {
+        return insertAll(rows, HealthRecordMapper::insertHealthCheckup);
+    }
+
+    private <T> int insertAll(List<T> rows, BiConsumer<HealthRecordMapper, T> insert) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        HealthRecordMapper mapper = batchSession.getMapper(HealthRecordMapper.class);
+        for (int i = 0; i < rows.size(); i++) {
+            insert.accept(mapper, rows.get(i));
+            if ((i + 1) % batchSize == 0) {
+                batchSession.flushStatements();
+            }
+        }
+        batchSession.flushStatements();
+        return rows.size();
+    }
+}
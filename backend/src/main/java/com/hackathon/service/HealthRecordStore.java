@@ -0,0 +1,337 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.domain.HealthCheckupHistory;
+import com.hackathon.domain.MedicationHistory;
+import com.hackathon.domain.PatientSyncState;
+import com.hackathon.dto.HealthCheckupRecordDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import com.hackathon.repository.HealthCheckupHistoryRepository;
+import com.hackathon.repository.MedicationHistoryRepository;
+import com.hackathon.repository.PatientSyncStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * 환자별 진료/투약, 건강검진 내역 저장소
+ * Tilko에서 받은 내역을 자연 키로 중복 제거해 저장하고, 다음 조회부터는
+ * 마지막으로 저장된 진료일/검진일 이후 기록만 병합한다.
+ * 새 행은 HealthRecordBatchWriter로 JDBC 배치 삽입한다.
+ * 매핑하지 않은 Tilko 필드(extra)도 JSON으로 함께 저장해 재구성한 응답이 Tilko 원본과 같은 모양이 되게 한다.
+ */
+@Service
+public class HealthRecordStore {
+
+    private static final Logger log = LoggerFactory.getLogger(HealthRecordStore.class);
+
+    private static final String NO_DRUG = "";
+
+    @Value("${health-records.enabled:true}")
+    private boolean enabled;
+
+    @Autowired
+    private PatientSyncStateRepository syncStateRepository;
+
+    @Autowired
+    private MedicationHistoryRepository medicationRepository;
+
+    @Autowired
+    private HealthCheckupHistoryRepository checkupRepository;
+
+    @Autowired
+    private HealthRecordBatchWriter batchWriter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 기간과 관계없이 저장된 진료/투약 내역 (업스트림 장애 시 대체 응답용, 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public StaleDataStore.Snapshot<TilkoResultDto<MedicationRecordDto>> medicationSnapshot(String patientKey) {
+        PatientSyncState state = findState(patientKey);
+        if (state == null || state.getMedicationSyncedAt() == null) {
+            return null;
+        }
+        return new StaleDataStore.Snapshot<>(loadMedication(patientKey), toMillis(state.getMedicationSyncedAt()));
+    }
+
+    /**
+     * 기간과 관계없이 저장된 건강검진 내역 (업스트림 장애 시 대체 응답용, 없으면 null)
+     */
+    @Transactional(readOnly = true)
+    public StaleDataStore.Snapshot<TilkoResultDto<HealthCheckupRecordDto>> healthCheckupSnapshot(String patientKey) {
+        PatientSyncState state = findState(patientKey);
+        if (state == null || state.getCheckupSyncedAt() == null) {
+            return null;
+        }
+        return new StaleDataStore.Snapshot<>(loadHealthCheckup(patientKey), toMillis(state.getCheckupSyncedAt()));
+    }
+
+    /**
+     * Tilko에서 받은 진료/투약 내역 병합 (마지막 저장 진료일 이후 기록만, 자연 키 중복 제외)
+     *
+     * @return 새로 저장한 행 수
+     */
+    @Transactional
+    public int mergeMedication(String patientKey, TilkoResultDto<MedicationRecordDto> fetched) {
+        if (!enabled || patientKey == null || fetched == null || fetched.getResultList() == null) {
+            return 0;
+        }
+
+        PatientSyncState state = syncStateRepository.findById(patientKey).orElseGet(() -> newState(patientKey));
+        String latest = state.getLatestVisitDate();
+
+        // 마지막 저장 진료일 당일 기록은 일부만 저장되었을 수 있으므로 기존 키와 비교
+        Set<String> existingKeys = new HashSet<>();
+        if (latest != null) {
+            for (MedicationHistory row : medicationRepository.findByPatientKeyAndVisitDateGreaterThanEqual(patientKey, latest)) {
+                existingKeys.add(row.getVisitDate() + "|" + row.getInstitution() + "|" + row.getTreatmentType()
+                        + "|" + row.getDrugName());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<MedicationHistory> newRows = new ArrayList<>();
+        String newest = latest;
+
+        for (MedicationRecordDto record : fetched.getResultList()) {
+            String visitDate = dateKey(record.getJinRyoGaesiIl());
+            if (latest != null && visitDate.compareTo(latest) < 0) {
+                continue;
+            }
+            String institution = limit(trim(record.getByungEuiwonYakGukMyung()), 200);
+            // 같은 날 같은 기관이라도 진료형태(처방조제/외래 등)가 다르면 별개 진료
+            String treatmentType = limit(trim(record.getJinRyoHyungTae()), 50);
+            String visitExtraJson = extraJson(record.getExtra());
+
+            List<MedicationRecordDto.Detail> details = record.getDetailList() != null && !record.getDetailList().isEmpty()
+                    ? record.getDetailList()
+                    : List.of(new MedicationRecordDto.Detail(NO_DRUG, null, null));
+
+            for (MedicationRecordDto.Detail detail : details) {
+                String drugName = limit(trim(detail.getChoBangYakPumMyung()), 300);
+                if (!existingKeys.add(visitDate + "|" + institution + "|" + treatmentType + "|" + drugName)) {
+                    continue;
+                }
+
+                MedicationHistory row = new MedicationHistory();
+                row.setPatientKey(patientKey);
+                row.setVisitDate(visitDate);
+                row.setJinRyoGaesiIl(limit(record.getJinRyoGaesiIl(), 20));
+                row.setInstitution(institution);
+                row.setTreatmentType(treatmentType);
+                row.setDrugName(drugName);
+                row.setDrugEfficacy(limit(detail.getChoBangYakPumHyoneung(), 300));
+                row.setDosageDays(limit(detail.getTuyakIlSoo(), 20));
+                row.setVisitExtraJson(visitExtraJson);
+                row.setDetailExtraJson(extraJson(detail.getExtra()));
+                row.setCreatedAt(now);
+                newRows.add(row);
+            }
+
+            if (newest == null || visitDate.compareTo(newest) > 0) {
+                newest = visitDate;
+            }
+        }
+
+        batchWriter.insertMedications(newRows);
+
+        state.setLatestVisitDate(newest);
+        state.setMedicationSyncedAt(now);
+        syncStateRepository.save(state);
+
+        log.info("health.store.merge kind=medication inserted={} latest={} newest={}", newRows.size(), latest, newest);
+        return newRows.size();
+    }
+
+    /**
+     * Tilko에서 받은 건강검진 내역 병합 (마지막 저장 검진일 이후 기록만, 자연 키 중복 제외)
+     *
+     * @return 새로 저장한 행 수
+     */
+    @Transactional
+    public int mergeHealthCheckup(String patientKey, TilkoResultDto<HealthCheckupRecordDto> fetched) {
+        if (!enabled || patientKey == null || fetched == null || fetched.getResultList() == null) {
+            return 0;
+        }
+
+        PatientSyncState state = syncStateRepository.findById(patientKey).orElseGet(() -> newState(patientKey));
+        String latest = state.getLatestCheckupDate();
+
+        Set<String> existingKeys = new HashSet<>();
+        if (latest != null) {
+            for (HealthCheckupHistory row : checkupRepository.findByPatientKeyAndCheckupDateGreaterThanEqual(patientKey, latest)) {
+                existingKeys.add(row.getCheckupDate() + "|" + row.getLocation() + "|" + row.getCode());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<HealthCheckupHistory> newRows = new ArrayList<>();
+        String newest = latest;
+
+        for (HealthCheckupRecordDto record : fetched.getResultList()) {
+            String checkupDate = checkupDateKey(record.getYear(), record.getCheckUpDate());
+            if (latest != null && checkupDate.compareTo(latest) < 0) {
+                continue;
+            }
+            String location = limit(trim(record.getLocation()), 200);
+            String code = limit(trim(record.getCode()), 50);
+            if (!existingKeys.add(checkupDate + "|" + location + "|" + code)) {
+                continue;
+            }
+
+            HealthCheckupHistory row = new HealthCheckupHistory();
+            row.setPatientKey(patientKey);
+            row.setCheckupDate(checkupDate);
+            row.setYear(limit(record.getYear(), 10));
+            row.setCheckUpDate(limit(record.getCheckUpDate(), 10));
+            row.setCode(code);
+            row.setLocation(location);
+            row.setDescription(limit(record.getDescription(), 500));
+            row.setInspectionsJson(record.getInspections() != null ? record.getInspections().toString() : null);
+            row.setExtraJson(extraJson(record.getExtra()));
+            row.setCreatedAt(now);
+            newRows.add(row);
+
+            if (newest == null || checkupDate.compareTo(newest) > 0) {
+                newest = checkupDate;
+            }
+        }
+
+        batchWriter.insertHealthCheckups(newRows);
+
+        state.setLatestCheckupDate(newest);
+        state.setCheckupSyncedAt(now);
+        syncStateRepository.save(state);
+
+        log.info("health.store.merge kind=checkup inserted={} latest={} newest={}", newRows.size(), latest, newest);
+        return newRows.size();
+    }
+
+    // 저장된 행을 Tilko 응답 형태로 재구성 (같은 진료는 하나의 ResultList 항목으로)
+    private TilkoResultDto<MedicationRecordDto> loadMedication(String patientKey) {
+        Map<String, MedicationRecordDto> visits = new LinkedHashMap<>();
+        for (MedicationHistory row : medicationRepository.findByPatientKeyOrderByVisitDateDescIdAsc(patientKey)) {
+            MedicationRecordDto visit = visits.computeIfAbsent(
+                    row.getVisitDate() + "|" + row.getInstitution() + "|" + row.getTreatmentType(),
+                    k -> {
+                        MedicationRecordDto record = new MedicationRecordDto(row.getJinRyoGaesiIl(),
+                                row.getInstitution(), row.getTreatmentType(), new ArrayList<>());
+                        restoreExtra(row.getId(), row.getVisitExtraJson(), record::putExtra);
+                        return record;
+                    });
+            if (!NO_DRUG.equals(row.getDrugName())) {
+                MedicationRecordDto.Detail detail = new MedicationRecordDto.Detail(
+                        row.getDrugName(), row.getDrugEfficacy(), row.getDosageDays());
+                restoreExtra(row.getId(), row.getDetailExtraJson(), detail::putExtra);
+                visit.getDetailList().add(detail);
+            }
+        }
+        return storedResult(new ArrayList<>(visits.values()));
+    }
+
+    private TilkoResultDto<HealthCheckupRecordDto> loadHealthCheckup(String patientKey) {
+        List<HealthCheckupRecordDto> records = new ArrayList<>();
+        for (HealthCheckupHistory row : checkupRepository.findByPatientKeyOrderByCheckupDateDescIdAsc(patientKey)) {
+            HealthCheckupRecordDto record = new HealthCheckupRecordDto();
+            record.setYear(row.getYear());
+            record.setCheckUpDate(row.getCheckUpDate());
+            record.setCode(row.getCode());
+            record.setLocation(row.getLocation());
+            record.setDescription(row.getDescription());
+            if (row.getInspectionsJson() != null) {
+                try {
+                    record.setInspections(objectMapper.readTree(row.getInspectionsJson()));
+                } catch (JsonProcessingException e) {
+                    log.warn("health.store.inspectionsParseFailed id={} error={}", row.getId(), e.getMessage());
+                }
+            }
+            restoreExtra(row.getId(), row.getExtraJson(), record::putExtra);
+            records.add(record);
+        }
+        return storedResult(records);
+    }
+
+    // 매핑하지 않은 필드가 없으면 null (대부분의 행은 컬럼을 비워 둔다)
+    private String extraJson(Map<String, JsonNode> extra) {
+        if (extra == null || extra.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(extra);
+        } catch (JsonProcessingException e) {
+            log.warn("health.store.extraWriteFailed fields={} error={}", extra.keySet(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void restoreExtra(Long rowId, String json, BiConsumer<String, JsonNode> putExtra) {
+        if (json == null) {
+            return;
+        }
+        try {
+            objectMapper.readTree(json).fields().forEachRemaining(field -> putExtra.accept(field.getKey(), field.getValue()));
+        } catch (JsonProcessingException e) {
+            log.warn("health.store.extraParseFailed id={} error={}", rowId, e.getMessage());
+        }
+    }
+
+    private <T> TilkoResultDto<T> storedResult(List<T> records) {
+        return new TilkoResultDto<>("OK", "저장된 조회 내역", null, records);
+    }
+
+    private PatientSyncState findState(String patientKey) {
+        if (!enabled || patientKey == null) {
+            return null;
+        }
+        return syncStateRepository.findById(patientKey).orElse(null);
+    }
+
+    private PatientSyncState newState(String patientKey) {
+        PatientSyncState state = new PatientSyncState();
+        state.setPatientKey(patientKey);
+        return state;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // 진료개시일 형식(yyyyMMdd, yyyy-MM-dd 등)과 관계없이 비교하기 위해 숫자 8자리로
+    private static String dateKey(String date) {
+        String digits = date == null ? "" : date.replaceAll("[^0-9]", "");
+        return digits.length() >= 8 ? digits.substring(0, 8) : String.format("%-8s", digits).replace(' ', '0');
+    }
+
+    // Year("2023년") + CheckUpDate("05/17") → 20230517
+    private static String checkupDateKey(String year, String checkUpDate) {
+        String yearDigits = year == null ? "" : year.replaceAll("[^0-9]", "");
+        String dateDigits = checkUpDate == null ? "" : checkUpDate.replaceAll("[^0-9]", "");
+        return dateKey(String.format("%4s", yearDigits).replace(' ', '0') + String.format("%4s", dateDigits).replace(' ', '0'));
+    }
+
+    private static String trim(String value) {
+        return value == null ? "" : value.trim();
+    }
+
+    private static String limit(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 메모리 세션 저장소 (접근 순서 LRU + 항목별 만료 시각)
+ * max-entries를 넘으면 가장 오래 쓰이지 않은 세션부터 제거한다.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAuthSessionStore implements AuthSessionStore {
+
+    @Value("${auth.session.max-entries:10000}")
+    private int maxEntries;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public InMemoryAuthSessionStore(MeterRegistry meterRegistry) {
+        Gauge.builder("auth.session.size", this, s -> s.size())
+                .tag("store", "memory")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("auth.session.evictions")
+                .tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("auth.session.evictions")
+                .tag("cause", "expired").register(meterRegistry);
+    }
+
+    @Override
+    public void put(String sessionHash, AuthResponseDto auth, Duration ttl) {
+        lock.lock();
+        try {
+            entries.put(sessionHash, new Entry(auth, System.currentTimeMillis() + ttl.toMillis(), false));
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (entries.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                sizeEvictions.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public AuthResponseDto get(String sessionHash) {
+        lock.lock();
+        try {
+            Entry entry = liveEntry(sessionHash);
+            return entry == null ? null : entry.auth();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(String sessionHash) {
+        lock.lock();
+        try {
+            entries.remove(sessionHash);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void markVerified(String sessionHash) {
+        lock.lock();
+        try {
+            Entry entry = liveEntry(sessionHash);
+            if (entry != null && !entry.verified()) {
+                entries.put(sessionHash, new Entry(entry.auth(), entry.expiresAtMillis(), true));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isVerified(String sessionHash) {
+        lock.lock();
+        try {
+            Entry entry = liveEntry(sessionHash);
+            return entry != null && entry.verified();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 만료되지 않은 항목 (만료됐으면 제거 후 null, lock 안에서 호출)
+    private Entry liveEntry(String sessionHash) {
+        Entry entry = entries.get(sessionHash);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(sessionHash);
+            expiredEvictions.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    // 만료된 세션 정리 (조회되지 않은 채 남은 세션)
+    @Scheduled(fixedDelayString = "${auth.session.cleanup-interval-millis:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        lock.lock();
+        try {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().expiresAtMillis() <= now) {
+                    iterator.remove();
+                    expiredEvictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // verified: 이 세션의 인증 정보로 Tilko 조회가 성공한 적 있음
+    private record Entry(AuthResponseDto auth, long expiresAtMillis, boolean verified) {
+    }
+}
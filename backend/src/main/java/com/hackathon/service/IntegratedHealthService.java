@@ -1,35 +1,77 @@
 package com.hackathon.service;
 
+import com.hackathon.client.CircuitOpenException;
+import com.hackathon.client.RateLimitExceededException;
 import com.hackathon.dto.AuthResponseDto;
 import com.hackathon.dto.IntegratedHealthDataDto;
 import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.HealthCheckupRecordDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import com.hackathon.enums.JobPhase;
+import com.hackathon.util.CountingInputStream;
 import okhttp3.*;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
-import java.security.KeyFactory;
+import java.io.IOException;
 import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 @Service
 public class IntegratedHealthService {
 
+    private static final Logger log = LoggerFactory.getLogger(IntegratedHealthService.class);
+
     @Value("${tilko.api.host}")
     private String apiHost;
 
     @Value("${tilko.api.key}")
     private String apiKey;
 
+    @Autowired
+    @Qualifier("tilkoHttpClient")
+    private OkHttpClient tilkoHttpClient;
+
+    @Autowired
+    private TilkoPublicKeyCache publicKeyCache;
+
+    @Autowired
+    @Qualifier("tilkoFetchExecutor")
+    private Executor tilkoFetchExecutor;
+
+    @Autowired
+    private TilkoResponseReader tilkoResponseReader;
+
+    // 복용약물 조회 시 포함할 진료형태 (예: 처방조제, 외래, 입원 / 비어 있으면 전체)
+    @Value("${tilko.medication.included-treatment-types:}")
+    private Set<String> includedTreatmentTypes;
+
+    // 건강검진/복용약물 조회 각각의 최대 대기 시간
+    @Value("${tilko.fetch.branch-timeout-seconds:100}")
+    private long branchTimeoutSeconds;
+
     //@Autowired
     //private ChatGptAiService chatGptAiService;
 
@@ -37,45 +79,247 @@ public class IntegratedHealthService {
     @Autowired
     private ClaudeAiService claudeAiService;
 
+    @Autowired
+    private RuleBasedDiseaseClassifier ruleClassifier;
+
+    @Autowired
+    private PatientKeyGenerator patientKeys;
+
+    @Autowired
+    private StaleDataStore staleDataStore;
+
+    @Autowired
+    private HealthRecordStore healthRecordStore;
+
+    @Autowired
+    private UpstreamMetrics upstreamMetrics;
+
+    @Autowired
+    private AuthSessionService authSessions;
+
+    @Value("${claude.stream.sse-timeout-seconds:180}")
+    private long analysisStreamTimeoutSeconds;
+
 
     // 통합 건강 정보 조회
     public IntegratedHealthDataDto getIntegratedHealthData(AuthResponseDto authData) throws Exception {
-        System.out.println("=== 통합 건강 정보 조회 시작 ===");
+        return getIntegratedHealthData(authData, HealthProgressListener.NONE);
+    }
+
+    // 통합 건강 정보 조회 (진행 단계 알림 포함)
+    public IntegratedHealthDataDto getIntegratedHealthData(AuthResponseDto authData,
+                                                           HealthProgressListener listener) throws Exception {
+        log.info("health.fetch.start");
 
         // 필수 파라미터 검증
         validateAuthData(authData);
+        listener.onPhase(JobPhase.AUTH_VALIDATED);
 
         IntegratedHealthDataDto result = new IntegratedHealthDataDto();
+        String patientKey = patientKeys.keyFor(authData);
+
+        // 장애 시 이전 조회 결과는 Tilko 조회로 확인된 세션에만 반환
+        // (환자 키는 이름/생년월일/전화번호로 만들 수 있으므로 요청 값만 믿고 돌려주지 않음)
+        // 저장된 내역만으로 응답하지는 않음: 새 세션은 Tilko 조회 전에는 본인 확인이 안 되므로 항상 Tilko를 호출
+        boolean verified = authSessions.isVerified(authData);
+
+        // 건강검진 / 복용약물 정보 동시 조회 (전체 소요 시간 = 둘 중 긴 쪽), 받은 내역은 저장소에 병합
+        long startNanos = System.nanoTime();
+        CompletableFuture<TilkoResultDto<HealthCheckupRecordDto>> healthCheckupFuture =
+                submitFetch(() -> storeQuietly("건강검진", callHealthCheckupAPI(authData),
+                        fetched -> healthRecordStore.mergeHealthCheckup(patientKey, fetched)));
+        CompletableFuture<TilkoResultDto<MedicationRecordDto>> medicationFuture =
+                submitFetch(() -> storeQuietly("복용약물", callMedicationAPI(authData),
+                        fetched -> healthRecordStore.mergeMedication(patientKey, fetched)));
+
+        // 먼저 끝난 쪽부터 바로 알림
+        healthCheckupFuture.thenRun(() -> listener.onPhase(JobPhase.CHECKUP_FETCHED));
+        medicationFuture.thenRun(() -> listener.onPhase(JobPhase.MEDICATION_FETCHED));
+
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(branchTimeoutSeconds);
+
+        // 1. 건강검진 정보
+        IntegratedHealthDataDto.FetchStatus healthCheckupStatus =
+                awaitFetch("건강검진", healthCheckupFuture, deadline, startNanos, result::setHealthCheckupData);
+        if ("SUCCESS".equals(healthCheckupStatus.getStatus())) {
+            staleDataStore.saveHealthCheckup(patientKey, result.getHealthCheckupData());
+        } else if (verified) {
+            useStaleSnapshot("건강검진", () -> firstNonNull(staleDataStore.findHealthCheckup(patientKey),
+                            () -> healthRecordStore.healthCheckupSnapshot(patientKey)),
+                    result::setHealthCheckupData, healthCheckupStatus, result);
+        }
+        result.setHealthCheckupStatus(healthCheckupStatus);
+
+        // 2. 복용약물 정보
+        IntegratedHealthDataDto.FetchStatus medicationStatus =
+                awaitFetch("복용약물", medicationFuture, deadline, startNanos, result::setMedicationData);
+        if ("SUCCESS".equals(medicationStatus.getStatus())) {
+            staleDataStore.saveMedication(patientKey, result.getMedicationData());
+        } else if (verified) {
+            useStaleSnapshot("복용약물", () -> firstNonNull(staleDataStore.findMedication(patientKey),
+                            () -> healthRecordStore.medicationSnapshot(patientKey)),
+                    result::setMedicationData, medicationStatus, result);
+        }
+        result.setMedicationStatus(medicationStatus);
 
-        try {
-            // 1. 건강검진 정보 조회
-            Object healthCheckupData = callHealthCheckupAPI(authData);
-            result.setHealthCheckupData(healthCheckupData);
+        // Tilko가 인증 정보를 받아 조회에 성공했으면 이후 같은 세션은 장애 시 이전 조회 결과와 분석 환자 키 사용 가능
+        if (!verified && ("SUCCESS".equals(healthCheckupStatus.getStatus())
+                || "SUCCESS".equals(medicationStatus.getStatus()))) {
+            markVerifiedQuietly(authData);
+        }
 
-            // 2. 복용약물 정보 조회
-            Object medicationData = callMedicationAPI(authData);
-            result.setMedicationData(medicationData);
+        boolean healthCheckupOk = isUsable(healthCheckupStatus);
+        boolean medicationOk = isUsable(medicationStatus);
 
+        if (healthCheckupOk && medicationOk) {
             result.setStatus("SUCCESS");
-            result.setMessage("건강 정보 조회가 완료되었습니다.");
-
-        } catch (Exception e) {
-            System.err.println("통합 건강 정보 조회 실패: " + e.getMessage());
-            e.printStackTrace();
-
+            result.setMessage(result.isStale()
+                    ? "외부 서비스 장애로 일부 이전 조회 결과를 반환합니다. (" + result.getDataAsOf() + " 기준)"
+                    : "건강 정보 조회가 완료되었습니다.");
+        } else if (healthCheckupOk || medicationOk) {
+            result.setStatus("PARTIAL_SUCCESS");
+            result.setMessage("건강 정보 일부만 조회되었습니다. (건강검진: " + healthCheckupStatus.getStatus()
+                    + ", 복용약물: " + medicationStatus.getStatus() + ")");
+        } else {
             result.setStatus("ERROR");
-            result.setMessage("건강 정보 조회 중 오류가 발생했습니다: " + e.getMessage());
+            result.setMessage("건강 정보 조회 중 오류가 발생했습니다: " + healthCheckupStatus.getMessage());
         }
+        log.info("health.fetch.done status={} checkup={} medication={} stale={} verified={} elapsedMs={}",
+                result.getStatus(), healthCheckupStatus.getStatus(), medicationStatus.getStatus(), result.isStale(),
+                verified,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
 
         return result;
     }
 
-    // 건강검진 API 호출
-    private Object callHealthCheckupAPI(AuthResponseDto authData) throws Exception {
-        System.out.println("=== 건강검진 API 호출 시작 ===");
+    private boolean isUsable(IntegratedHealthDataDto.FetchStatus fetchStatus) {
+        return "SUCCESS".equals(fetchStatus.getStatus()) || "STALE".equals(fetchStatus.getStatus());
+    }
 
-        // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+    // 서킷이 열려 조회하지 못했으면 마지막 정상 조회 결과(메모리 → DB 저장 내역)로 대체 (stale 표시)
+    private <T> void useStaleSnapshot(String name, Supplier<StaleDataStore.Snapshot<T>> snapshotSupplier,
+                                      Consumer<T> onSnapshot,
+                                      IntegratedHealthDataDto.FetchStatus fetchStatus, IntegratedHealthDataDto result) {
+        if (!"CIRCUIT_OPEN".equals(fetchStatus.getStatus())) {
+            return;
+        }
+        StaleDataStore.Snapshot<T> snapshot = findStoredQuietly(name, snapshotSupplier);
+        if (snapshot == null) {
+            return;
+        }
+        onSnapshot.accept(snapshot.value());
+        fetchStatus.setStatus("STALE");
+        fetchStatus.setMessage(name + " 서비스 장애로 " + snapshot.savedAt() + " 조회 결과를 반환합니다.");
+
+        result.setStale(true);
+        if (result.getDataAsOf() == null || snapshot.savedAt().compareTo(result.getDataAsOf()) < 0) {
+            result.setDataAsOf(snapshot.savedAt());
+        }
+    }
+
+    // 세션 저장소 장애는 조회 결과에 영향 없음 (다음 요청에서 Tilko를 다시 호출할 뿐)
+    private void markVerifiedQuietly(AuthResponseDto authData) {
+        try {
+            authSessions.markVerified(authData);
+        } catch (RuntimeException e) {
+            log.warn("auth.session.markVerifiedFailed error={}", e.getMessage());
+        }
+    }
+
+    private static <T> T firstNonNull(T value, Supplier<T> fallback) {
+        return value != null ? value : fallback.get();
+    }
+
+    // 저장소 조회 실패(DB 장애 등)는 저장된 내역이 없는 것으로 처리
+    private <T> T findStoredQuietly(String name, Supplier<T> finder) {
+        try {
+            return finder.get();
+        } catch (RuntimeException e) {
+            log.warn("health.store.readFailed kind={} error={}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    // 조회 결과를 저장소에 병합 (저장 실패는 조회 결과에 영향 없음)
+    private <T> TilkoResultDto<T> storeQuietly(String name, TilkoResultDto<T> fetched,
+                                               Consumer<TilkoResultDto<T>> merge) {
+        try {
+            merge.accept(fetched);
+        } catch (RuntimeException e) {
+            log.warn("health.store.mergeFailed kind={} error={}", name, e.getMessage());
+        }
+        return fetched;
+    }
+
+    // 조회 작업을 실행기에 제출 (큐가 가득 차 거절되면 실패한 future 반환)
+    private <T> CompletableFuture<T> submitFetch(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            tilkoFetchExecutor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new RuntimeException("조회 작업 대기열이 가득 찼습니다."));
+        }
+        return future;
+    }
+
+    // 조회 결과 대기 후 상태 생성
+    private <T> IntegratedHealthDataDto.FetchStatus awaitFetch(String name, CompletableFuture<T> future,
+                                                               long deadline, long startNanos,
+                                                               Consumer<T> onSuccess) {
+        IntegratedHealthDataDto.FetchStatus fetchStatus = new IntegratedHealthDataDto.FetchStatus();
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            onSuccess.accept(future.get(remaining, TimeUnit.NANOSECONDS));
+
+            fetchStatus.setStatus("SUCCESS");
+            fetchStatus.setMessage(name + " 조회 완료");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("health.fetch.timeout kind={} timeoutSeconds={}", name, branchTimeoutSeconds);
+
+            fetchStatus.setStatus("TIMEOUT");
+            fetchStatus.setMessage(name + " 조회 시간이 초과되었습니다.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fetchStatus.setStatus("ERROR");
+            fetchStatus.setMessage(name + " 조회 중 인터럽트 발생");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof CircuitOpenException) {
+                // 서킷이 열려 있음 - 타임아웃까지 기다리지 않고 바로 실패 (이전 조회 결과가 있으면 대체)
+                log.warn("health.fetch.circuitOpen kind={} error={}", name, cause.getMessage());
+                fetchStatus.setStatus("CIRCUIT_OPEN");
+                fetchStatus.setMessage(name + " 서비스 장애로 잠시 후 다시 시도해주세요.");
+                fetchStatus.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                return fetchStatus;
+            }
+            if (cause instanceof RateLimitExceededException) {
+                // 호출 한도 초과 - 업스트림에 요청을 보내지 않았으므로 잠시 후 다시 조회 가능
+                log.warn("health.fetch.rateLimited kind={} error={}", name, cause.getMessage());
+                fetchStatus.setStatus("RATE_LIMITED");
+                fetchStatus.setMessage(name + " 조회 요청이 많아 잠시 후 다시 시도해주세요.");
+                fetchStatus.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+                return fetchStatus;
+            }
+            log.error("health.fetch.failed kind={} error={}", name, cause.getMessage(), cause);
+
+            fetchStatus.setStatus("ERROR");
+            fetchStatus.setMessage(name + " 조회 중 오류가 발생했습니다: " + cause.getMessage());
+        }
+        fetchStatus.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return fetchStatus;
+    }
+
+    // 건강검진 API 호출
+    private TilkoResultDto<HealthCheckupRecordDto> callHealthCheckupAPI(AuthResponseDto authData) throws Exception {
+        // RSA Public Key 조회 (캐시)
+        PublicKey rsaPublicKey = publicKeyCache.getPublicKey();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -83,7 +327,10 @@ public class IntegratedHealthService {
         byte[] aesIv = new byte[] { 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
 
         // AES Key를 RSA Public Key로 암호화
+        long stepNanos = System.nanoTime();
         String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_RSA_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
         // API URL - v1.0 사용
         String url = apiHost + "/api/v1.0/nhissimpleauth/ggpab003m0105";
@@ -107,31 +354,21 @@ public class IntegratedHealthService {
         json.put("TxId", authData.getTxId());
 
         // AES로 암호화하는 필드들
+        stepNanos = System.nanoTime();
         json.put("UserName", aesEncrypt(aesKey, aesIv, userName));
         json.put("BirthDate", aesEncrypt(aesKey, aesIv, birthDate));
         json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, userCellphoneNumber));
-
-        System.out.println("건강검진 API URL: " + url);
-        System.out.println("건강검진 요청 파라미터:");
-        System.out.println("- CxId: " + authData.getCxId());
-        System.out.println("- PrivateAuthType: " + authData.getPrivateAuthType());
-        System.out.println("- ReqTxId: " + authData.getReqTxId());
-        System.out.println("- Token: " + (authData.getToken() != null ? "있음" : "없음"));
-        System.out.println("- TxId: " + authData.getTxId());
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_AES_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
         // API 호출
-        Object result = callAPI(url, json.toJSONString(), aesCipherKey);
-        System.out.println("건강검진 API 응답 수신 완료");
-
-        return result;
+        return callAPI(url, json.toJSONString(), aesCipherKey, HealthCheckupRecordDto.class, record -> true);
     }
 
     // 복용약물 API 호출
-    private Object callMedicationAPI(AuthResponseDto authData) throws Exception {
-        System.out.println("=== 복용약물 API 호출 시작 ===");
-
-        // RSA Public Key 조회
-        String rsaPublicKey = getPublicKey();
+    private TilkoResultDto<MedicationRecordDto> callMedicationAPI(AuthResponseDto authData) throws Exception {
+        // RSA Public Key 조회 (캐시)
+        PublicKey rsaPublicKey = publicKeyCache.getPublicKey();
 
         // AES Secret Key 및 IV 생성
         byte[] aesKey = new byte[16];
@@ -139,7 +376,10 @@ public class IntegratedHealthService {
         byte[] aesIv = new byte[] { 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 };
 
         // AES Key를 RSA Public Key로 암호화
+        long stepNanos = System.nanoTime();
         String aesCipherKey = rsaEncrypt(rsaPublicKey, aesKey);
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_RSA_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
         // API URL - v1.0 사용
         String url = apiHost + "/api/v1.0/nhissimpleauth/retrievetreatmentinjectioninformationperson";
@@ -163,32 +403,22 @@ public class IntegratedHealthService {
         json.put("TxId", authData.getTxId());
 
         // AES로 암호화하는 필드들
+        stepNanos = System.nanoTime();
         json.put("UserName", aesEncrypt(aesKey, aesIv, userName));
         json.put("BirthDate", aesEncrypt(aesKey, aesIv, birthDate));
         json.put("UserCellphoneNumber", aesEncrypt(aesKey, aesIv, userCellphoneNumber));
+        upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_AES_ENCRYPT,
+                System.nanoTime() - stepNanos);
 
-        System.out.println("복용약물 API URL: " + url);
-
-        // API 호출
-        Object rawResult = callAPI(url, json.toJSONString(), aesCipherKey);
-        System.out.println("복용약물 API 응답 수신 완료");
-
-        // JinRyoHyungTae가 "처방조제"인 데이터만 필터링
-        Object filteredResult = filterPrescriptionData(rawResult);
-
-        return filteredResult;
+        // API 호출 - 진료형태(JinRyoHyungTae) 필터는 파싱하면서 바로 적용
+        return callAPI(url, json.toJSONString(), aesCipherKey, MedicationRecordDto.class, this::isIncludedTreatmentType);
     }
 
-    // 공통 API 호출 메소드
-    private Object callAPI(String url, String jsonBody, String encKey) throws Exception {
-        System.out.println("=== API 호출 ===");
-        System.out.println("URL: " + url);
-
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(120, TimeUnit.SECONDS)
-                .readTimeout(120, TimeUnit.SECONDS)
-                .writeTimeout(120, TimeUnit.SECONDS)
-                .build();
+    // 공통 API 호출 메소드 (응답 스트림을 바로 타입 객체로 파싱)
+    private <T> TilkoResultDto<T> callAPI(String url, String jsonBody, String encKey,
+                                          Class<T> recordType, Predicate<T> filter) throws Exception {
+        String endpoint = url.substring(url.lastIndexOf('/') + 1);
+        long startNanos = System.nanoTime();
 
         Request request = new Request.Builder()
                 .url(url)
@@ -198,51 +428,66 @@ public class IntegratedHealthService {
                 .post(RequestBody.create(MediaType.get("application/json; charset=utf-8"), jsonBody))
                 .build();
 
-        try (Response response = client.newCall(request).execute()) {
-            System.out.println("HTTP Status Code: " + response.code());
+        // 공용 Tilko 클라이언트 사용, 조회 제한 시간이 지나면 호출도 함께 종료
+        Call call = tilkoHttpClient.newCall(request);
+        call.timeout().timeout(branchTimeoutSeconds, TimeUnit.SECONDS);
+        upstreamMetrics.recordRequestSize(UpstreamMetrics.TILKO, endpoint, request.body().contentLength());
+
+        Response response;
+        try {
+            response = call.execute();
+        } catch (IOException e) {
+            upstreamMetrics.recordFailedCall(UpstreamMetrics.TILKO, endpoint, 1, System.nanoTime() - startNanos, e);
+            throw e;
+        }
+
+        try (response) {
+            // 응답 헤더까지가 Tilko 처리 시간, 본문 읽기/파싱은 우리 쪽 처리로 따로 기록
+            long headersNanos = System.nanoTime();
+            upstreamMetrics.recordCall(UpstreamMetrics.TILKO, endpoint, response.code(), 1, headersNanos - startNanos);
 
             if (response.body() == null) {
                 throw new RuntimeException("Response body is null");
             }
 
-            String responseStr = response.body().string();
-
-            System.out.println("Raw Response (처음 100자): " +
-                    (responseStr.length() > 100 ? responseStr.substring(0, 100) + "..." : responseStr));
-            // 100자 제한 없이 전체 출력
-            //System.out.println("전체 응답: " + responseStr);
-            // JSON 파싱
-            JSONParser parser = new JSONParser();
-            JSONObject jsonResponse = (JSONObject) parser.parse(responseStr);
+            // JSON 스트리밍 파싱 (본문 전체를 문자열로 만들지 않음), 필터 시간은 파싱 시간에서 따로 분리
+            long[] filterNanos = new long[1];
+            Predicate<T> timedFilter = record -> {
+                long filterStart = System.nanoTime();
+                boolean included = filter.test(record);
+                filterNanos[0] += System.nanoTime() - filterStart;
+                return included;
+            };
+            CountingInputStream body = new CountingInputStream(response.body().byteStream());
+            TilkoResultDto<T> result = tilkoResponseReader.read(body, recordType, timedFilter);
+            upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_RESPONSE_PARSE,
+                    System.nanoTime() - headersNanos - filterNanos[0]);
+            upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_FILTER, filterNanos[0]);
+            upstreamMetrics.recordResponseSize(UpstreamMetrics.TILKO, endpoint, body.getCount());
+            upstreamMetrics.recordRecords(UpstreamMetrics.TILKO, endpoint,
+                    result.getResultList() != null ? result.getResultList().size() : 0);
+            log.info("tilko.call endpoint={} httpStatus={} status={} records={} elapsedMs={}",
+                    endpoint, response.code(), result.getStatus(),
+                    result.getResultList() != null ? result.getResultList().size() : 0,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
 
             // 응답 상태 확인
-            String status = (String) jsonResponse.get("Status");
-            if (!"OK".equals(status)) {
-                String errorMessage = (String) jsonResponse.get("Message");
-                String errorLog = (String) jsonResponse.get("ErrorLog");
-                throw new RuntimeException("API 오류 - Status: " + status +
-                        ", Message: " + errorMessage +
-                        ", ErrorLog: " + errorLog);
+            if (!"OK".equals(result.getStatus())) {
+                throw new RuntimeException("API 오류 - Status: " + result.getStatus() +
+                        ", Message: " + result.getMessage() +
+                        ", ErrorLog: " + result.getErrorLog());
             }
 
-            return jsonResponse;
+            return result;
         }
     }
 
     // 필수 파라미터 검증
     private void validateAuthData(AuthResponseDto authData) {
-        System.out.println("=== AuthData 검증 시작 ===");
-
         if (authData == null) {
             throw new IllegalArgumentException("AuthData가 null입니다.");
         }
 
-        System.out.println("CxId: " + authData.getCxId());
-        System.out.println("PrivateAuthType: " + authData.getPrivateAuthType());
-        System.out.println("ReqTxId: " + authData.getReqTxId());
-        System.out.println("Token: " + (authData.getToken() != null ? "있음" : "없음"));
-        System.out.println("TxId: " + authData.getTxId());
-
         // 필수 파라미터 확인
         if (authData.getReqTxId() == null || authData.getReqTxId().trim().isEmpty()) {
             throw new IllegalArgumentException("ReqTxId가 없습니다. 간편인증을 다시 시도해주세요.");
@@ -259,49 +504,10 @@ public class IntegratedHealthService {
         if (authData.getTxId() == null || authData.getTxId().trim().isEmpty()) {
             throw new IllegalArgumentException("TxId가 없습니다. 간편인증을 다시 시도해주세요.");
         }
-
-        System.out.println("AuthData 검증 완료 - 모든 필수 파라미터가 존재합니다.");
-    }
-
-    // Public Key 조회
-    private String getPublicKey() throws Exception {
-        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
-
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .build();
-
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
-
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() == null) {
-                throw new RuntimeException("Response body is null");
-            }
-
-            String responseStr = response.body().string();
-            JSONParser jsonParser = new JSONParser();
-            JSONObject jsonObject = (JSONObject) jsonParser.parse(responseStr);
-
-            String publicKey = (String) jsonObject.get("PublicKey");
-            if (publicKey == null) {
-                throw new RuntimeException("Public Key가 null입니다.");
-            }
-
-            return publicKey;
-        }
     }
 
     // RSA 암호화
-    private String rsaEncrypt(String publicKeyStr, byte[] data) throws Exception {
-        byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
-        X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-        KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-        PublicKey publicKey = keyFactory.generatePublic(spec);
-
+    private String rsaEncrypt(PublicKey publicKey, byte[] data) throws Exception {
         Cipher cipher = Cipher.getInstance("RSA/ECB/PKCS1Padding");
         cipher.init(Cipher.ENCRYPT_MODE, publicKey);
         byte[] encrypted = cipher.doFinal(data);
@@ -325,68 +531,39 @@ public class IntegratedHealthService {
         return Base64.getEncoder().encodeToString(encrypted);
     }
 
-    // 처방조제 데이터만 필터링
-    private Object filterPrescriptionData(Object rawData) {
-        try {
-            JSONObject jsonData;
-            if (rawData instanceof String) {
-                JSONParser parser = new JSONParser();
-                jsonData = (JSONObject) parser.parse((String) rawData);
-            } else {
-                jsonData = (JSONObject) rawData;
-            }
-
-            // ResultList에서 JinRyoHyungTae가 "처방조제"인 것만 필터링
-            JSONArray resultList = (JSONArray) jsonData.get("ResultList");
-            if (resultList != null) {
-                JSONArray filteredList = new JSONArray();
-
-                for (Object item : resultList) {
-                    JSONObject record = (JSONObject) item;
-                    String jinRyoHyungTae = (String) record.get("JinRyoHyungTae");
-
-                    // 디버깅을 위해 모든 진료형태 출력
-                    System.out.println("진료형태 발견: " + jinRyoHyungTae);
-
-                    // 임시로 모든 데이터를 포함 (나중에 필요한 것만 필터링)
-                    filteredList.add(record);
-
-                    // 또는 여러 진료형태를 포함하도록 수정
-                    // if ("처방조제".equals(jinRyoHyungTae) ||
-                    //     "외래".equals(jinRyoHyungTae) ||
-                    //     "입원".equals(jinRyoHyungTae)) {
-                    //     filteredList.add(record);
-                    // }
-                }
-
-                // 필터링된 결과로 교체
-                jsonData.put("ResultList", filteredList);
-                System.out.println("필터링 완료: " + filteredList.size() + "건 (원본: " + resultList.size() + "건)");
-            }
-
-            return jsonData;
-
-        } catch (Exception e) {
-            System.err.println("처방조제 데이터 필터링 실패: " + e.getMessage());
-            return rawData;
-        }
+    // 진료형태 필터 (설정이 비어 있으면 모든 진료형태 포함)
+    private boolean isIncludedTreatmentType(MedicationRecordDto record) {
+        return includedTreatmentTypes.isEmpty() || includedTreatmentTypes.contains(record.getJinRyoHyungTae());
     }
 
     // 기저질환 분석 메소드 수정
-    public DiseaseAnalysisDto analyzeDiseases(Object medicationData) {
+    public DiseaseAnalysisDto analyzeDiseases(TilkoResultDto<MedicationRecordDto> medicationData) {
+        return analyzeDiseases(medicationData, null);
+    }
+
+    /**
+     * 기저질환 분석 (patientKey가 있으면 정상 결과를 보관했다가 Claude 장애 시 대신 반환)
+     */
+    public DiseaseAnalysisDto analyzeDiseases(TilkoResultDto<MedicationRecordDto> medicationData, String patientKey) {
         try {
-            System.out.println("=== 기저질환 분석 시작 (Claude AI) ===");
+            // 규칙으로 확실하게 판단되는 처방 이력은 Claude 호출 생략
+            DiseaseAnalysisDto ruleResult = ruleClassifier.classify(medicationData);
+            if (ruleResult != null) {
+                log.info("analysis.rule.done status={} diseases={}", ruleResult.getStatus(),
+                        ruleResult.getPredictedDiseases().size());
+                saveIfSuccessful(ruleResult, patientKey);
+                return ruleResult;
+            }
 
             // Claude AI 서비스를 통해 기저질환 분석
             DiseaseAnalysisDto analysisResult = claudeAiService.analyzePrescriptionForDiseases(medicationData);
 
-            System.out.println("Claude AI 분석 완료: " + analysisResult.getStatus());
+            log.info("analysis.claude.done status={}", analysisResult.getStatus());
 
-            return analysisResult;
+            return withStaleFallback(analysisResult, patientKey);
 
         } catch (Exception e) {
-            System.err.println("기저질환 분석 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
+            log.error("analysis.failed error={}", e.getMessage(), e);
 
             DiseaseAnalysisDto errorResponse = new DiseaseAnalysisDto();
             errorResponse.setStatus("ERROR");
@@ -397,6 +574,92 @@ public class IntegratedHealthService {
             return errorResponse;
         }
     }
+
+    /**
+     * 기저질환 스트리밍 분석 (Server-Sent Events)
+     * 질환이 하나씩 확정될 때마다 "disease" 이벤트로 보내고, 마지막에 "result" 이벤트로 전체 결과를 보낸다.
+     * 클라이언트가 중간에 끊어도 분석은 끝까지 진행해서 캐시에 남긴다.
+     * Claude 호출은 ClaudeAiService의 공유 분석 실행기에서 진행되고, 여기서는 완료 콜백으로 결과만 전송한다.
+     */
+    public SseEmitter streamDiseaseAnalysis(TilkoResultDto<MedicationRecordDto> medicationData, String patientKey) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(analysisStreamTimeoutSeconds));
+
+        // 규칙으로 판단되면 바로 전체 결과 전송
+        DiseaseAnalysisDto ruleResult = ruleClassifier.classify(medicationData);
+        if (ruleResult != null) {
+            saveIfSuccessful(ruleResult, patientKey);
+            ruleResult.getPredictedDiseases().forEach(disease -> sendEvent(emitter, "disease", disease));
+            sendEvent(emitter, "result", ruleResult);
+            emitter.complete();
+            return emitter;
+        }
+
+        claudeAiService.streamPrescriptionAnalysis(medicationData, disease -> sendEvent(emitter, "disease", disease))
+                .thenAccept(streamed -> {
+                    log.info("analysis.claude.streamDone status={}", streamed.getStatus());
+
+                    // 서킷이 열려 이전 결과로 대체했으면 질환 이벤트도 이전 결과로 전송
+                    DiseaseAnalysisDto result = withStaleFallback(streamed, patientKey);
+                    if (result.isStale()) {
+                        result.getPredictedDiseases().forEach(disease -> sendEvent(emitter, "disease", disease));
+                    }
+
+                    sendEvent(emitter, "result", result);
+                    emitter.complete();
+                })
+                .exceptionally(e -> {
+                    log.error("analysis.stream.failed error={}", e.getMessage(), e);
+                    emitter.completeWithError(e);
+                    return null;
+                });
+
+        return emitter;
+    }
+
+    // 정상 결과는 보관하고, 서킷이 열려 분석하지 못했으면 환자의 마지막 정상 결과를 stale 표시해서 반환
+    private DiseaseAnalysisDto withStaleFallback(DiseaseAnalysisDto result, String patientKey) {
+        if (saveIfSuccessful(result, patientKey)) {
+            return result;
+        }
+        if (!"CIRCUIT_OPEN".equals(result.getStatus())) {
+            return result;
+        }
+
+        StaleDataStore.Snapshot<DiseaseAnalysisDto> snapshot = staleDataStore.findAnalysis(patientKey);
+        if (snapshot == null) {
+            return result;
+        }
+
+        // 보관된 객체는 그대로 두고 복사본에 stale 표시
+        DiseaseAnalysisDto previous = snapshot.value();
+        DiseaseAnalysisDto stale = new DiseaseAnalysisDto();
+        stale.setStatus(previous.getStatus());
+        stale.setMessage("AI 분석 서비스 장애로 " + snapshot.savedAt() + " 분석 결과를 반환합니다.");
+        stale.setPredictedDiseases(previous.getPredictedDiseases());
+        stale.setAnalysisReason(previous.getAnalysisReason());
+        stale.setRecommendations(previous.getRecommendations());
+        stale.setRiskLevel(previous.getRiskLevel());
+        stale.setStale(true);
+        stale.setDataAsOf(snapshot.savedAt());
+        return stale;
+    }
+
+    // 장애 시 대체 응답으로 쓸 결과는 정상 완료된 분석만 (NO_DATA, PARTIAL_SUCCESS 등은 보관하지 않음)
+    private boolean saveIfSuccessful(DiseaseAnalysisDto result, String patientKey) {
+        if (!"SUCCESS".equals(result.getStatus())) {
+            return false;
+        }
+        staleDataStore.saveAnalysis(patientKey, result);
+        return true;
+    }
+
+    private void sendEvent(SseEmitter emitter, String eventName, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(eventName).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // 연결이 끊긴 클라이언트 - 분석은 계속 진행
+        }
+    }
 }
 
     /* 기저질환 분석 (ChatGPT AI 활용)
@@ -0,0 +1,11 @@
+package com.hackathon.service;
+
+/**
+ * 회원가입 요청 값이 저장할 수 없는 형식 (필수 값 없음, 길이 초과, 생년월일 형식 오류) - 400으로 응답
+ */
+public class InvalidRegistrationException extends RuntimeException {
+
+    public InvalidRegistrationException(String message) {
+        super(message);
+    }
+}
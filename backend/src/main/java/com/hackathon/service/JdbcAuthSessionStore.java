@@ -0,0 +1,173 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.config.Secrets;
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.mapper.AuthSessionMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * DB 공유 세션 저장소 (여러 서버에서 같은 세션 사용)
+ * 만료 시각이 지난 세션은 조회되지 않으며, 주기적으로 삭제하고 max-entries를 넘으면 만료가 가까운 순으로 삭제한다.
+ * 인증 정보(Tilko 토큰, 사용자 정보)는 AES-GCM으로 암호화해 저장한다. (Base64(IV 12바이트 + 암호문), 세션 해시를 AAD로 사용)
+ * 키는 encryption-key의 SHA-256이며, 키가 바뀌거나 복호화에 실패한 세션은 없는 것으로 처리한다. (간편인증 다시 진행)
+ */
+@Component
+@ConditionalOnProperty(name = "auth.session.store", havingValue = "jdbc")
+public class JdbcAuthSessionStore implements AuthSessionStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcAuthSessionStore.class);
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // 환경 변수로 설정 (모든 서버가 같은 값을 써야 함, 없으면 시작하지 않음 - local/dev 프로필 제외)
+    @Value("${auth.session.encryption-key:}")
+    private String encryptionKey;
+
+    @Autowired
+    private Environment environment;
+
+    private SecretKeySpec secretKey;
+
+    @Value("${auth.session.max-entries:10000}")
+    private int maxEntries;
+
+    @Autowired
+    private AuthSessionMapper authSessionMapper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    public JdbcAuthSessionStore(MeterRegistry meterRegistry) {
+        this.sizeEvictions = Counter.builder("auth.session.evictions")
+                .tag("cause", "size").register(meterRegistry);
+        this.expiredEvictions = Counter.builder("auth.session.evictions")
+                .tag("cause", "expired").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void initKey() throws GeneralSecurityException {
+        String keySource = Secrets.require(environment, "auth.session.encryption-key", "AUTH_SESSION_KEY", encryptionKey);
+        byte[] key = MessageDigest.getInstance("SHA-256").digest(keySource.getBytes(StandardCharsets.UTF_8));
+        secretKey = new SecretKeySpec(key, "AES");
+    }
+
+    @Override
+    public void put(String sessionHash, AuthResponseDto auth, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            String encrypted = encrypt(sessionHash, objectMapper.writeValueAsBytes(auth));
+            authSessionMapper.upsert(sessionHash, encrypted, now.plus(ttl), now);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("인증 세션 직렬화 실패", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("인증 세션 암호화 실패", e);
+        }
+    }
+
+    @Override
+    public AuthResponseDto get(String sessionHash) {
+        String stored = authSessionMapper.findAuthJson(sessionHash, LocalDateTime.now());
+        if (stored == null) {
+            return null;
+        }
+        byte[] json;
+        try {
+            json = decrypt(sessionHash, stored);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            // 키 변경, 암호화 도입 전 평문 행, 변조된 값
+            log.warn("auth.session.decryptFailed error={}", e.getMessage());
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, AuthResponseDto.class);
+        } catch (IOException e) {
+            log.warn("auth.session.parseFailed error={}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void remove(String sessionHash) {
+        authSessionMapper.delete(sessionHash);
+    }
+
+    @Override
+    public void markVerified(String sessionHash) {
+        authSessionMapper.markVerified(sessionHash, LocalDateTime.now());
+    }
+
+    @Override
+    public boolean isVerified(String sessionHash) {
+        return authSessionMapper.isVerified(sessionHash, LocalDateTime.now());
+    }
+
+    // 만료 세션 삭제 후 크기 상한 적용
+    @Scheduled(fixedDelayString = "${auth.session.cleanup-interval-millis:60000}")
+    public void evictExpired() {
+        try {
+            int expired = authSessionMapper.deleteExpired(LocalDateTime.now());
+            expiredEvictions.increment(expired);
+
+            long excess = authSessionMapper.count() - maxEntries;
+            if (excess > 0) {
+                sizeEvictions.increment(authSessionMapper.deleteOldest(excess));
+            }
+        } catch (RuntimeException e) {
+            log.warn("auth.session.cleanupFailed error={}", e.getMessage());
+        }
+    }
+
+    // Base64(IV + 암호문) - 세션 해시를 AAD로 넣어 다른 행에 옮겨 붙인 값은 복호화되지 않음
+    private String encrypt(String sessionHash, byte[] plain) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOM.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(sessionHash.getBytes(StandardCharsets.UTF_8));
+        byte[] encrypted = cipher.doFinal(plain);
+
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(IV_BYTES + encrypted.length)
+                .put(iv).put(encrypted).array());
+    }
+
+    private byte[] decrypt(String sessionHash, String stored) throws GeneralSecurityException {
+        byte[] bytes = Base64.getDecoder().decode(stored);
+        if (bytes.length <= IV_BYTES) {
+            throw new IllegalArgumentException("암호문 길이가 너무 짧습니다.");
+        }
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_BYTES));
+        cipher.updateAAD(sessionHash.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(bytes, IV_BYTES, bytes.length - IV_BYTES);
+    }
+}
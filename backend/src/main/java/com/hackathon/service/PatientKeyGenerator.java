@@ -0,0 +1,55 @@
+package com.hackathon.service;
+
+import com.hackathon.config.Secrets;
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.util.HashUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 환자 식별 키 생성 (이름 + 생년월일 + 휴대폰 번호의 HMAC)
+ * 개인정보 원문을 저장하지 않고도 같은 환자의 마지막 조회/분석 결과를 찾을 수 있도록 사용한다.
+ * 키를 알면 누구나 환자 키를 계산할 수 있으므로 비밀 값이 없으면 시작하지 않는다. (local/dev 프로필 제외)
+ */
+@Component
+public class PatientKeyGenerator {
+
+    @Value("${patient.key.secret:}")
+    private String secret;
+
+    @Autowired
+    private Environment environment;
+
+    @PostConstruct
+    public void checkSecret() {
+        secret = Secrets.require(environment, "patient.key.secret", "PATIENT_KEY_SECRET", secret);
+    }
+
+    /**
+     * 인증 정보로 환자 키 생성 (식별 정보가 없으면 null)
+     */
+    public String keyFor(AuthResponseDto authData) {
+        if (authData == null) {
+            return null;
+        }
+        String userName = normalize(authData.getUserName());
+        String birthDate = digits(authData.getBirthDate());
+        String phone = digits(authData.getUserCellphoneNumber());
+        if (userName.isEmpty() || birthDate.isEmpty() || phone.isEmpty()) {
+            return null;
+        }
+        return HashUtils.hmacSha256Hex(secret, userName + "|" + birthDate + "|" + phone);
+    }
+
+    // ENC: 접두어와 공백 제거
+    private static String normalize(String value) {
+        return value == null ? "" : value.replace("ENC:", "").replaceAll("\\s", "");
+    }
+
+    private static String digits(String value) {
+        return normalize(value).replaceAll("[^0-9]", "");
+    }
+}
@@ -0,0 +1,11 @@
+package com.hackathon.service;
+
+/**
+ * 회원가입 write-behind 큐가 가득 차(또는 종료 중이라) 접수하지 못함
+ */
+public class RegistrationQueueFullException extends RuntimeException {
+
+    public RegistrationQueueFullException(String message) {
+        super(message);
+    }
+}
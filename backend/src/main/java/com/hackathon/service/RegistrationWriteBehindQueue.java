@@ -0,0 +1,538 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.domain.User;
+import com.hackathon.dto.RegistrationRequestDto;
+import com.hackathon.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLDataException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 회원가입 저장용 write-behind 큐
+ * 요청은 로컬 저널 파일에 기록(fsync)한 뒤 바로 응답하고, 백그라운드 작업 스레드가 batch-size 건씩 모아
+ * users 테이블에 배치 삽입한다. 가입이 몰려도 응답 시간이 MySQL 커밋 시간에 묶이지 않는다.
+ * - 큐가 가득 차면(capacity) 저널에 기록하지 않고 바로 거절 (RegistrationQueueFullException)
+ * - 저장이 끝난 순번은 체크포인트 파일에 기록하고, 재시작 시 체크포인트 이후 저널 항목을 다시 큐에 넣는다.
+ * - 종료 시 남은 항목을 모두 저장할 때까지(drain-timeout-seconds) 기다린다. 그래도 남으면 다음 시작 때 재처리.
+ * - 요청 값은 접수 전에 검증/정규화한다. (저장할 수 없는 값이 큐에 들어가 뒤 항목까지 막지 않도록)
+ * - 데이터 오류(제약 위반, 길이 초과)이거나 같은 배치가 max-attempts번 실패하면 배치를 반씩 나눠 저장하고,
+ *   한 건만 남아도 실패하는 항목은 dead-letter 파일(JSONL)로 옮긴다. 연결 실패 같은 일시 오류는 계속 재시도한다.
+ */
+@Component
+public class RegistrationWriteBehindQueue {
+
+    private static final String JOURNAL_FILE = "registrations.journal";
+    private static final String CHECKPOINT_FILE = "registrations.checkpoint";
+    private static final String DEAD_LETTER_FILE = "registrations.deadletter.jsonl";
+
+    private static final Logger log = LoggerFactory.getLogger(RegistrationWriteBehindQueue.class);
+
+    // users 테이블 컬럼 길이
+    private static final int MAX_USER_ID_LENGTH = 100;
+    private static final int MAX_USER_NAME_LENGTH = 100;
+    private static final int MAX_PHONE_LENGTH = 20;
+
+    @Value("${registration.write-behind.journal-dir:data/journal}")
+    private String journalDir;
+
+    @Value("${registration.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${registration.write-behind.batch-size:200}")
+    private int batchSize;
+
+    // 항목이 batch-size보다 적으면 이만큼 더 모았다가 저장
+    @Value("${registration.write-behind.linger-millis:50}")
+    private long lingerMillis;
+
+    @Value("${registration.write-behind.retry-backoff-millis:1000}")
+    private long retryBackoffMillis;
+
+    @Value("${registration.write-behind.drain-timeout-seconds:30}")
+    private long drainTimeoutSeconds;
+
+    // 같은 배치가 이만큼 연속 실패하면 나눠서 저장하고 계속 실패하는 항목은 dead-letter로 (일시 오류 제외)
+    @Value("${registration.write-behind.max-attempts:5}")
+    private int maxAttempts;
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private SqlSessionTemplate batchSession;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final ArrayDeque<PendingRegistration> pending = new ArrayDeque<>();
+    private FileChannel journal;
+    private Path checkpointPath;
+    private Path deadLetterPath;
+    private long lastSequence;
+    private volatile boolean stopping;
+    private Thread worker;
+
+    private final DistributionSummary batchSizes;
+    private final Timer persistenceLag;
+    private final Counter rejections;
+    private final Counter failures;
+    private final Counter deadLetters;
+
+    public RegistrationWriteBehindQueue(MeterRegistry meterRegistry) {
+        Gauge.builder("registration.writebehind.queue.depth", this, q -> q.depth())
+                .description("저장 대기 중인 회원가입 수")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("registration.writebehind.batch.size")
+                .description("한 번에 삽입한 회원 수")
+                .register(meterRegistry);
+        this.persistenceLag = Timer.builder("registration.writebehind.lag")
+                .description("접수(저널 기록)부터 DB 커밋까지 걸린 시간")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.rejections = Counter.builder("registration.writebehind.rejections")
+                .description("큐가 가득 차 거절한 회원가입 수")
+                .register(meterRegistry);
+        this.failures = Counter.builder("registration.writebehind.failures")
+                .description("배치 삽입 실패 횟수 (재시도)")
+                .register(meterRegistry);
+        this.deadLetters = Counter.builder("registration.writebehind.deadletters")
+                .description("저장하지 못하고 dead-letter 파일로 옮긴 회원가입 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        batchSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+
+        Path dir = Paths.get(journalDir);
+        Files.createDirectories(dir);
+        checkpointPath = dir.resolve(CHECKPOINT_FILE);
+        deadLetterPath = dir.resolve(DEAD_LETTER_FILE);
+        Path journalPath = dir.resolve(JOURNAL_FILE);
+
+        long checkpoint = readCheckpoint();
+        lastSequence = checkpoint;
+        if (Files.exists(journalPath)) {
+            recover(journalPath, checkpoint);
+        }
+        journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+
+        worker = new Thread(this::runWorker, "registration-writer");
+        worker.start();
+        log.info("registration.writebehind.started journal={} recovered={}",
+                journalPath.toAbsolutePath(), pending.size());
+    }
+
+    /**
+     * 회원가입 접수 (저널에 fsync까지 끝나면 반환)
+     *
+     * @return 접수 순번
+     * @throws InvalidRegistrationException 저장할 수 없는 요청 값
+     */
+    public long enqueue(RegistrationRequestDto request) {
+        RegistrationRequestDto registration = validated(request);
+        lock.lock();
+        long journalSize = -1;
+        try {
+            if (stopping) {
+                throw new RegistrationQueueFullException("서버 종료 중입니다.");
+            }
+            if (pending.size() >= capacity) {
+                rejections.increment();
+                throw new RegistrationQueueFullException("회원가입 대기열이 가득 찼습니다. (" + capacity + "건)");
+            }
+
+            PendingRegistration entry = new PendingRegistration(lastSequence + 1, registration.getUserId(),
+                    registration.getUserName(), registration.getPhoneNumber(), registration.getBirthDate(),
+                    System.currentTimeMillis());
+            byte[] line = (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            journalSize = journal.size();
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+
+            lastSequence = entry.sequence();
+            pending.addLast(entry);
+            notEmpty.signal();
+            return entry.sequence();
+        } catch (IOException e) {
+            // 일부만 기록된 줄 뒤에 다음 항목이 이어 붙지 않도록 되돌림
+            if (journalSize >= 0) {
+                try {
+                    journal.truncate(journalSize);
+                } catch (IOException ignored) {
+                }
+            }
+            throw new UncheckedIOException("회원가입 저널 기록 실패", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 요청 값 검증 후 저장할 형태로 정규화
+     * userId(필수)/이름은 앞뒤 공백 제거, 휴대폰 번호와 생년월일은 숫자만 남긴다. 빈 선택 값은 null.
+     */
+    static RegistrationRequestDto validated(RegistrationRequestDto request) {
+        if (request == null) {
+            throw new InvalidRegistrationException("회원가입 정보가 필요합니다.");
+        }
+        String userId = trimToNull(request.getUserId());
+        if (userId == null) {
+            throw new InvalidRegistrationException("userId가 필요합니다.");
+        }
+        if (userId.length() > MAX_USER_ID_LENGTH) {
+            throw new InvalidRegistrationException("userId는 " + MAX_USER_ID_LENGTH + "자 이하여야 합니다.");
+        }
+        String userName = trimToNull(request.getUserName());
+        if (userName != null && userName.length() > MAX_USER_NAME_LENGTH) {
+            throw new InvalidRegistrationException("이름은 " + MAX_USER_NAME_LENGTH + "자 이하여야 합니다.");
+        }
+        String phoneNumber = digitsOrNull(request.getPhoneNumber());
+        if (phoneNumber != null && phoneNumber.length() > MAX_PHONE_LENGTH) {
+            throw new InvalidRegistrationException("휴대폰 번호는 " + MAX_PHONE_LENGTH + "자리 이하여야 합니다.");
+        }
+        String birthDate = digitsOrNull(request.getBirthDate());
+        if (birthDate != null && birthDate.length() != 6 && birthDate.length() != 8) {
+            throw new InvalidRegistrationException("생년월일은 6자리(YYMMDD) 또는 8자리(YYYYMMDD) 숫자여야 합니다.");
+        }
+        return new RegistrationRequestDto(userId, userName, phoneNumber, birthDate);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String digitsOrNull(String value) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        String digits = trimmed.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? null : digits;
+    }
+
+    public int depth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 종료 시 남은 항목을 저장할 때까지 대기
+    @PreDestroy
+    public void shutdown() throws InterruptedException, IOException {
+        lock.lock();
+        try {
+            stopping = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        worker.join(TimeUnit.SECONDS.toMillis(drainTimeoutSeconds));
+        if (worker.isAlive()) {
+            worker.interrupt();
+            log.warn("registration.writebehind.drainTimeout remaining={}", depth());
+        } else {
+            log.info("registration.writebehind.stopped");
+        }
+        journal.close();
+    }
+
+    private void runWorker() {
+        int attempts = 0;
+        while (true) {
+            List<PendingRegistration> batch;
+            try {
+                batch = nextBatch();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch.isEmpty()) {
+                return; // 종료 중이고 남은 항목 없음
+            }
+
+            try {
+                persist(batch);
+                complete(batch);
+                attempts = 0;
+                continue;
+            } catch (RuntimeException | IOException e) {
+                failures.increment();
+                attempts++;
+                log.warn("registration.writebehind.batchFailed size={} attempt={} dataError={} error={}",
+                        batch.size(), attempts, isDataError(e), e.getMessage());
+
+                // 특정 항목 때문에 실패했을 수 있으면 나눠서 저장 (일시 오류는 그대로 재시도)
+                boolean giveUp = attempts >= maxAttempts;
+                if (e instanceof RuntimeException && !isTransient(e) && (giveUp || isDataError(e))) {
+                    try {
+                        persistSplit(batch, giveUp);
+                        attempts = 0;
+                        continue;
+                    } catch (RuntimeException | IOException splitError) {
+                        log.warn("registration.writebehind.splitFailed size={} error={}",
+                                batch.size(), splitError.getMessage());
+                    }
+                }
+            }
+
+            if (stopping) {
+                return; // 종료 중에는 재시도하지 않음 (저널에 남아 다음 시작 때 재처리)
+            }
+            try {
+                Thread.sleep(retryBackoffMillis);
+            } catch (InterruptedException ie) {
+                return;
+            }
+        }
+    }
+
+    // 배치를 반씩 나눠 앞에서부터 저장 (저장된 앞부분은 바로 큐에서 제거되므로 일시 오류로 멈춰도 순서 유지)
+    private void persistSplit(List<PendingRegistration> batch, boolean giveUp) throws IOException {
+        int middle = batch.size() / 2;
+        if (middle == 0) {
+            persistOrDeadLetter(batch, giveUp);
+            return;
+        }
+        persistOrDeadLetter(batch.subList(0, middle), giveUp);
+        persistOrDeadLetter(batch.subList(middle, batch.size()), giveUp);
+    }
+
+    private void persistOrDeadLetter(List<PendingRegistration> rows, boolean giveUp) throws IOException {
+        try {
+            persist(rows);
+            complete(rows);
+            return;
+        } catch (RuntimeException e) {
+            // 일시 오류, 또는 아직 재시도 횟수가 남은 알 수 없는 오류는 남은 항목을 큐에 두고 재시도
+            if (isTransient(e) || !(giveUp || isDataError(e))) {
+                throw e;
+            }
+            if (rows.size() == 1) {
+                deadLetter(rows.get(0), e);
+                return;
+            }
+        }
+        persistSplit(rows, giveUp);
+    }
+
+    // 저장할 수 없는 항목을 dead-letter 파일에 기록(fsync)한 뒤 큐에서 제거
+    private void deadLetter(PendingRegistration entry, Exception error) throws IOException {
+        DeadLetter letter = new DeadLetter(entry, rootMessage(error), System.currentTimeMillis());
+        byte[] line = (objectMapper.writeValueAsString(letter) + "\n").getBytes(StandardCharsets.UTF_8);
+        try (FileChannel channel = FileChannel.open(deadLetterPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        deadLetters.increment();
+        log.error("registration.writebehind.deadLettered sequence={} file={} error={}",
+                entry.sequence(), deadLetterPath.toAbsolutePath(), letter.error());
+        remove(List.of(entry));
+    }
+
+    // 연결 실패, 락 대기 시간 초과 등 다시 시도하면 될 수 있는 오류
+    private static boolean isTransient(Throwable error) {
+        return error instanceof TransientDataAccessException
+                || error instanceof RecoverableDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof TransactionException;
+    }
+
+    // 특정 항목의 값 때문에 실패 (제약 위반, 길이 초과 등) - 재시도해도 같은 결과
+    private static boolean isDataError(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataIntegrityViolationException
+                    || cause instanceof SQLIntegrityConstraintViolationException
+                    || cause instanceof SQLDataException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    // 큐 앞쪽에서 최대 batch-size 건 (큐에서는 저장이 끝난 뒤 제거)
+    private List<PendingRegistration> nextBatch() throws InterruptedException {
+        lock.lock();
+        try {
+            while (pending.isEmpty() && !stopping) {
+                notEmpty.await();
+            }
+            // 적게 모였으면 잠시 더 모아서 한 번에 저장 (종료 중에는 바로)
+            long lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+            while (!stopping && pending.size() < batchSize && lingerNanos > 0) {
+                lingerNanos = notEmpty.awaitNanos(lingerNanos);
+            }
+
+            List<PendingRegistration> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+            Iterator<PendingRegistration> iterator = pending.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void persist(List<PendingRegistration> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            UserMapper mapper = batchSession.getMapper(UserMapper.class);
+            for (PendingRegistration entry : batch) {
+                mapper.insertUser(entry.toUser(now));
+            }
+            batchSession.flushStatements();
+        });
+    }
+
+    // 저장된 항목 기록 후 큐에서 제거
+    private void complete(List<PendingRegistration> batch) throws IOException {
+        long committedAt = System.currentTimeMillis();
+        for (PendingRegistration entry : batch) {
+            persistenceLag.record(committedAt - entry.acceptedAtMillis(), TimeUnit.MILLISECONDS);
+        }
+        batchSizes.record(batch.size());
+        remove(batch);
+    }
+
+    // 큐 앞쪽 항목을 제거하고 체크포인트 갱신 (모두 처리되었으면 저널 비움)
+    private void remove(List<PendingRegistration> batch) throws IOException {
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                pending.pollFirst();
+            }
+            writeCheckpoint(batch.get(batch.size() - 1).sequence());
+            if (pending.isEmpty()) {
+                journal.truncate(0);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (!Files.exists(checkpointPath)) {
+            return 0;
+        }
+        String value = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim();
+        return value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    // 임시 파일에 쓰고 원자적으로 교체 (중간에 죽어도 이전 체크포인트 유지)
+    private void writeCheckpoint(long sequence) throws IOException {
+        Path temp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temp, String.valueOf(sequence), StandardCharsets.UTF_8);
+        Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 체크포인트 이후 저널 항목을 큐에 다시 넣음 (기록 중 끊긴 마지막 줄은 응답 전이었으므로 버림)
+    private void recover(Path journalPath, long checkpoint) throws IOException {
+        for (String line : Files.readAllLines(journalPath, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                PendingRegistration entry = objectMapper.readValue(line, PendingRegistration.class);
+                if (entry.sequence() > checkpoint) {
+                    pending.addLast(entry);
+                }
+                lastSequence = Math.max(lastSequence, entry.sequence());
+            } catch (IOException e) {
+                log.warn("registration.writebehind.journalEntrySkipped error={}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 저널 한 줄
+     */
+    public record PendingRegistration(long sequence, String userId, String userName, String phoneNumber,
+                                      String birthDate, long acceptedAtMillis) {
+
+        User toUser(LocalDateTime createdAt) {
+            User user = new User();
+            user.setUserId(userId);
+            user.setUserName(userName);
+            user.setPhoneNumber(phoneNumber);
+            user.setBirthDate(birthDate);
+            user.setRegisteredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(acceptedAtMillis), ZoneId.systemDefault()));
+            user.setCreatedAt(createdAt);
+            return user;
+        }
+    }
+
+    /**
+     * dead-letter 파일 한 줄 (수동 확인 후 필요하면 다시 가입 처리)
+     */
+    public record DeadLetter(PendingRegistration registration, String error, long failedAtMillis) {
+    }
+}
@@ -0,0 +1,311 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 규칙 기반 기저질환 사전 분류
+ * 약물(성분/약효분류) → 질환 규칙표로 판단이 확실한 처방 이력은 Claude를 호출하지 않고 바로 결과를 만든다.
+ * 프롬프트와 같은 기준(동일 계열 총 14일 이상 또는 반복 처방)을 적용하고,
+ * 장기 처방 약물 중 규칙표에 없거나 여러 질환에 쓰이는 약이 있으면 판단하지 않는다(null → Claude 분석).
+ * 처방 약물이 하나도 없으면 NO_DATA 상태로 반환한다 (분석 결과가 아니므로 보관하지 않음).
+ */
+@Component
+public class RuleBasedDiseaseClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleBasedDiseaseClassifier.class);
+
+    private static final String IGNORE = "IGNORE";
+    private static final String AMBIGUOUS = "AMBIGUOUS";
+
+    public static final String STATUS_NO_DATA = "NO_DATA";
+
+    private static final int MAX_DISEASES = 4;
+    private static final int MIN_TOTAL_DAYS = 14;
+    private static final int MAX_MEMO_ENTRIES = 10_000;
+
+    @Value("${analysis.rule-classifier.enabled:true}")
+    private boolean enabled;
+
+    @Value("${analysis.rule-classifier.rules-path:analysis/drug-disease-rules.tsv}")
+    private String rulesPath;
+
+    // 키워드 첫 글자 → 규칙 목록 (텍스트의 각 위치에서 해당 글자로 시작하는 키워드만 비교)
+    private Map<Character, List<Rule>> index = Map.of();
+
+    // 약품명+약효분류 → 일치한 분류 결과 (같은 약이 반복되므로 메모)
+    private final Map<String, Set<String>> memo = new ConcurrentHashMap<>();
+
+    private final Counter ruleHits;
+    private final Counter claudeFallbacks;
+    private final Counter noData;
+    private final Timer classifyTimer;
+
+    public RuleBasedDiseaseClassifier(MeterRegistry meterRegistry) {
+        this.ruleHits = Counter.builder("disease.analysis.classification")
+                .tag("path", "rule").register(meterRegistry);
+        this.claudeFallbacks = Counter.builder("disease.analysis.classification")
+                .tag("path", "claude").register(meterRegistry);
+        this.noData = Counter.builder("disease.analysis.classification")
+                .tag("path", "no-data").register(meterRegistry);
+        this.classifyTimer = Timer.builder("disease.analysis.rule.latency").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void loadRules() throws IOException {
+        Map<Character, List<Rule>> loaded = new HashMap<>();
+        int count = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(rulesPath).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] columns = line.split("\t");
+                if (columns.length != 2) {
+                    log.warn("classifier.rule.skipped reason=format line={}", line);
+                    continue;
+                }
+
+                String keyword = columns[0].trim().toLowerCase(Locale.ROOT);
+                String outcome = columns[1].trim();
+                if (!IGNORE.equals(outcome) && !AMBIGUOUS.equals(outcome)
+                        && !ClaudeAiService.ALLOWED_DISEASES.contains(outcome)) {
+                    log.warn("classifier.rule.skipped reason=notAllowed line={}", line);
+                    continue;
+                }
+
+                loaded.computeIfAbsent(keyword.charAt(0), c -> new ArrayList<>()).add(new Rule(keyword, outcome));
+                count++;
+            }
+        }
+
+        index = loaded;
+        memo.clear();
+        log.info("classifier.rules.loaded count={} path={}", count, rulesPath);
+    }
+
+    /**
+     * 규칙으로 확실하게 판단되면 분석 결과를, 아니면 null 반환 (Claude 분석 필요)
+     */
+    public DiseaseAnalysisDto classify(TilkoResultDto<MedicationRecordDto> medicationData) {
+        if (!enabled) {
+            return null;
+        }
+
+        long startNanos = System.nanoTime();
+        DiseaseAnalysisDto result = classifyInternal(medicationData);
+        classifyTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+
+        if (result != null && STATUS_NO_DATA.equals(result.getStatus())) {
+            noData.increment();
+        } else if (result != null) {
+            ruleHits.increment();
+        } else {
+            claudeFallbacks.increment();
+        }
+        return result;
+    }
+
+    private DiseaseAnalysisDto classifyInternal(TilkoResultDto<MedicationRecordDto> medicationData) {
+        Map<String, DrugUsage> drugs = aggregate(medicationData);
+        if (drugs.isEmpty()) {
+            // 조회 실패/빈 응답을 "질환 없음(LOW)"으로 판단하지 않음
+            return noDataResult();
+        }
+
+        // 질환별 근거 약물 집계
+        Map<String, DrugUsage> byDisease = new LinkedHashMap<>();
+        for (DrugUsage drug : drugs.values()) {
+            Set<String> outcomes = match(drug.name + " " + drug.efficacy);
+            boolean chronic = drug.qualifies();
+
+            if (outcomes.contains(AMBIGUOUS)) {
+                if (chronic) {
+                    return null;
+                }
+                continue;
+            }
+
+            Set<String> diseases = new LinkedHashSet<>(outcomes);
+            diseases.remove(IGNORE);
+            if (diseases.isEmpty()) {
+                // 규칙표에 없는 약이 장기/반복 처방되었으면 규칙으로 판단하지 않음
+                if (chronic && !outcomes.contains(IGNORE)) {
+                    return null;
+                }
+                continue;
+            }
+
+            for (String disease : diseases) {
+                byDisease.computeIfAbsent(disease, DrugUsage::new).merge(drug);
+            }
+        }
+
+        List<DiseaseAnalysisDto.PredictedDisease> predicted = new ArrayList<>();
+        for (Map.Entry<String, DrugUsage> entry : byDisease.entrySet()) {
+            DrugUsage usage = entry.getValue();
+            if (!usage.qualifies()) {
+                continue;
+            }
+
+            DiseaseAnalysisDto.PredictedDisease disease = new DiseaseAnalysisDto.PredictedDisease();
+            disease.setDiseaseName(entry.getKey());
+            disease.setProbability("높음");
+            disease.setReason("관련 약물 총 " + usage.totalDays + "일, " + usage.visitDates.size() + "회 처방");
+            disease.setRelatedMedications(new ArrayList<>(usage.relatedMedications));
+            predicted.add(disease);
+        }
+
+        // 질환 수가 많으면 우선순위 판단이 필요하므로 Claude에 맡김
+        if (predicted.size() > MAX_DISEASES) {
+            return null;
+        }
+
+        DiseaseAnalysisDto result = new DiseaseAnalysisDto();
+        result.setStatus("SUCCESS");
+        result.setMessage("기저질환 분석이 완료되었습니다.");
+        result.setPredictedDiseases(predicted);
+        result.setAnalysisReason("처방 약물-질환 규칙 기반 분류");
+        result.setRiskLevel(predicted.isEmpty() ? "LOW" : "MEDIUM");
+        result.setRecommendations(Arrays.asList("의료진과 상담 권장", "정기적인 건강검진"));
+        return result;
+    }
+
+    private DiseaseAnalysisDto noDataResult() {
+        DiseaseAnalysisDto result = new DiseaseAnalysisDto();
+        result.setStatus(STATUS_NO_DATA);
+        result.setMessage("분석할 처방 내역이 없습니다.");
+        result.setPredictedDiseases(new ArrayList<>());
+        result.setRiskLevel("UNKNOWN");
+        result.setRecommendations(new ArrayList<>());
+        return result;
+    }
+
+    // 약물별 총 투약일수/처방일 집계
+    private Map<String, DrugUsage> aggregate(TilkoResultDto<MedicationRecordDto> medicationData) {
+        Map<String, DrugUsage> drugs = new LinkedHashMap<>();
+        if (medicationData == null || medicationData.getResultList() == null) {
+            return drugs;
+        }
+
+        for (MedicationRecordDto record : medicationData.getResultList()) {
+            if (record.getDetailList() == null) {
+                continue;
+            }
+            for (MedicationRecordDto.Detail detail : record.getDetailList()) {
+                String name = detail.getChoBangYakPumMyung();
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                DrugUsage drug = drugs.computeIfAbsent(name.trim(), DrugUsage::new);
+                drug.add(name.trim(), record.getJinRyoGaesiIl(), detail.getTuyakIlSoo());
+                if (drug.efficacy.isEmpty() && detail.getChoBangYakPumHyoneung() != null) {
+                    drug.efficacy = detail.getChoBangYakPumHyoneung().trim();
+                }
+            }
+        }
+        return drugs;
+    }
+
+    // 텍스트에 포함된 키워드의 분류 결과 (질환명, IGNORE, AMBIGUOUS)
+    private Set<String> match(String text) {
+        Set<String> cached = memo.get(text);
+        if (cached != null) {
+            return cached;
+        }
+
+        String lower = text.toLowerCase(Locale.ROOT);
+        Set<String> outcomes = new HashSet<>();
+        for (int i = 0; i < lower.length(); i++) {
+            List<Rule> candidates = index.get(lower.charAt(i));
+            if (candidates == null) {
+                continue;
+            }
+            for (Rule rule : candidates) {
+                if (lower.startsWith(rule.keyword(), i)) {
+                    outcomes.add(rule.outcome());
+                }
+            }
+        }
+
+        if (memo.size() < MAX_MEMO_ENTRIES) {
+            memo.put(text, outcomes);
+        }
+        return outcomes;
+    }
+
+    private record Rule(String keyword, String outcome) {
+    }
+
+    // 약물(또는 질환별 근거 약물 묶음)의 처방 집계
+    private static final class DrugUsage {
+        private final String name;
+        private String efficacy = "";
+        private int totalDays;
+        private final Set<String> visitDates = new HashSet<>();
+        private final Set<String> relatedMedications = new LinkedHashSet<>();
+
+        private DrugUsage(String name) {
+            this.name = name;
+        }
+
+        void add(String drugName, String date, String days) {
+            totalDays += parseDays(days);
+            visitDates.add(date != null ? date.trim() : "");
+            relatedMedications.add(drugName);
+        }
+
+        void merge(DrugUsage other) {
+            totalDays += other.totalDays;
+            visitDates.addAll(other.visitDates);
+            relatedMedications.addAll(other.relatedMedications);
+        }
+
+        // 프롬프트 기준: 총 14일 이상 또는 서로 다른 날 반복 처방
+        boolean qualifies() {
+            return totalDays >= MIN_TOTAL_DAYS || visitDates.size() > 1;
+        }
+
+        private static int parseDays(String days) {
+            if (days == null) {
+                return 0;
+            }
+            String digits = days.replaceAll("[^0-9]", "");
+            if (digits.isEmpty() || digits.length() > 6) {
+                return 0;
+            }
+            return Integer.parseInt(digits);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.HealthCheckupRecordDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 환자별 마지막 정상 조회/분석 결과 (업스트림 장애 시 대체 응답용)
+ * 서킷이 열려 Tilko/Claude를 호출할 수 없으면 이전 결과를 stale 표시와 함께 돌려준다.
+ * 메모리에만 보관하며(LRU + TTL), 키는 PatientKeyGenerator의 환자 키다.
+ */
+@Component
+public class StaleDataStore {
+
+    @Value("${fallback.stale.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${fallback.stale.ttl-hours:24}")
+    private long ttlHours;
+
+    private final Snapshots<TilkoResultDto<HealthCheckupRecordDto>> healthCheckups = new Snapshots<>();
+    private final Snapshots<TilkoResultDto<MedicationRecordDto>> medications = new Snapshots<>();
+    private final Snapshots<DiseaseAnalysisDto> analyses = new Snapshots<>();
+
+    private final Counter servedStale;
+
+    public StaleDataStore(MeterRegistry meterRegistry) {
+        this.servedStale = Counter.builder("fallback.stale.served")
+                .description("업스트림 장애로 이전 결과를 대신 반환한 횟수")
+                .register(meterRegistry);
+    }
+
+    public void saveHealthCheckup(String patientKey, TilkoResultDto<HealthCheckupRecordDto> data) {
+        healthCheckups.put(patientKey, data);
+    }
+
+    public void saveMedication(String patientKey, TilkoResultDto<MedicationRecordDto> data) {
+        medications.put(patientKey, data);
+    }
+
+    public void saveAnalysis(String patientKey, DiseaseAnalysisDto analysis) {
+        analyses.put(patientKey, analysis);
+    }
+
+    public Snapshot<TilkoResultDto<HealthCheckupRecordDto>> findHealthCheckup(String patientKey) {
+        return served(healthCheckups.get(patientKey));
+    }
+
+    public Snapshot<TilkoResultDto<MedicationRecordDto>> findMedication(String patientKey) {
+        return served(medications.get(patientKey));
+    }
+
+    public Snapshot<DiseaseAnalysisDto> findAnalysis(String patientKey) {
+        return served(analyses.get(patientKey));
+    }
+
+    private <T> Snapshot<T> served(Snapshot<T> snapshot) {
+        if (snapshot != null) {
+            servedStale.increment();
+        }
+        return snapshot;
+    }
+
+    /**
+     * 저장된 결과와 저장 시각
+     */
+    public record Snapshot<T>(T value, long savedAtMillis) {
+
+        // 응답의 dataAsOf 값 (로컬 시각, ISO 형식)
+        public String savedAt() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(savedAtMillis), ZoneId.systemDefault()).toString();
+        }
+    }
+
+    // 접근 순서 기준 LRU + TTL
+    private final class Snapshots<T> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Snapshot<T>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        void put(String patientKey, T value) {
+            if (patientKey == null || value == null) {
+                return;
+            }
+            lock.lock();
+            try {
+                entries.put(patientKey, new Snapshot<>(value, System.currentTimeMillis()));
+                Iterator<Map.Entry<String, Snapshot<T>>> iterator = entries.entrySet().iterator();
+                while (entries.size() > maxEntries && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Snapshot<T> get(String patientKey) {
+            if (patientKey == null) {
+                return null;
+            }
+            lock.lock();
+            try {
+                Snapshot<T> snapshot = entries.get(patientKey);
+                if (snapshot == null) {
+                    return null;
+                }
+                if (System.currentTimeMillis() - snapshot.savedAtMillis() > TimeUnit.HOURS.toMillis(ttlHours)) {
+                    entries.remove(patientKey);
+                    return null;
+                }
+                return snapshot;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
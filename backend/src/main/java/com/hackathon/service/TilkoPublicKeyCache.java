@@ -0,0 +1,228 @@
+package com.hackathon.service;
+
+import com.hackathon.client.HedgedRequestExecutor;
+import jakarta.annotation.PreDestroy;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tilko RSA Public Key 캐시
+ * 파싱된 PublicKey를 TTL 동안 보관하고, 만료 전에 백그라운드에서 갱신한다.
+ * 캐시가 비어 있을 때 동시에 들어온 요청은 하나의 업스트림 호출을 공유한다.
+ */
+@Component
+public class TilkoPublicKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TilkoPublicKeyCache.class);
+
+    @Value("${tilko.api.host}")
+    private String apiHost;
+
+    @Value("${tilko.api.key}")
+    private String apiKey;
+
+    @Value("${tilko.http.public-key-timeout-seconds:30}")
+    private int publicKeyTimeoutSeconds;
+
+    @Value("${tilko.public-key.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    // 만료 몇 분 전에 백그라운드 갱신을 시작할지
+    @Value("${tilko.public-key.refresh-ahead-minutes:10}")
+    private long refreshAheadMinutes;
+
+    // 백그라운드 갱신 실패 시 재시도 간격
+    @Value("${tilko.public-key.retry-seconds:30}")
+    private long retrySeconds;
+
+    // 가끔 수십 초씩 걸리는 응답이 있어 헤징으로 호출 (멱등 GET)
+    @Autowired
+    @Qualifier("tilkoHedgedExecutor")
+    private HedgedRequestExecutor tilkoHedgedExecutor;
+
+    @Autowired
+    private UpstreamMetrics upstreamMetrics;
+
+    private volatile CachedKey current;
+
+    // 진행 중인 로드 (single-flight)
+    private final AtomicReference<CompletableFuture<CachedKey>> inFlight = new AtomicReference<>();
+
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "tilko-public-key-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 캐시된 Public Key를 반환 (없거나 만료되었으면 로드)
+     */
+    public PublicKey getPublicKey() throws Exception {
+        long startNanos = System.nanoTime();
+        try {
+            return currentOrLoad();
+        } finally {
+            upstreamMetrics.recordStep(UpstreamMetrics.TILKO, UpstreamMetrics.STEP_PUBLIC_KEY,
+                    System.nanoTime() - startNanos);
+        }
+    }
+
+    private PublicKey currentOrLoad() throws Exception {
+        CachedKey cached = current;
+        long now = System.currentTimeMillis();
+
+        if (cached != null && now < cached.expiresAt()) {
+            // 갱신 시점이 지났으면 응답은 캐시로 하고 갱신은 백그라운드에서
+            if (now >= cached.refreshAt() && refreshQueued.compareAndSet(false, true)) {
+                refresher.execute(this::refreshQuietly);
+            }
+            return cached.publicKey();
+        }
+
+        try {
+            return load().get(publicKeyTimeoutSeconds, TimeUnit.SECONDS).publicKey();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 시 Public Key 미리 조회
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresher.execute(this::refreshQuietly);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    // 진행 중인 로드가 있으면 합류하고, 없으면 새로 시작
+    private CompletableFuture<CachedKey> load() {
+        while (true) {
+            CompletableFuture<CachedKey> existing = inFlight.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            CompletableFuture<CachedKey> created = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, created)) {
+                continue;
+            }
+
+            try {
+                CachedKey loaded = fetch();
+                current = loaded;
+                created.complete(loaded);
+                scheduleRefresh(loaded);
+            } catch (Exception e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.compareAndSet(created, null);
+            }
+            return created;
+        }
+    }
+
+    private void refreshQuietly() {
+        refreshQueued.set(false);
+
+        // 이미 다른 경로로 갱신되었으면 건너뜀
+        CachedKey cached = current;
+        if (cached != null && System.currentTimeMillis() < cached.refreshAt()) {
+            return;
+        }
+
+        try {
+            load().join();
+        } catch (Exception e) {
+            log.warn("tilko.publicKey.refreshFailed retrySeconds={} error={}", retrySeconds, e.getMessage());
+            refresher.schedule(this::refreshQuietly, retrySeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    private void scheduleRefresh(CachedKey loaded) {
+        long delay = Math.max(0, loaded.refreshAt() - System.currentTimeMillis());
+        refresher.schedule(this::refreshQuietly, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Tilko에서 Public Key 조회 후 파싱
+    private CachedKey fetch() throws Exception {
+        String url = apiHost + "/api/Auth/GetPublicKey?APIkey=" + apiKey;
+
+        Request request = new Request.Builder()
+                .url(url)
+                .get()
+                .build();
+
+        long startNanos = System.nanoTime();
+        Response response;
+        try {
+            response = tilkoHedgedExecutor.execute(request, publicKeyTimeoutSeconds);
+        } catch (IOException e) {
+            upstreamMetrics.recordFailedCall(UpstreamMetrics.TILKO, "GetPublicKey", 1, System.nanoTime() - startNanos, e);
+            throw e;
+        }
+
+        try (response) {
+            upstreamMetrics.recordCall(UpstreamMetrics.TILKO, "GetPublicKey", response.code(), 1,
+                    System.nanoTime() - startNanos);
+            if (response.body() == null) {
+                throw new IOException("Response body is null");
+            }
+
+            String responseStr = response.body().string();
+            JSONParser jsonParser = new JSONParser();
+            JSONObject jsonObject = (JSONObject) jsonParser.parse(responseStr);
+
+            String publicKeyStr = (String) jsonObject.get("PublicKey");
+            if (publicKeyStr == null) {
+                throw new RuntimeException("Public Key가 null입니다.");
+            }
+
+            byte[] keyBytes = Base64.getDecoder().decode(publicKeyStr);
+            PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(keyBytes));
+
+            long now = System.currentTimeMillis();
+            long expiresAt = now + TimeUnit.MINUTES.toMillis(ttlMinutes);
+            long refreshAt = expiresAt - TimeUnit.MINUTES.toMillis(Math.min(refreshAheadMinutes, ttlMinutes));
+
+            log.info("tilko.publicKey.refreshed ttlMinutes={}", ttlMinutes);
+            return new CachedKey(publicKey, refreshAt, expiresAt);
+        }
+    }
+
+    private record CachedKey(PublicKey publicKey, long refreshAt, long expiresAt) {
+    }
+}
@@ -0,0 +1,101 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.dto.TilkoResultDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Tilko 조회 응답 스트리밍 파서
+ * 응답 본문 전체를 문자열/트리로 만들지 않고, ResultList 항목을 하나씩 타입 객체로 읽으면서 바로 필터링한다.
+ * 매핑하지 않은 필드는 버리지 않고 extra로 보존해 클라이언트가 받는 응답 모양은 Tilko 원본과 같다.
+ */
+@Component
+public class TilkoResponseReader {
+
+    private static final Logger log = LoggerFactory.getLogger(TilkoResponseReader.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory jsonFactory = objectMapper.getFactory();
+
+    /**
+     * 응답 스트림을 읽어 TilkoResultDto로 변환
+     *
+     * @param in         응답 본문 스트림
+     * @param recordType ResultList 항목 타입
+     * @param filter     ResultList에 남길 항목 조건 (읽는 즉시 적용)
+     */
+    public <T> TilkoResultDto<T> read(InputStream in, Class<T> recordType, Predicate<T> filter) throws IOException {
+        TilkoResultDto<T> result = new TilkoResultDto<>();
+
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Tilko 응답이 JSON 객체가 아닙니다.");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+
+                switch (fieldName) {
+                    case "Status" -> result.setStatus(textOrNull(parser, valueToken));
+                    case "Message" -> result.setMessage(textOrNull(parser, valueToken));
+                    case "ErrorLog" -> result.setErrorLog(textOrNull(parser, valueToken));
+                    case "ResultList" -> result.setResultList(readList(parser, valueToken, recordType, filter));
+                    default -> result.putExtra(fieldName, objectMapper.readTree(parser));
+                }
+            }
+        }
+
+        return result;
+    }
+
+    // ResultList 배열을 항목 단위로 읽으며 필터링
+    private <T> List<T> readList(JsonParser parser, JsonToken token, Class<T> recordType,
+                                 Predicate<T> filter) throws IOException {
+        List<T> records = new ArrayList<>();
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return records;
+        }
+
+        int total = 0;
+        JsonToken itemToken;
+        while ((itemToken = parser.nextToken()) != JsonToken.END_ARRAY && itemToken != null) {
+            if (itemToken != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            T record = objectMapper.readValue(parser, recordType);
+            total++;
+            if (filter.test(record)) {
+                records.add(record);
+            }
+        }
+
+        log.debug("tilko.response.parsed records={} total={}", records.size(), total);
+        return records;
+    }
+
+    private String textOrNull(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
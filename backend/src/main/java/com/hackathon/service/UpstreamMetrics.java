@@ -0,0 +1,159 @@
+package com.hackathon.service;
+
+import com.hackathon.client.CircuitOpenException;
+import com.hackathon.client.ConcurrencyLimitExceededException;
+import com.hackathon.client.RateLimitExceededException;
+import com.hackathon.util.ServerTiming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림(Tilko, Claude) 호출 지표
+ * 느린 요청이 Tilko 때문인지, Claude 때문인지, 우리 쪽 처리(암호화/파싱) 때문인지 구분할 수 있도록
+ * HTTP 호출 시간과 처리 단계 시간을 나눠서 기록한다. (/actuator/prometheus 로 노출)
+ * - upstream.call: 업스트림 HTTP 호출 시간 (upstream, endpoint, status, attempt)
+ * - upstream.processing: 호출 전후 처리 단계 시간 (upstream, step)
+ * - upstream.payload.size: 요청/응답 본문 크기 (upstream, endpoint, direction)
+ * - upstream.response.records: 응답 ResultList 건수 (upstream, endpoint)
+ * - claude.tokens: Claude 사용 토큰 (model, type)
+ * endpoint는 고정된 API 경로 마지막 부분, status는 HTTP 코드라 태그 조합 수가 제한된다.
+ * 호출/단계 시간은 Server-Timing 대상 요청이면 해당 요청의 ServerTiming에도 더한다.
+ */
+@Component
+public class UpstreamMetrics {
+
+    public static final String TILKO = "tilko";
+    public static final String CLAUDE = "claude";
+
+    // HTTP 응답을 받지 못한 호출의 status 태그
+    public static final String IO_ERROR = "IO_ERROR";
+
+    // upstream.processing 단계 이름
+    public static final String STEP_PUBLIC_KEY = "public-key";
+    public static final String STEP_RSA_ENCRYPT = "rsa-encrypt";
+    public static final String STEP_AES_ENCRYPT = "aes-encrypt";
+    public static final String STEP_RESPONSE_PARSE = "response-parse";
+    public static final String STEP_FILTER = "filter";
+    public static final String STEP_PROMPT_BUILD = "prompt-build";
+
+    private final MeterRegistry meterRegistry;
+
+    public UpstreamMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 업스트림 HTTP 호출 시간
+     *
+     * @param status  HTTP 응답 코드 (응답이 없으면 IO_ERROR)
+     * @param attempt 재시도 포함 몇 번째 시도인지 (1부터)
+     */
+    public void recordCall(String upstream, String endpoint, String status, int attempt, long elapsedNanos) {
+        Timer.builder("upstream.call")
+                .description("업스트림 HTTP 호출 시간 (응답 헤더 수신까지)")
+                .tag("upstream", upstream)
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .tag("attempt", String.valueOf(attempt))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        ServerTiming.add(CLAUDE.equals(upstream) ? ServerTiming.Phase.CLAUDE : ServerTiming.Phase.TILKO, elapsedNanos);
+    }
+
+    public void recordCall(String upstream, String endpoint, int httpStatus, int attempt, long elapsedNanos) {
+        recordCall(upstream, endpoint, String.valueOf(httpStatus), attempt, elapsedNanos);
+    }
+
+    /**
+     * 응답을 받지 못한 호출 (서킷/호출 한도/동시 요청 한도로 보내지도 않은 호출은 제외)
+     */
+    public void recordFailedCall(String upstream, String endpoint, int attempt, long elapsedNanos, IOException e) {
+        if (e instanceof CircuitOpenException || e instanceof RateLimitExceededException
+                || e instanceof ConcurrencyLimitExceededException) {
+            return;
+        }
+        recordCall(upstream, endpoint, IO_ERROR, attempt, elapsedNanos);
+    }
+
+    /**
+     * 호출 전후 처리 단계 시간 (public-key, rsa-encrypt, aes-encrypt, response-parse 등)
+     */
+    public void recordStep(String upstream, String step, long elapsedNanos) {
+        Timer.builder("upstream.processing")
+                .description("업스트림 호출 전후 서버 내부 처리 시간")
+                .tag("upstream", upstream)
+                .tag("step", step)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        ServerTiming.Phase phase = switch (step) {
+            case STEP_PUBLIC_KEY -> ServerTiming.Phase.PUBLIC_KEY;
+            case STEP_RSA_ENCRYPT -> ServerTiming.Phase.RSA;
+            case STEP_AES_ENCRYPT -> ServerTiming.Phase.AES;
+            case STEP_FILTER -> ServerTiming.Phase.FILTER;
+            case STEP_PROMPT_BUILD -> ServerTiming.Phase.PROMPT;
+            case STEP_RESPONSE_PARSE -> CLAUDE.equals(upstream) ? ServerTiming.Phase.CLAUDE_PARSE : ServerTiming.Phase.PARSE;
+            default -> null;
+        };
+        if (phase != null) {
+            ServerTiming.add(phase, elapsedNanos);
+        }
+    }
+
+    public void recordRequestSize(String upstream, String endpoint, long bytes) {
+        payloadSize(upstream, endpoint, "request").record(bytes);
+    }
+
+    public void recordResponseSize(String upstream, String endpoint, long bytes) {
+        payloadSize(upstream, endpoint, "response").record(bytes);
+    }
+
+    public void recordRecords(String upstream, String endpoint, int records) {
+        DistributionSummary.builder("upstream.response.records")
+                .description("응답 ResultList 건수")
+                .tag("upstream", upstream)
+                .tag("endpoint", endpoint)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(records);
+    }
+
+    /**
+     * Claude 응답 usage의 input_tokens / output_tokens (0이면 기록하지 않음)
+     */
+    public void recordTokens(String model, int inputTokens, int outputTokens) {
+        if (inputTokens > 0) {
+            tokens(model, "input").increment(inputTokens);
+        }
+        if (outputTokens > 0) {
+            tokens(model, "output").increment(outputTokens);
+        }
+    }
+
+    private DistributionSummary payloadSize(String upstream, String endpoint, String direction) {
+        return DistributionSummary.builder("upstream.payload.size")
+                .description("업스트림 요청/응답 본문 크기")
+                .baseUnit("bytes")
+                .tag("upstream", upstream)
+                .tag("endpoint", endpoint)
+                .tag("direction", direction)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter tokens(String model, String type) {
+        return Counter.builder("claude.tokens")
+                .description("Claude 사용 토큰 수")
+                .tag("model", model != null ? model : "unknown")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+}
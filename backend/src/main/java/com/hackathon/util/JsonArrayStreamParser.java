@@ -0,0 +1,77 @@
+package com.hackathon.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 조각으로 들어오는 텍스트에서 JSON 문자열 배열(["a", "b"])을 점진적으로 파싱
+ * 첫 '[' 이전의 텍스트(```json 등)는 건너뛰고, 문자열 원소가 닫힐 때마다 바로 콜백으로 넘긴다.
+ * 최상위 ']'를 만나면 완료 상태가 되고 이후 입력은 무시한다.
+ */
+public class JsonArrayStreamParser {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Consumer<String> onElement;
+    private final List<String> elements = new ArrayList<>();
+    private final StringBuilder raw = new StringBuilder();
+
+    private boolean started;
+    private boolean inString;
+    private boolean escaped;
+    private boolean done;
+
+    public JsonArrayStreamParser(Consumer<String> onElement) {
+        this.onElement = onElement;
+    }
+
+    /**
+     * 텍스트 조각 입력
+     *
+     * @return 배열이 닫혔으면 true (더 읽을 필요 없음)
+     */
+    public boolean feed(CharSequence chunk) throws IOException {
+        for (int i = 0; i < chunk.length() && !done; i++) {
+            char c = chunk.charAt(i);
+
+            if (!started) {
+                started = c == '[';
+                continue;
+            }
+
+            if (inString) {
+                raw.append(c);
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    // 이스케이프 처리는 Jackson에 맡김
+                    String element = OBJECT_MAPPER.readValue(raw.toString(), String.class);
+                    elements.add(element);
+                    onElement.accept(element);
+                }
+            } else if (c == '"') {
+                inString = true;
+                raw.setLength(0);
+                raw.append(c);
+            } else if (c == ']') {
+                done = true;
+            }
+        }
+        return done;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public List<String> getElements() {
+        return elements;
+    }
+}
@@ -0,0 +1,80 @@
+package com.hackathon.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로그용 개인정보/인증정보 가림 처리
+ * 이름, 생년월일, 휴대폰 번호, 토큰, 트랜잭션 ID는 원문을 로그에 남기지 않는다.
+ */
+public final class LogRedactor {
+
+    // JSON 본문에서 값을 가릴 키 (대소문자 무시)
+    private static final Pattern SENSITIVE_JSON_FIELD = Pattern.compile(
+            "(\"(?:UserName|userName|Name|BirthDate|birthDate|UserCellphoneNumber|userCellphoneNumber|phoneNumber"
+                    + "|Token|token|CxId|cxId|TxId|txId|ReqTxId|reqTxId|PublicKey|ENC-KEY|API-KEY)\"\\s*:\\s*)"
+                    + "(\"(?:[^\"\\\\]|\\\\.)*\")",
+            Pattern.CASE_INSENSITIVE);
+
+    private LogRedactor() {
+    }
+
+    // 홍길동 → 홍**
+    public static String name(String value) {
+        String plain = stripEnc(value);
+        if (plain == null || plain.isEmpty()) {
+            return plain;
+        }
+        return plain.charAt(0) + "*".repeat(Math.max(1, plain.length() - 1));
+    }
+
+    // 981014 → 98****
+    public static String birthDate(String value) {
+        String plain = stripEnc(value);
+        if (plain == null || plain.length() <= 2) {
+            return plain == null ? null : "**";
+        }
+        return plain.substring(0, 2) + "*".repeat(plain.length() - 2);
+    }
+
+    // 01012345678 → 010****5678
+    public static String phone(String value) {
+        String digits = stripEnc(value);
+        if (digits == null) {
+            return null;
+        }
+        digits = digits.replaceAll("[^0-9]", "");
+        if (digits.length() < 8) {
+            return "***";
+        }
+        return digits.substring(0, 3) + "****" + digits.substring(digits.length() - 4);
+    }
+
+    // 토큰/ID는 앞 4자리와 길이만
+    public static String token(String value) {
+        if (value == null) {
+            return null;
+        }
+        return (value.length() <= 4 ? "" : value.substring(0, 4)) + "…(" + value.length() + ")";
+    }
+
+    /**
+     * JSON 문자열에서 민감 필드 값을 가림 ("UserName":"홍길동" → "UserName":"***")
+     */
+    public static String json(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        Matcher matcher = SENSITIVE_JSON_FIELD.matcher(payload);
+        StringBuilder sb = new StringBuilder(payload.length());
+        while (matcher.find()) {
+            matcher.appendReplacement(sb, Matcher.quoteReplacement(matcher.group(1) + "\"***\""));
+        }
+        matcher.appendTail(sb);
+        return sb.toString();
+    }
+
+    private static String stripEnc(String value) {
+        return value == null ? null : value.replace("ENC:", "").trim();
+    }
+}
@@ -0,0 +1,113 @@
+package com.hackathon.util;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 요청별 처리 단계 시간 (Server-Timing 응답 헤더용)
+ * ServerTimingFilter가 대상 요청에서 start()로 시작하고, 각 단계는 add()로 누적한다.
+ * 실행기 스레드로는 RequestContextTaskDecorator가 전달하므로, 병렬 조회(건강검진 + 복용약물)의
+ * 같은 단계 시간은 합산된다. (total은 요청 전체 경과 시간)
+ * 대상 요청이 아니면 add()는 ThreadLocal 조회 한 번으로 끝난다.
+ */
+public final class ServerTiming {
+
+    public enum Phase {
+        PUBLIC_KEY("pubkey", "Tilko public key"),
+        RSA("rsa", "RSA envelope"),
+        AES("aes", "AES field encryption"),
+        TILKO("tilko", "Tilko HTTP"),
+        PARSE("parse", "JSON parse"),
+        FILTER("filter", "Filtering"),
+        PROMPT("prompt", "Prompt build"),
+        CLAUDE("claude", "Claude call"),
+        CLAUDE_PARSE("claude-parse", "Claude response parse");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(String metricName, String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(PHASES.length);
+
+    private ServerTiming() {
+    }
+
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void add(Phase phase, long elapsedNanos) {
+        ServerTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.phaseNanos.addAndGet(phase.ordinal(), elapsedNanos);
+        }
+    }
+
+    /**
+     * 제출한 스레드의 타임라인을 실행 스레드에서도 사용하도록 감쌈
+     */
+    public static Runnable wrap(Runnable runnable) {
+        ServerTiming timing = CURRENT.get();
+        if (timing == null) {
+            return runnable;
+        }
+        return () -> {
+            ServerTiming previous = CURRENT.get();
+            CURRENT.set(timing);
+            try {
+                runnable.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+
+    /**
+     * 예: pubkey;dur=0.4;desc="Tilko public key", tilko;dur=812.3;desc="Tilko HTTP", total;dur=845.0
+     * (시간이 기록된 단계만 포함)
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(256);
+        for (Phase phase : PHASES) {
+            long nanos = phaseNanos.get(phase.ordinal());
+            if (nanos > 0) {
+                appendMetric(header, phase.metricName, nanos);
+                header.append(";desc=\"").append(phase.description).append('"');
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.1f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,123 @@
+-- 애플리케이션 스키마 (spring.sql.init으로 시작 시 실행, 이미 있는 테이블은 그대로 둠)
+-- JPA ddl-auto는 사용하지 않으므로 엔티티를 바꾸면 이 파일도 함께 수정한다.
+
+-- 기저질환 분석 결과 캐시
+CREATE TABLE IF NOT EXISTS disease_analysis_cache (
+    cache_key      VARCHAR(64)  NOT NULL,
+    model          VARCHAR(100) NOT NULL,
+    prompt_version VARCHAR(64)  NOT NULL,
+    result_json    MEDIUMTEXT   NOT NULL,
+    created_at     DATETIME(6)  NOT NULL,
+    expires_at     DATETIME(6)  NOT NULL,
+    PRIMARY KEY (cache_key),
+    KEY idx_disease_analysis_cache_expires_at (expires_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- Claude Message Batches 일괄 분석
+CREATE TABLE IF NOT EXISTS claude_analysis_batch (
+    batch_id           VARCHAR(100) NOT NULL,
+    model              VARCHAR(100) NOT NULL,
+    prompt_version     VARCHAR(64)  NOT NULL,
+    processing_status  VARCHAR(20)  NOT NULL,
+    results_collected  BIT          NOT NULL,
+    request_count      INT          NOT NULL,
+    succeeded_count    INT          NOT NULL,
+    errored_count      INT          NOT NULL,
+    canceled_count     INT          NOT NULL,
+    expired_count      INT          NOT NULL,
+    input_tokens       BIGINT       NOT NULL,
+    output_tokens      BIGINT       NOT NULL,
+    estimated_cost_usd DOUBLE       NOT NULL,
+    created_at         DATETIME(6)  NOT NULL,
+    ended_at           DATETIME(6),
+    collected_at       DATETIME(6),
+    PRIMARY KEY (batch_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS batch_analysis_result (
+    id            BIGINT        NOT NULL AUTO_INCREMENT,
+    batch_id      VARCHAR(100)  NOT NULL,
+    custom_id     VARCHAR(64)   NOT NULL,
+    patient_id    VARCHAR(100)  NOT NULL,
+    cache_key     VARCHAR(64)   NOT NULL,
+    status        VARCHAR(20)   NOT NULL,
+    result_json   MEDIUMTEXT,
+    error_message VARCHAR(1000),
+    input_tokens  INT           NOT NULL,
+    output_tokens INT           NOT NULL,
+    completed_at  DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_batch_analysis_result_custom_id (batch_id, custom_id),
+    KEY idx_batch_analysis_result_patient_id (patient_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 환자별 Tilko 조회 이력 동기화 상태
+CREATE TABLE IF NOT EXISTS patient_sync_state (
+    patient_key          VARCHAR(64) NOT NULL,
+    medication_synced_at DATETIME(6),
+    latest_visit_date    VARCHAR(8),
+    checkup_synced_at    DATETIME(6),
+    latest_checkup_date  VARCHAR(8),
+    PRIMARY KEY (patient_key)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 진료/투약 내역 (처방 약품 한 줄 단위)
+-- 자연 키 유니크 인덱스가 (patient_key, visit_date)로 시작하므로 환자별 날짜 범위 조회도 이 인덱스를 사용한다.
+-- 인덱스를 더 두면 대량 삽입이 그만큼 느려지므로 별도 (환자, 날짜) 인덱스는 만들지 않는다.
+CREATE TABLE IF NOT EXISTS medication_history (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    patient_key      VARCHAR(64)  NOT NULL,
+    visit_date       CHAR(8)      NOT NULL,
+    jin_ryo_gaesi_il VARCHAR(20),
+    institution      VARCHAR(200) NOT NULL,
+    treatment_type   VARCHAR(50)  NOT NULL DEFAULT '',
+    drug_name        VARCHAR(300) NOT NULL,
+    drug_efficacy    VARCHAR(300),
+    dosage_days      VARCHAR(20),
+    visit_extra_json  TEXT,
+    detail_extra_json TEXT,
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_medication_history_natural_key (patient_key, visit_date, institution, treatment_type, drug_name)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 건강검진 내역
+CREATE TABLE IF NOT EXISTS health_checkup_history (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    patient_key      VARCHAR(64)  NOT NULL,
+    checkup_date     CHAR(8)      NOT NULL,
+    checkup_year     VARCHAR(10),
+    check_up_date    VARCHAR(10),
+    code             VARCHAR(50)  NOT NULL,
+    location         VARCHAR(200) NOT NULL,
+    description      VARCHAR(500),
+    inspections_json MEDIUMTEXT,
+    extra_json       TEXT,
+    created_at       DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_health_checkup_history_natural_key (patient_key, checkup_date, location, code)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 회원 (회원가입 완료 요청은 저널에 먼저 기록하고 백그라운드에서 배치 삽입)
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id       VARCHAR(100) NOT NULL,
+    user_name     VARCHAR(100),
+    phone_number  VARCHAR(20),
+    birth_date    VARCHAR(8),
+    registered_at DATETIME(6)  NOT NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_users_user_id (user_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+-- 간편인증 세션 (auth.session.store=jdbc 일 때 서버 간 공유, 키는 세션 ID의 SHA-256)
+CREATE TABLE IF NOT EXISTS auth_session (
+    session_hash CHAR(64)    NOT NULL,
+    auth_json    TEXT        NOT NULL,
+    expires_at   DATETIME(6) NOT NULL,
+    created_at   DATETIME(6) NOT NULL,
+    verified_at  DATETIME(6),             -- 이 세션의 인증 정보로 Tilko 조회가 처음 성공한 시각 (NULL: 미확인)
+    PRIMARY KEY (session_hash),
+    KEY idx_auth_session_expires_at (expires_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,93 @@
+package com.hackathon.client;
+
+import com.hackathon.support.StubHttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 헤지 요청이 이겼을 때 응답 시간 표본 기록 (로컬 업스트림 대역 서버 사용)
+ */
+class HedgedRequestExecutorTest {
+
+    private static final String PATH = "/records";
+    private static final long INITIAL_DELAY_MILLIS = 300;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private StubHttpServer upstream;
+    private HedgedRequestExecutor executor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        upstream = StubHttpServer.start();
+        // 표본 1개부터 백분위수 사용, 헤지 비율 상한 없음
+        executor = new HedgedRequestExecutor("stub", new OkHttpClient(), 95, 10,
+                1, INITIAL_DELAY_MILLIS, 1, 1.0, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    void hedgeWinRecordsTimeSincePrimarySend() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        // 첫 요청은 붙잡아 두고 헤지 요청은 바로 응답
+        upstream.route("GET", PATH, exchange -> {
+            if (attempts.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            StubHttpServer.respond(exchange, 200, "application/json", "{}");
+        });
+
+        try (Response response = executor.execute(new Request.Builder().url(upstream.url(PATH)).get().build(), 10)) {
+            assertThat(response.code()).isEqualTo(200);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(registry.get("http.client.hedge.wins").counter().count()).isEqualTo(1);
+        // 헤지 자체의 응답 시간(수 ms)이 아니라 첫 요청 이후 경과 시간이 표본이 되어 기준이 내려가지 않음
+        assertThat(registry.get("http.client.hedge.delay").gauge().value()).isGreaterThanOrEqualTo(INITIAL_DELAY_MILLIS);
+    }
+
+    @Test
+    void publicKeySizingHedgesFirstSlowCall() throws Exception {
+        // tilko.hedge 설정과 같은 크기 (표본 24개, 최소 3개, 비율 상한 1.0) - 시작 직후 첫 조회부터 헤지
+        SimpleMeterRegistry publicKeyRegistry = new SimpleMeterRegistry();
+        HedgedRequestExecutor publicKeyExecutor = new HedgedRequestExecutor("stub", new OkHttpClient(), 95, 24,
+                50, INITIAL_DELAY_MILLIS, 3, 1.0, publicKeyRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger attempts = new AtomicInteger();
+        upstream.route("GET", PATH, exchange -> {
+            if (attempts.incrementAndGet() == 1) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            StubHttpServer.respond(exchange, 200, "application/json", "{}");
+        });
+
+        try (Response response = publicKeyExecutor.execute(
+                new Request.Builder().url(upstream.url(PATH)).get().build(), 10)) {
+            assertThat(response.code()).isEqualTo(200);
+        } finally {
+            release.countDown();
+        }
+
+        assertThat(upstream.hits("GET", PATH)).isEqualTo(2);
+        assertThat(publicKeyRegistry.get("http.client.hedge.sent").counter().count()).isEqualTo(1);
+        assertThat(publicKeyRegistry.get("http.client.hedge.skipped").counter().count()).isZero();
+    }
+}
@@ -0,0 +1,41 @@
+package com.hackathon.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class BoundedVirtualThreadExecutorTest {
+
+    @Test
+    void rejectsInsteadOfBlockingWhenLimitReached() throws Exception {
+        BoundedVirtualThreadExecutor executor = new BoundedVirtualThreadExecutor("test-vt-", 1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // 한도에 닿으면 호출 스레드를 막지 않고 바로 거절
+        assertThatThrownBy(() -> executor.execute(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(executor.getActiveCount()).isEqualTo(1);
+
+        // 앞 작업이 끝나면 자리가 반환되어 다시 받음
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> executor.getActiveCount() == 0);
+        CountDownLatch ran = new CountDownLatch(1);
+        executor.execute(ran::countDown);
+        assertThat(ran.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 세션별 Tilko 조회 확인 여부 (메모리 저장소)
+ */
+class AuthSessionServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthSessionService authSessions = new AuthSessionService(meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        InMemoryAuthSessionStore store = new InMemoryAuthSessionStore(meterRegistry);
+        ReflectionTestUtils.setField(store, "maxEntries", 100);
+
+        ReflectionTestUtils.setField(authSessions, "enabled", true);
+        ReflectionTestUtils.setField(authSessions, "ttlMinutes", 30L);
+        ReflectionTestUtils.setField(authSessions, "exposeAuthMaterial", false);
+        ReflectionTestUtils.setField(authSessions, "store", store);
+    }
+
+    @Test
+    void sessionIsVerifiedOnlyAfterMarked() {
+        AuthResponseDto session = authSessions.resolve(authSessions.open(auth()));
+        assertThat(authSessions.isVerified(session)).isFalse();
+
+        authSessions.markVerified(session);
+        assertThat(authSessions.isVerified(authSessions.resolve(session))).isTrue();
+
+        // 같은 사람이라도 새 간편인증 세션은 다시 확인 필요
+        AuthResponseDto next = authSessions.resolve(authSessions.open(auth()));
+        assertThat(authSessions.isVerified(next)).isFalse();
+    }
+
+    @Test
+    void requestWithoutSessionIsNeverVerified() {
+        AuthResponseDto raw = auth();
+        authSessions.markVerified(raw);
+        assertThat(authSessions.isVerified(raw)).isFalse();
+        assertThat(authSessions.isVerified(null)).isFalse();
+    }
+
+    @Test
+    void patientKeyComesOnlyFromVerifiedSession() {
+        AuthResponseDto session = authSessions.resolve(authSessions.open(auth()));
+        assertThat(authSessions.patientKeyFor(session.getSessionId())).isNull();
+
+        authSessions.markVerified(session);
+        assertThat(authSessions.patientKeyFor(session.getSessionId())).isEqualTo("patient-key");
+        assertThat(authSessions.patientKeyFor(null)).isNull();
+        assertThat(authSessions.patientKeyFor("unknown-session")).isNull();
+    }
+
+    @Test
+    void closedSessionIsNotVerified() {
+        AuthResponseDto session = authSessions.resolve(authSessions.open(auth()));
+        authSessions.markVerified(session);
+
+        authSessions.close(session.getSessionId());
+        assertThat(authSessions.isVerified(session)).isFalse();
+    }
+
+    private static AuthResponseDto auth() {
+        AuthResponseDto auth = new AuthResponseDto();
+        auth.setCxId("cx-1");
+        auth.setReqTxId("req-1");
+        auth.setToken("token");
+        auth.setTxId("tx-1");
+        auth.setUserName("홍길동");
+        auth.setBirthDate("19900101");
+        auth.setUserCellphoneNumber("01012345678");
+        auth.setPatientKey("patient-key");
+        return auth;
+    }
+}
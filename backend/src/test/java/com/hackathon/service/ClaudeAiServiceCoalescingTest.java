@@ -0,0 +1,125 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.hackathon.service.ClaudeAiServiceFixtures.MESSAGES_PATH;
+import static com.hackathon.service.ClaudeAiServiceFixtures.claudeAiService;
+import static com.hackathon.service.ClaudeAiServiceFixtures.mapBackedCache;
+import static com.hackathon.service.ClaudeAiServiceFixtures.medicationData;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 같은 처방 데이터 분석 요청의 single-flight 동작 (로컬 Claude 대역 서버 사용)
+ */
+class ClaudeAiServiceCoalescingTest {
+
+    private static final String CACHE_KEY = "analysis-key";
+    private static final String CLAUDE_RESPONSE = """
+            {"id":"msg_1","type":"message","role":"assistant","model":"claude-test",
+             "content":[{"type":"text","text":"[\\"고혈압\\", \\"당뇨병\\"]"}],
+             "usage":{"input_tokens":120,"output_tokens":12}}
+            """;
+
+    private StubHttpServer claude;
+    private ExecutorService analysisExecutor;
+    private ExecutorService callers;
+
+    private final Map<String, DiseaseAnalysisDto> cached = new ConcurrentHashMap<>();
+    private DiseaseAnalysisCache analysisCache;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        claude = StubHttpServer.start();
+        analysisExecutor = Executors.newFixedThreadPool(4);
+        callers = Executors.newCachedThreadPool();
+
+        analysisCache = mapBackedCache(CACHE_KEY, cached);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        analysisExecutor.shutdownNow();
+        claude.close();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneUpstreamCall() throws Exception {
+        int callerCount = 8;
+        CountDownLatch cacheMisses = new CountDownLatch(callerCount);
+        doAnswer(invocation -> {
+            cacheMisses.countDown();
+            return cached.get(invocation.<String>getArgument(0));
+        }).when(analysisCache).get(anyString());
+
+        // 모든 요청이 캐시를 놓친 뒤에야 응답 (그 전에 응답하면 늦은 요청은 캐시로 끝나 공유 여부를 확인할 수 없음)
+        claude.route("POST", MESSAGES_PATH, exchange -> {
+            cacheMisses.await(5, TimeUnit.SECONDS);
+            Thread.sleep(200);
+            StubHttpServer.respond(exchange, 200, "application/json", CLAUDE_RESPONSE);
+        });
+        ClaudeAiService service = newService(10);
+
+        List<Future<DiseaseAnalysisDto>> results = new ArrayList<>();
+        for (int i = 0; i < callerCount; i++) {
+            results.add(callers.submit(() -> service.analyzePrescriptionForDiseases(medicationData())));
+        }
+
+        for (Future<DiseaseAnalysisDto> result : results) {
+            DiseaseAnalysisDto analysis = result.get(10, TimeUnit.SECONDS);
+            assertThat(analysis.getStatus()).isEqualTo("SUCCESS");
+            assertThat(analysis.getPredictedDiseases())
+                    .extracting(DiseaseAnalysisDto.PredictedDisease::getDiseaseName)
+                    .containsExactly("고혈압", "당뇨병");
+        }
+        assertThat(claude.hits("POST", MESSAGES_PATH)).isEqualTo(1);
+    }
+
+    @Test
+    void callerThatStopsWaitingDoesNotCancelSharedCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        claude.route("POST", MESSAGES_PATH, exchange -> {
+            release.await(10, TimeUnit.SECONDS);
+            StubHttpServer.respond(exchange, 200, "application/json", CLAUDE_RESPONSE);
+        });
+        ClaudeAiService service = newService(1);
+
+        // 대기 시간(1초) 안에 응답이 없으면 호출 측은 오류로 끝남
+        DiseaseAnalysisDto gaveUp = service.analyzePrescriptionForDiseases(medicationData());
+        assertThat(gaveUp.getStatus()).isEqualTo("ERROR");
+
+        // 공유 호출은 계속 진행되어 결과가 캐시에 저장됨
+        release.countDown();
+        verify(analysisCache, timeout(5_000)).put(eq(CACHE_KEY),
+                argThat(result -> "SUCCESS".equals(result.getStatus())));
+
+        // 다음 요청은 업스트림을 다시 부르지 않고 저장된 결과 사용
+        DiseaseAnalysisDto next = service.analyzePrescriptionForDiseases(medicationData());
+        assertThat(next.getStatus()).isEqualTo("SUCCESS");
+        assertThat(claude.hits("POST", MESSAGES_PATH)).isEqualTo(1);
+    }
+
+    private ClaudeAiService newService(long waitSeconds) {
+        return claudeAiService(claude.url(MESSAGES_PATH), analysisCache, analysisExecutor, waitSeconds);
+    }
+}
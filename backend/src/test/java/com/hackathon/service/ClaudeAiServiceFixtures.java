@@ -0,0 +1,71 @@
+package com.hackathon.service;
+
+import com.hackathon.config.PayloadSampler;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Claude 대역 서버를 바라보는 ClaudeAiService와 테스트용 처방 데이터
+ */
+final class ClaudeAiServiceFixtures {
+
+    static final String MESSAGES_PATH = "/v1/messages";
+
+    private ClaudeAiServiceFixtures() {
+    }
+
+    static ClaudeAiService claudeAiService(String apiUrl, DiseaseAnalysisCache analysisCache, Executor executor,
+                                           long waitSeconds) {
+        AnalysisPromptBuilder promptBuilder = new AnalysisPromptBuilder(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(promptBuilder, "inputTokenBudget", 3000);
+
+        ClaudeAiService service = new ClaudeAiService();
+        ReflectionTestUtils.setField(service, "claudeApiUrl", apiUrl);
+        ReflectionTestUtils.setField(service, "claudeApiKey", "test-key");
+        ReflectionTestUtils.setField(service, "claudeModel", "claude-test");
+        ReflectionTestUtils.setField(service, "maxTokens", 256);
+        ReflectionTestUtils.setField(service, "claudeHttpClient", new OkHttpClient());
+        ReflectionTestUtils.setField(service, "analysisCache", analysisCache);
+        ReflectionTestUtils.setField(service, "promptBuilder", promptBuilder);
+        ReflectionTestUtils.setField(service, "payloadSampler", new PayloadSampler());
+        ReflectionTestUtils.setField(service, "upstreamMetrics", new UpstreamMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "claudeAnalysisExecutor", executor);
+        ReflectionTestUtils.setField(service, "coalescingWaitSeconds", waitSeconds);
+        return service;
+    }
+
+    // 모든 입력을 같은 키로 보는 메모리 캐시 (조회 → 공유 호출 → 저장 순서는 실제와 같음)
+    static DiseaseAnalysisCache mapBackedCache(String cacheKey, Map<String, DiseaseAnalysisDto> entries) {
+        DiseaseAnalysisCache analysisCache = mock(DiseaseAnalysisCache.class);
+        when(analysisCache.keyFor(any())).thenReturn(cacheKey);
+        doAnswer(invocation -> entries.get(invocation.<String>getArgument(0))).when(analysisCache).get(anyString());
+        doAnswer(invocation -> entries.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(analysisCache).put(anyString(), any());
+        return analysisCache;
+    }
+
+    static TilkoResultDto<MedicationRecordDto> medicationData(MedicationRecordDto.Detail... details) {
+        MedicationRecordDto visit = new MedicationRecordDto("2024-03-02", "행복약국", "처방조제", List.of(details));
+        return new TilkoResultDto<>("OK", "성공", null, List.of(visit));
+    }
+
+    static TilkoResultDto<MedicationRecordDto> medicationData() {
+        return medicationData(
+                new MedicationRecordDto.Detail("노바스크정5mg", "혈압강하제", "30"),
+                new MedicationRecordDto.Detail("다이아벡스정500mg", "당뇨병용제", "30"));
+    }
+}
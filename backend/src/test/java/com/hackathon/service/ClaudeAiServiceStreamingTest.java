@@ -0,0 +1,140 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.support.StubHttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.hackathon.service.ClaudeAiServiceFixtures.MESSAGES_PATH;
+import static com.hackathon.service.ClaudeAiServiceFixtures.claudeAiService;
+import static com.hackathon.service.ClaudeAiServiceFixtures.mapBackedCache;
+import static com.hackathon.service.ClaudeAiServiceFixtures.medicationData;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 스트리밍 분석: 완료/중단 구분과 single-flight 공유 (로컬 Claude 대역 서버 사용)
+ */
+class ClaudeAiServiceStreamingTest {
+
+    private static final String CACHE_KEY = "analysis-key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StubHttpServer claude;
+    private ExecutorService analysisExecutor;
+
+    private final Map<String, DiseaseAnalysisDto> cached = new ConcurrentHashMap<>();
+    private final List<String> streamedDiseases = new CopyOnWriteArrayList<>();
+    private DiseaseAnalysisCache analysisCache;
+    private ClaudeAiService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        claude = StubHttpServer.start();
+        // 공유 분석 스레드 하나 - 기다리는 스트림이 이 스레드를 점유하면 진행되지 않음
+        analysisExecutor = Executors.newSingleThreadExecutor();
+        analysisCache = mapBackedCache(CACHE_KEY, cached);
+        service = claudeAiService(claude.url(MESSAGES_PATH), analysisCache, analysisExecutor, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analysisExecutor.shutdownNow();
+        claude.close();
+    }
+
+    @Test
+    void completeStreamIsSuccessAndCached() throws Exception {
+        String events = sse("```json\n[\"고혈", "압\", \"당뇨병\"", "]\n```");
+        claude.route("POST", MESSAGES_PATH, exchange ->
+                StubHttpServer.respond(exchange, 200, "text/event-stream", events));
+
+        DiseaseAnalysisDto result = stream().get(10, TimeUnit.SECONDS);
+
+        assertThat(result.getStatus()).isEqualTo("SUCCESS");
+        assertThat(streamedDiseases).containsExactly("고혈압", "당뇨병");
+        assertThat(cached).containsKey(CACHE_KEY);
+    }
+
+    @Test
+    void truncatedStreamIsPartialAndNotCached() throws Exception {
+        // max_tokens에 걸려 배열이 닫히기 전에 끝난 응답
+        String events = sse("[\"고혈압\", \"당뇨");
+        claude.route("POST", MESSAGES_PATH, exchange ->
+                StubHttpServer.respond(exchange, 200, "text/event-stream", events));
+
+        DiseaseAnalysisDto result = stream().get(10, TimeUnit.SECONDS);
+
+        assertThat(result.getStatus()).isEqualTo("PARTIAL_SUCCESS");
+        assertThat(result.getPredictedDiseases())
+                .extracting(DiseaseAnalysisDto.PredictedDisease::getDiseaseName).containsExactly("고혈압");
+        assertThat(streamedDiseases).containsExactly("고혈압");
+        verify(analysisCache, never()).put(anyString(), any());
+    }
+
+    @Test
+    void streamJoinsInFlightAnalysisWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        claude.route("POST", MESSAGES_PATH, exchange -> {
+            release.await(10, TimeUnit.SECONDS);
+            StubHttpServer.respond(exchange, 200, "application/json", """
+                    {"id":"msg_1","type":"message","role":"assistant","model":"claude-test",
+                     "content":[{"type":"text","text":"[\\"고혈압\\"]"}],
+                     "usage":{"input_tokens":120,"output_tokens":5}}
+                    """);
+        });
+
+        // 일반 분석이 공유 분석 스레드에서 Claude 응답을 기다리는 중
+        CompletableFuture<DiseaseAnalysisDto> leader =
+                CompletableFuture.supplyAsync(() -> service.analyzePrescriptionForDiseases(medicationData()));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> claude.hits("POST", MESSAGES_PATH) == 1);
+
+        // 같은 입력의 스트리밍 요청은 바로 반환되고 진행 중인 분석을 함께 기다림
+        CompletableFuture<DiseaseAnalysisDto> follower = stream();
+        assertThat(follower).isNotDone();
+
+        release.countDown();
+        assertThat(follower.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo("SUCCESS");
+        assertThat(leader.get(10, TimeUnit.SECONDS).getStatus()).isEqualTo("SUCCESS");
+        assertThat(streamedDiseases).containsExactly("고혈압");
+        assertThat(claude.hits("POST", MESSAGES_PATH)).isEqualTo(1);
+    }
+
+    private CompletableFuture<DiseaseAnalysisDto> stream() {
+        return service.streamPrescriptionAnalysis(medicationData(),
+                disease -> streamedDiseases.add(disease.getDiseaseName()));
+    }
+
+    // Claude Messages 스트리밍 이벤트 (텍스트 조각마다 content_block_delta 하나)
+    private String sse(String... textChunks) {
+        StringBuilder events = new StringBuilder()
+                .append("event: message_start\n")
+                .append("data: {\"type\":\"message_start\",\"message\":{\"usage\":{\"input_tokens\":120,\"output_tokens\":1}}}\n\n");
+        for (String text : textChunks) {
+            ObjectNode delta = objectMapper.createObjectNode().put("type", "content_block_delta").put("index", 0);
+            delta.putObject("delta").put("type", "text_delta").put("text", text);
+            events.append("event: content_block_delta\n").append("data: ").append(delta).append("\n\n");
+        }
+        return events.append("event: message_stop\n")
+                .append("data: {\"type\":\"message_stop\"}\n\n")
+                .toString();
+    }
+}
@@ -0,0 +1,205 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.config.PayloadSampler;
+import com.hackathon.domain.BatchAnalysisResult;
+import com.hackathon.domain.ClaudeAnalysisBatch;
+import com.hackathon.dto.BatchAnalysisReportDto;
+import com.hackathon.dto.BatchAnalysisRequestDto;
+import com.hackathon.dto.BatchAnalysisResultDto;
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.repository.BatchAnalysisResultRepository;
+import com.hackathon.repository.ClaudeAnalysisBatchRepository;
+import com.hackathon.support.StubHttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.hackathon.service.ClaudeAiServiceFixtures.claudeAiService;
+import static com.hackathon.service.ClaudeAiServiceFixtures.medicationData;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 일괄 분석 제출 → 상태 폴링 → 결과 파일 반영 → 저장 흐름 (로컬 Message Batches 대역 서버 사용)
+ */
+class ClaudeBatchServiceTest {
+
+    private static final String BATCHES_PATH = "/v1/messages/batches";
+    private static final String BATCH_ID = "msgbatch_test";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private StubHttpServer claude;
+    private ClaudeBatchService batchService;
+    private DiseaseAnalysisCache analysisCache;
+
+    // JPA 저장소 대신 메모리 저장
+    private final Map<String, ClaudeAnalysisBatch> batches = new ConcurrentHashMap<>();
+    private final Map<Long, BatchAnalysisResult> results = new ConcurrentHashMap<>();
+    private final AtomicLong resultIds = new AtomicLong();
+
+    private final AtomicReference<JsonNode> submitted = new AtomicReference<>();
+    private final AtomicInteger statusPolls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        claude = StubHttpServer.start();
+        claude.route("POST", BATCHES_PATH, exchange -> {
+            submitted.set(objectMapper.readTree(StubHttpServer.requestBody(exchange)));
+            StubHttpServer.respond(exchange, 200, "application/json",
+                    "{\"id\":\"" + BATCH_ID + "\",\"type\":\"message_batch\",\"processing_status\":\"in_progress\"}");
+        });
+        // 첫 폴링은 진행 중, 두 번째부터 종료
+        claude.route("GET", BATCHES_PATH + "/" + BATCH_ID, exchange -> {
+            String body = statusPolls.incrementAndGet() == 1
+                    ? "{\"id\":\"" + BATCH_ID + "\",\"processing_status\":\"in_progress\",\"results_url\":null}"
+                    : "{\"id\":\"" + BATCH_ID + "\",\"processing_status\":\"ended\",\"results_url\":\""
+                    + claude.url(BATCHES_PATH + "/" + BATCH_ID + "/results") + "\"}";
+            StubHttpServer.respond(exchange, 200, "application/json", body);
+        });
+        claude.route("GET", BATCHES_PATH + "/" + BATCH_ID + "/results", exchange ->
+                StubHttpServer.respond(exchange, 200, "application/binary", """
+                        {"custom_id":"patient-0","result":{"type":"succeeded","message":{"id":"msg_1","type":"message","role":"assistant","model":"claude-test","content":[{"type":"text","text":"[\\"고혈압\\"]"}],"usage":{"input_tokens":900,"output_tokens":20}}}}
+                        {"custom_id":"patient-1","result":{"type":"errored","error":{"type":"error","error":{"type":"invalid_request_error","message":"prompt is too long"}}}}
+                        """));
+
+        analysisCache = mock(DiseaseAnalysisCache.class);
+        when(analysisCache.keyFor(any())).thenReturn("key-p1", "key-p2");
+
+        batchService = new ClaudeBatchService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(batchService, "claudeApiKey", "test-key");
+        ReflectionTestUtils.setField(batchService, "claudeModel", "claude-test");
+        ReflectionTestUtils.setField(batchService, "batchUrl", claude.url(BATCHES_PATH));
+        ReflectionTestUtils.setField(batchService, "maxRequestsPerBatch", 1000);
+        ReflectionTestUtils.setField(batchService, "inputPricePerMtok", 3.0);
+        ReflectionTestUtils.setField(batchService, "outputPricePerMtok", 15.0);
+        ReflectionTestUtils.setField(batchService, "discountRate", 0.5);
+        ReflectionTestUtils.setField(batchService, "claudeHttpClient", new OkHttpClient());
+        // 요청 생성/결과 파싱만 사용 (실시간 호출 없음)
+        ReflectionTestUtils.setField(batchService, "claudeAiService", claudeAiService(null, analysisCache, null, 0));
+        ReflectionTestUtils.setField(batchService, "analysisCache", analysisCache);
+        ReflectionTestUtils.setField(batchService, "batchRepository", batchRepository());
+        ReflectionTestUtils.setField(batchService, "resultRepository", resultRepository());
+        ReflectionTestUtils.setField(batchService, "payloadSampler", new PayloadSampler());
+    }
+
+    @AfterEach
+    void tearDown() {
+        claude.close();
+    }
+
+    @Test
+    void submitPollCollectAndPersist() throws Exception {
+        List<BatchAnalysisReportDto> reports = batchService.submit(new BatchAnalysisRequestDto(List.of(
+                new BatchAnalysisRequestDto.Patient("p1", medicationData(
+                        new MedicationRecordDto.Detail("노바스크정5mg", "혈압강하제", "30"))),
+                new BatchAnalysisRequestDto.Patient("p2", medicationData(
+                        new MedicationRecordDto.Detail("다이아벡스정500mg", "당뇨병용제", "30"))))));
+
+        // 제출: 환자별 요청이 같은 모델/프롬프트로 한 배치에 담김
+        assertThat(reports).singleElement().satisfies(report -> {
+            assertThat(report.getBatchId()).isEqualTo(BATCH_ID);
+            assertThat(report.getRequestCount()).isEqualTo(2);
+            assertThat(report.isResultsCollected()).isFalse();
+        });
+        JsonNode requests = submitted.get().path("requests");
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(0).path("custom_id").asText()).isEqualTo("patient-0");
+        assertThat(requests.get(0).path("params").path("model").asText()).isEqualTo("claude-test");
+        assertThat(results.values()).allMatch(row -> BatchAnalysisResult.STATUS_PENDING.equals(row.getStatus()));
+
+        // 첫 폴링: 아직 진행 중이면 결과 파일을 읽지 않음
+        batchService.pollBatches();
+        assertThat(batchService.getReport(BATCH_ID).isResultsCollected()).isFalse();
+        assertThat(claude.hits("GET", BATCHES_PATH + "/" + BATCH_ID + "/results")).isZero();
+
+        // 두 번째 폴링: 종료 → 결과 반영
+        batchService.pollBatches();
+        BatchAnalysisReportDto report = batchService.getReport(BATCH_ID);
+        assertThat(report.getProcessingStatus()).isEqualTo("ended");
+        assertThat(report.isResultsCollected()).isTrue();
+        assertThat(report.getSucceededCount()).isEqualTo(1);
+        assertThat(report.getErroredCount()).isEqualTo(1);
+        assertThat(report.getInputTokens()).isEqualTo(900);
+        assertThat(report.getOutputTokens()).isEqualTo(20);
+        assertThat(report.getEstimatedCostUsd()).isCloseTo((900 / 1e6 * 3.0 + 20 / 1e6 * 15.0) * 0.5, within(1e-12));
+
+        List<BatchAnalysisResultDto> patients = batchService.getResults(BATCH_ID);
+        assertThat(patients).extracting(BatchAnalysisResultDto::getPatientId).containsExactly("p1", "p2");
+        assertThat(patients.get(0).getStatus()).isEqualTo("SUCCEEDED");
+        assertThat(patients.get(0).getDiseaseAnalysis().getPredictedDiseases())
+                .extracting(DiseaseAnalysisDto.PredictedDisease::getDiseaseName).containsExactly("고혈압");
+        assertThat(patients.get(1).getStatus()).isEqualTo("ERRORED");
+        assertThat(patients.get(1).getErrorMessage()).isEqualTo("prompt is too long");
+
+        // 성공 건은 실시간 분석 캐시에도 저장
+        verify(analysisCache).put(eq("key-p1"), argThat(analysis -> "SUCCESS".equals(analysis.getStatus())));
+        verify(analysisCache, never()).put(eq("key-p2"), any());
+
+        // 반영이 끝난 배치는 더 이상 폴링하지 않음
+        batchService.pollBatches();
+        assertThat(statusPolls.get()).isEqualTo(2);
+    }
+
+    private ClaudeAnalysisBatchRepository batchRepository() {
+        ClaudeAnalysisBatchRepository repository = mock(ClaudeAnalysisBatchRepository.class);
+        when(repository.save(any())).thenAnswer(invocation -> {
+            ClaudeAnalysisBatch batch = invocation.getArgument(0);
+            batches.put(batch.getBatchId(), batch);
+            return batch;
+        });
+        when(repository.findById(anyString())).thenAnswer(invocation ->
+                Optional.ofNullable(batches.get(invocation.<String>getArgument(0))));
+        when(repository.existsById(anyString())).thenAnswer(invocation ->
+                batches.containsKey(invocation.<String>getArgument(0)));
+        when(repository.findByResultsCollectedFalse()).thenAnswer(invocation ->
+                batches.values().stream().filter(batch -> !batch.isResultsCollected()).toList());
+        return repository;
+    }
+
+    private BatchAnalysisResultRepository resultRepository() {
+        BatchAnalysisResultRepository repository = mock(BatchAnalysisResultRepository.class);
+        when(repository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<BatchAnalysisResult> saved = new ArrayList<>();
+            for (BatchAnalysisResult row : invocation.<Iterable<BatchAnalysisResult>>getArgument(0)) {
+                if (row.getId() == null) {
+                    row.setId(resultIds.incrementAndGet());
+                }
+                results.put(row.getId(), row);
+                saved.add(row);
+            }
+            return saved;
+        });
+        when(repository.findByBatchIdOrderByIdAsc(anyString())).thenAnswer(invocation ->
+                results.values().stream()
+                        .filter(row -> invocation.getArgument(0).equals(row.getBatchId()))
+                        .sorted(Comparator.comparing(BatchAnalysisResult::getId))
+                        .toList());
+        return repository;
+    }
+}
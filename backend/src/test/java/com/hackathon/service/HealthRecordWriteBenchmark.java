@@ -0,0 +1,152 @@
+package com.hackathon.service;
+
+import com.hackathon.domain.MedicationHistory;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import com.hackathon.mapper.HealthRecordMapper;
+import com.hackathon.repository.MedicationHistoryRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 진료/투약 내역 쓰기 처리량 벤치마크 (MySQL)
+ * 합성 환자 내역(기본 1만 행)을 배치 경로(HealthRecordStore 병합 → MyBatis 배치)와
+ * 행 단위 경로(JPA saveAll, IDENTITY 키라 한 행씩 INSERT)로 각각 저장해 rows/sec를 출력한다.
+ * 삽입한 합성 데이터는 끝나면 삭제한다.
+ * <p>
+ * 실행: ./gradlew benchmark --tests '*HealthRecordWriteBenchmark'
+ * 기본은 Testcontainers로 MySQL을 띄우고(Docker 필요), -Dbenchmark.db.url=jdbc:mysql://... 를 주면 그 DB를 사용한다.
+ * (-Dbenchmark.db.username=, -Dbenchmark.db.password=, -Dbenchmark.health-records.rows= 로 조정)
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class HealthRecordWriteBenchmark {
+
+    // 진료 1건당 처방 약품 수
+    private static final int DRUGS_PER_VISIT = 5;
+
+    private static final int ROWS = Integer.getInteger("benchmark.health-records.rows", 10_000);
+
+    // 배치 삽입이 실제로 묶여 전송되도록 운영 설정과 같은 URL 옵션 사용
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        String localUrl = System.getProperty("benchmark.db.url");
+        if (localUrl != null) {
+            registry.add("spring.datasource.url", () -> localUrl);
+            registry.add("spring.datasource.username", () -> System.getProperty("benchmark.db.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("benchmark.db.password", "root"));
+            return;
+        }
+        // 컨테이너는 테스트 JVM 종료 시 Testcontainers가 정리
+        MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0")
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withUrlParam("characterEncoding", "UTF-8");
+        mysql.start();
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private HealthRecordStore healthRecordStore;
+
+    @Autowired
+    private MedicationHistoryRepository medicationRepository;
+
+    @Autowired
+    private HealthRecordMapper healthRecordMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void compareBatchAndRowInserts() {
+        TilkoResultDto<MedicationRecordDto> history = syntheticHistory(ROWS);
+        String batchKey = "bench-batch-" + UUID.randomUUID();
+        String rowKey = "bench-row-" + UUID.randomUUID();
+
+        System.out.println("=== 진료/투약 내역 쓰기 벤치마크 (" + ROWS + "행) ===");
+        try {
+            long startNanos = System.nanoTime();
+            int inserted = healthRecordStore.mergeMedication(batchKey, history);
+            report("배치 (MyBatis BATCH)", inserted, System.nanoTime() - startNanos);
+            assertThat(inserted).isEqualTo(ROWS);
+
+            List<MedicationHistory> entities = toEntities(rowKey, history);
+            startNanos = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> medicationRepository.saveAll(entities));
+            report("행 단위 (JPA saveAll)", entities.size(), System.nanoTime() - startNanos);
+        } finally {
+            cleanUp(batchKey);
+            cleanUp(rowKey);
+        }
+        System.out.println("========================");
+    }
+
+    private void report(String label, int count, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-22s %,8d행  %8.2f초  %,12.0f rows/sec%n",
+                label, count, seconds, seconds > 0 ? count / seconds : 0);
+    }
+
+    private void cleanUp(String patientKey) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                healthRecordMapper.deleteMedicationByPatientKey(patientKey);
+                healthRecordMapper.deleteSyncState(patientKey);
+            });
+        } catch (RuntimeException e) {
+            System.err.println("벤치마크 데이터 삭제 실패 (" + patientKey + "): " + e.getMessage());
+        }
+    }
+
+    // 하루 1건 진료, 진료당 약품 DRUGS_PER_VISIT개인 합성 내역 (최근 진료가 앞)
+    private TilkoResultDto<MedicationRecordDto> syntheticHistory(int rowCount) {
+        List<MedicationRecordDto> visits = new ArrayList<>();
+        LocalDateTime day = LocalDateTime.now();
+        for (int row = 0; row < rowCount; row += DRUGS_PER_VISIT) {
+            List<MedicationRecordDto.Detail> details = new ArrayList<>();
+            for (int drug = 0; drug < DRUGS_PER_VISIT && row + drug < rowCount; drug++) {
+                details.add(new MedicationRecordDto.Detail("합성약품" + drug, "효능" + drug, "30"));
+            }
+            String visitDate = String.format("%04d%02d%02d", day.getYear(), day.getMonthValue(), day.getDayOfMonth());
+            visits.add(new MedicationRecordDto(visitDate, "합성약국" + (row % 7), "처방조제", details));
+            day = day.minusDays(1);
+        }
+        return new TilkoResultDto<>("OK", null, null, visits);
+    }
+
+    private List<MedicationHistory> toEntities(String patientKey, TilkoResultDto<MedicationRecordDto> history) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MedicationHistory> entities = new ArrayList<>();
+        for (MedicationRecordDto visit : history.getResultList()) {
+            for (MedicationRecordDto.Detail detail : visit.getDetailList()) {
+                MedicationHistory row = new MedicationHistory();
+                row.setPatientKey(patientKey);
+                row.setVisitDate(visit.getJinRyoGaesiIl());
+                row.setJinRyoGaesiIl(visit.getJinRyoGaesiIl());
+                row.setInstitution(visit.getByungEuiwonYakGukMyung());
+                row.setTreatmentType(visit.getJinRyoHyungTae());
+                row.setDrugName(detail.getChoBangYakPumMyung());
+                row.setDrugEfficacy(detail.getChoBangYakPumHyoneung());
+                row.setDosageDays(detail.getTuyakIlSoo());
+                row.setCreatedAt(now);
+                entities.add(row);
+            }
+        }
+        return entities;
+    }
+}
@@ -0,0 +1,132 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.AuthResponseDto;
+import com.hackathon.mapper.AuthSessionMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * DB 세션 저장소의 인증 정보 암호화 (테이블 대신 메모리 저장)
+ */
+class JdbcAuthSessionStoreTest {
+
+    private static final String HASH = "a".repeat(64);
+
+    private final Map<String, String> rows = new ConcurrentHashMap<>();
+    private JdbcAuthSessionStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AuthSessionMapper mapper = mock(AuthSessionMapper.class);
+        when(mapper.upsert(anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            rows.put(invocation.getArgument(0), invocation.getArgument(1));
+            return 1;
+        });
+        when(mapper.findAuthJson(anyString(), any())).thenAnswer(invocation -> rows.get(invocation.<String>getArgument(0)));
+
+        store = newStore(mapper, "test-key");
+    }
+
+    @Test
+    void storesAuthMaterialEncrypted() {
+        store.put(HASH, auth(), Duration.ofMinutes(30));
+
+        String stored = rows.get(HASH);
+        assertThat(stored).doesNotContain("secret-token", "홍길동", "01012345678");
+        // IV 12바이트 + 암호문 + GCM 태그 16바이트
+        assertThat(Base64.getDecoder().decode(stored).length).isGreaterThan(12 + 16);
+
+        AuthResponseDto loaded = store.get(HASH);
+        assertThat(loaded.getToken()).isEqualTo("secret-token");
+        assertThat(loaded.getUserName()).isEqualTo("홍길동");
+    }
+
+    @Test
+    void sameAuthEncryptsDifferentlyEachTime() {
+        store.put(HASH, auth(), Duration.ofMinutes(30));
+        String first = rows.get(HASH);
+        store.put(HASH, auth(), Duration.ofMinutes(30));
+
+        assertThat(rows.get(HASH)).isNotEqualTo(first);
+    }
+
+    @Test
+    void unreadableValuesAreTreatedAsMissing() throws Exception {
+        store.put(HASH, auth(), Duration.ofMinutes(30));
+        String stored = rows.get(HASH);
+
+        // 다른 세션 행에 옮겨 붙인 값 (AAD 불일치)
+        String otherHash = "b".repeat(64);
+        rows.put(otherHash, stored);
+        assertThat(store.get(otherHash)).isNull();
+
+        // 변조된 값
+        byte[] tampered = Base64.getDecoder().decode(stored);
+        tampered[tampered.length - 1] ^= 1;
+        rows.put(HASH, Base64.getEncoder().encodeToString(tampered));
+        assertThat(store.get(HASH)).isNull();
+
+        // 암호화 도입 전 평문 행
+        rows.put(HASH, "{\"token\":\"secret-token\"}");
+        assertThat(store.get(HASH)).isNull();
+    }
+
+    @Test
+    void differentKeyCannotRead() throws Exception {
+        store.put(HASH, auth(), Duration.ofMinutes(30));
+
+        AuthSessionMapper mapper = mock(AuthSessionMapper.class);
+        when(mapper.findAuthJson(anyString(), any())).thenAnswer(invocation -> rows.get(invocation.<String>getArgument(0)));
+        assertThat(newStore(mapper, "rotated-key").get(HASH)).isNull();
+    }
+
+    @Test
+    void refusesToStartWithoutKeyOutsideLocalProfile() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        JdbcAuthSessionStore prod = new JdbcAuthSessionStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(prod, "encryptionKey", "");
+        ReflectionTestUtils.setField(prod, "environment", environment);
+
+        assertThatThrownBy(prod::initKey).isInstanceOf(IllegalStateException.class);
+
+        ReflectionTestUtils.setField(prod, "encryptionKey", "change-me-auth-session-key");
+        assertThatThrownBy(prod::initKey).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JdbcAuthSessionStore newStore(AuthSessionMapper mapper, String key) throws Exception {
+        JdbcAuthSessionStore store = new JdbcAuthSessionStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "authSessionMapper", mapper);
+        ReflectionTestUtils.setField(store, "encryptionKey", key);
+        ReflectionTestUtils.setField(store, "environment", new MockEnvironment());
+        store.initKey();
+        return store;
+    }
+
+    private static AuthResponseDto auth() {
+        AuthResponseDto auth = new AuthResponseDto();
+        auth.setCxId("cx-1");
+        auth.setReqTxId("req-1");
+        auth.setToken("secret-token");
+        auth.setTxId("tx-1");
+        auth.setUserName("홍길동");
+        auth.setBirthDate("19900101");
+        auth.setUserCellphoneNumber("01012345678");
+        return auth;
+    }
+}
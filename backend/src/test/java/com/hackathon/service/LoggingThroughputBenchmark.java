@@ -0,0 +1,203 @@
+package com.hackathon.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.FileAppender;
+import com.hackathon.config.PayloadSampler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 경로 로깅 처리량 벤치마크
+ * threads개 스레드가 각각 requests건의 모의 Tilko 조회 요청을 처리하면서 로그를 남기는 데 걸린 시간을 비교한다.
+ * - 이전 방식: 요청마다 System.out 스타일(자동 flush PrintStream)로 파라미터/URL/응답 본문 전체를 출력
+ * - 현재 방식: 비동기 appender 뒤의 SLF4J key=value 이벤트 몇 줄 + 본문은 샘플링(DEBUG일 때만)
+ * 두 방식 모두 임시 파일로 출력하므로 콘솔 속도에 영향받지 않는다. (비동기 appender는 운영 설정과 같은 구성으로 여기서 직접 붙임)
+ * <p>
+ * 실행: ./gradlew benchmark --tests '*LoggingThroughputBenchmark'
+ * (-Dbenchmark.logging.threads=, -Dbenchmark.logging.requests= 로 조정)
+ */
+@Tag("benchmark")
+class LoggingThroughputBenchmark {
+
+    private static final int THREADS = Integer.getInteger("benchmark.logging.threads", 16);
+    private static final int REQUESTS_PER_THREAD = Integer.getInteger("benchmark.logging.requests", 2000);
+
+    // logback-spring.xml의 비운영 패턴과 대기열 크기
+    private static final String LOG_PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} [%X{requestId:-}] - %msg%n";
+    private static final int ASYNC_QUEUE_SIZE = 8192;
+
+    // 모의 응답의 진료 내역 건수
+    private static final int RECORDS_PER_RESPONSE = 50;
+
+    private final PayloadSampler payloadSampler = new PayloadSampler();
+
+    private ch.qos.logback.classic.Logger benchmarkLogger;
+    private AsyncAppenderBase<ILoggingEvent> asyncAppender;
+    private Path asyncFile;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(payloadSampler, "sampleRate", 0.01);
+        ReflectionTestUtils.setField(payloadSampler, "maxChars", 2000);
+
+        // 콘솔을 어지럽히지 않도록 이 로거만 비동기 파일 appender로 연결
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        asyncFile = Files.createTempFile("logging-benchmark-async", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(LOG_PATTERN);
+        encoder.setCharset(StandardCharsets.UTF_8);
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("BENCHMARK_FILE");
+        file.setFile(asyncFile.toString());
+        file.setAppend(false);
+        file.setEncoder(encoder);
+        file.start();
+
+        ch.qos.logback.classic.AsyncAppender async = new ch.qos.logback.classic.AsyncAppender();
+        async.setContext(context);
+        async.setName("ASYNC_BENCHMARK_FILE");
+        async.setQueueSize(ASYNC_QUEUE_SIZE);
+        async.setNeverBlock(false);
+        async.setIncludeCallerData(false);
+        async.addAppender(file);
+        async.start();
+        asyncAppender = async;
+
+        benchmarkLogger = context.getLogger("benchmark.logging");
+        benchmarkLogger.setLevel(Level.INFO);
+        benchmarkLogger.setAdditive(false);
+        benchmarkLogger.addAppender(async);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        benchmarkLogger.detachAppender(asyncAppender);
+        asyncAppender.stop(); // 남은 이벤트 기록 후 파일 닫음
+        Files.deleteIfExists(asyncFile);
+    }
+
+    @Test
+    void comparePrintlnAndAsyncSlf4j() throws Exception {
+        String payload = syntheticResponse();
+        Path printlnFile = Files.createTempFile("logging-benchmark-println", ".log");
+
+        System.out.println("=== 로깅 처리량 벤치마크 (" + THREADS + "스레드 x " + REQUESTS_PER_THREAD + "건, 응답 "
+                + payload.length() + "자) ===");
+        try (PrintStream out = new PrintStream(new FileOutputStream(printlnFile.toFile()), true, StandardCharsets.UTF_8)) {
+            report("println (동기, 본문 전체)", measure(() -> logLikePrintln(out, payload)));
+        }
+        report("SLF4J (비동기, 샘플링)", measure(() -> logStructured(benchmarkLogger, payload)));
+        System.out.println("println 출력: " + printlnFile.toAbsolutePath() + " (" + Files.size(printlnFile) + " bytes)");
+        System.out.println("========================");
+
+        Files.deleteIfExists(printlnFile);
+    }
+
+    // 변경 전 IntegratedHealthService/AuthService가 요청마다 출력하던 것과 같은 양
+    private void logLikePrintln(PrintStream out, String payload) {
+        out.println("=== 통합 건강 정보 조회 시작 ===");
+        out.println("=== AuthData 검증 시작 ===");
+        out.println("CxId: " + UUID.randomUUID());
+        out.println("ReqTxId: " + UUID.randomUUID());
+        out.println("Token: 있음");
+        out.println("=== 복용약물 API 호출 시작 ===");
+        out.println("URL: https://api.tilko.net/api/v1.0/hirapublic/hiraa050300000100");
+        out.println("HTTP Status Code: 200");
+        out.println("응답 본문: " + payload);
+        out.println("ResultList 파싱 완료: " + RECORDS_PER_RESPONSE + "건");
+        out.println("복용약물 API 응답 수신 완료");
+    }
+
+    // 현재 요청 경로에서 남기는 이벤트
+    private void logStructured(Logger log, String payload) {
+        MDC.put("requestId", UUID.randomUUID().toString());
+        try {
+            log.info("health.fetch.start");
+            payloadSampler.debug(log, "tilko.response", payload);
+            log.info("tilko.call endpoint={} httpStatus={} status={} records={} elapsedMs={}",
+                    "hiraa050300000100", 200, "OK", RECORDS_PER_RESPONSE, 12);
+            log.info("health.fetch.done status={} elapsedMs={}", "SUCCESS", 12);
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    // 모든 스레드가 REQUESTS_PER_THREAD건을 마칠 때까지 걸린 시간 (나노초)
+    private long measure(Runnable request) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        request.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startNanos;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+        return elapsed;
+    }
+
+    private void report(String label, long elapsedNanos) {
+        int total = THREADS * REQUESTS_PER_THREAD;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%-24s %,8d건  %8.2f초  %,12.0f req/sec%n",
+                label, total, seconds, seconds > 0 ? total / seconds : 0);
+    }
+
+    // 개인정보 필드가 포함된 Tilko 투약 내역 응답 모양의 JSON
+    private static String syntheticResponse() {
+        StringBuilder json = new StringBuilder("{\"Status\":\"OK\",\"UserName\":\"홍길동\",\"BirthDate\":\"19800101\","
+                + "\"UserCellphoneNumber\":\"01012345678\",\"ResultList\":[");
+        for (int i = 0; i < RECORDS_PER_RESPONSE; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"JinRyoGaesiIl\":\"2024").append(String.format("%04d", i % 1231 + 101))
+                    .append("\",\"ByungEuiwonYakGukMyung\":\"합성약국").append(i % 7)
+                    .append("\",\"JinRyoHyungTae\":\"처방조제\",\"RetrieveTreatmentInjectionInformationPersonDetailList\":[")
+                    .append("{\"ChoBangYakPumMyung\":\"합성약품").append(i)
+                    .append("\",\"ChoBangYakPumHyoneung\":\"효능\",\"TuyakIlSoo\":\"30\"}]}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.RegistrationRequestDto;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 회원가입 접수 전 요청 값 검증/정규화
+ */
+class RegistrationWriteBehindQueueTest {
+
+    @Test
+    void normalizesBeforeEnqueue() {
+        RegistrationRequestDto normalized = RegistrationWriteBehindQueue.validated(
+                new RegistrationRequestDto("  user-1 ", " 홍길동 ", "010-1234-5678", "1998.10.14"));
+
+        assertThat(normalized.getUserId()).isEqualTo("user-1");
+        assertThat(normalized.getUserName()).isEqualTo("홍길동");
+        assertThat(normalized.getPhoneNumber()).isEqualTo("01012345678");
+        assertThat(normalized.getBirthDate()).isEqualTo("19981014");
+    }
+
+    @Test
+    void blankOptionalValuesBecomeNull() {
+        RegistrationRequestDto normalized = RegistrationWriteBehindQueue.validated(
+                new RegistrationRequestDto("user-1", " ", "", null));
+
+        assertThat(normalized.getUserName()).isNull();
+        assertThat(normalized.getPhoneNumber()).isNull();
+        assertThat(normalized.getBirthDate()).isNull();
+    }
+
+    @Test
+    void rejectsValuesTheUsersTableCannotHold() {
+        assertInvalid(new RegistrationRequestDto(" ", "홍길동", null, null));
+        assertInvalid(new RegistrationRequestDto("u".repeat(101), "홍길동", null, null));
+        assertInvalid(new RegistrationRequestDto("user-1", "가".repeat(101), null, null));
+        assertInvalid(new RegistrationRequestDto("user-1", "홍길동", "0".repeat(21), null));
+        assertInvalid(new RegistrationRequestDto("user-1", "홍길동", null, "9810"));
+        assertInvalid(new RegistrationRequestDto("user-1", "홍길동", null, "1998101400"));
+        assertInvalid(null);
+    }
+
+    private static void assertInvalid(RegistrationRequestDto request) {
+        assertThatThrownBy(() -> RegistrationWriteBehindQueue.validated(request))
+                .isInstanceOf(InvalidRegistrationException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.hackathon.service;
+
+import com.hackathon.dto.DiseaseAnalysisDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleBasedDiseaseClassifierTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RuleBasedDiseaseClassifier classifier = new RuleBasedDiseaseClassifier(meterRegistry);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(classifier, "enabled", true);
+        ReflectionTestUtils.setField(classifier, "rulesPath", "analysis/drug-disease-rules.tsv");
+        classifier.loadRules();
+    }
+
+    @Test
+    void missingMedicationDataIsNoDataNotLowRisk() {
+        assertNoData(classifier.classify(null));
+        assertNoData(classifier.classify(new TilkoResultDto<>("OK", "성공", null, null)));
+        assertNoData(classifier.classify(new TilkoResultDto<>("OK", "성공", null, List.of())));
+
+        assertThat(meterRegistry.get("disease.analysis.classification").tag("path", "no-data").counter().count())
+                .isEqualTo(3);
+        assertThat(meterRegistry.get("disease.analysis.classification").tag("path", "rule").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void visitsWithoutDrugsAreNoData() {
+        MedicationRecordDto visit = new MedicationRecordDto("2024-03-02", "서울의원", "외래", null);
+        MedicationRecordDto blankDrug = new MedicationRecordDto("2024-03-09", "행복약국", "처방조제",
+                List.of(new MedicationRecordDto.Detail(" ", null, "3")));
+
+        assertNoData(classifier.classify(new TilkoResultDto<>("OK", "성공", null, List.of(visit, blankDrug))));
+    }
+
+    @Test
+    void chronicRuleDrugIsClassified() {
+        MedicationRecordDto visit = new MedicationRecordDto("2024-03-02", "행복약국", "처방조제",
+                List.of(new MedicationRecordDto.Detail("노바스크정5mg", "혈압강하제", "30")));
+
+        DiseaseAnalysisDto result = classifier.classify(new TilkoResultDto<>("OK", "성공", null, List.of(visit)));
+
+        assertThat(result.getStatus()).isEqualTo("SUCCESS");
+        assertThat(result.getPredictedDiseases())
+                .extracting(DiseaseAnalysisDto.PredictedDisease::getDiseaseName).containsExactly("고혈압");
+    }
+
+    private static void assertNoData(DiseaseAnalysisDto result) {
+        assertThat(result.getStatus()).isEqualTo(RuleBasedDiseaseClassifier.STATUS_NO_DATA);
+        assertThat(result.getRiskLevel()).isEqualTo("UNKNOWN");
+        assertThat(result.getPredictedDiseases()).isEmpty();
+    }
+}
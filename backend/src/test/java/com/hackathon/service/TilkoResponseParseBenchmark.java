@@ -0,0 +1,113 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tilko 진료/투약 응답 처리 비교: 이전 경로(본문 String → json-simple 트리 → ResultList 복사)와
+ * TilkoResponseReader 스트리밍 경로의 요청당 할당량/지연.
+ * 두 경로 모두 클라이언트로 나가는 JSON 직렬화까지 포함한다.
+ * <p>
+ * 실행: ./gradlew benchmark --tests '*TilkoResponseParseBenchmark'
+ * (-Dbenchmark.tilko.visits=, -Dbenchmark.tilko.iterations= 로 크기 조정)
+ */
+@Tag("benchmark")
+class TilkoResponseParseBenchmark {
+
+    private static final int VISITS = Integer.getInteger("benchmark.tilko.visits", 400);
+    private static final int DRUGS_PER_VISIT = 3;
+    private static final int WARMUP = Integer.getInteger("benchmark.tilko.warmup", 200);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.tilko.iterations", 1000);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TilkoResponseReader reader = new TilkoResponseReader();
+
+    @Test
+    void compareParsePaths() throws Exception {
+        byte[] body = responseBody();
+        System.out.printf("Tilko 응답 %d건 (약품 %d줄), 본문 %d bytes%n", VISITS, VISITS * DRUGS_PER_VISIT, body.length);
+
+        report("json-simple", body, this::legacyPath);
+        report("streaming", body, this::streamingPath);
+    }
+
+    // 이전 IntegratedHealthService.callAPI + filterPrescriptionData 경로
+    @SuppressWarnings("unchecked")
+    private byte[] legacyPath(byte[] body) throws Exception {
+        String responseStr = new String(body, StandardCharsets.UTF_8);
+        JSONObject jsonData = (JSONObject) new JSONParser().parse(responseStr);
+        JSONArray resultList = (JSONArray) jsonData.get("ResultList");
+        JSONArray filteredList = new JSONArray();
+        for (Object item : resultList) {
+            filteredList.add(item);
+        }
+        jsonData.put("ResultList", filteredList);
+        return objectMapper.writeValueAsBytes(jsonData);
+    }
+
+    private byte[] streamingPath(byte[] body) throws Exception {
+        TilkoResultDto<MedicationRecordDto> result =
+                reader.read(new ByteArrayInputStream(body), MedicationRecordDto.class, record -> true);
+        return objectMapper.writeValueAsBytes(result);
+    }
+
+    private void report(String name, byte[] body, ParsePath path) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            path.run(body);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] nanos = new long[ITERATIONS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            path.run(body);
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(nanos);
+        System.out.printf("%-12s 요청당 할당 %,d bytes, p50 %.3f ms, p99 %.3f ms%n", name, allocated / ITERATIONS,
+                nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.99)] / 1e6);
+    }
+
+    private byte[] responseBody() {
+        StringBuilder json = new StringBuilder("{\"Status\":\"OK\",\"Message\":\"성공\",\"ErrorLog\":\"\",\"ResultList\":[");
+        for (int v = 0; v < VISITS; v++) {
+            if (v > 0) {
+                json.append(',');
+            }
+            json.append("{\"JinRyoGaesiIl\":\"2024-").append(String.format("%02d-%02d", v % 12 + 1, v % 28 + 1))
+                    .append("\",\"ByungEuiwonYakGukMyung\":\"행복약국").append(v % 50)
+                    .append("\",\"JinRyoHyungTae\":\"").append(v % 3 == 0 ? "외래" : "처방조제")
+                    .append("\",\"BangMoonIpWonIlsoo\":\"1\",\"ChungGuGumAek\":\"12300\"")
+                    .append(",\"RetrieveTreatmentInjectionInformationPersonDetailList\":[");
+            for (int d = 0; d < DRUGS_PER_VISIT; d++) {
+                if (d > 0) {
+                    json.append(',');
+                }
+                json.append("{\"ChoBangYakPumMyung\":\"약품").append(v * DRUGS_PER_VISIT + d)
+                        .append("정\",\"ChoBangYakPumHyoneung\":\"해열, 진통, 소염제\",\"TuyakIlSoo\":\"3\"")
+                        .append(",\"YakPumCode\":\"A").append(100000 + d).append("\"}");
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface ParsePath {
+        byte[] run(byte[] body) throws Exception;
+    }
+}
@@ -0,0 +1,81 @@
+package com.hackathon.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.dto.HealthCheckupRecordDto;
+import com.hackathon.dto.MedicationRecordDto;
+import com.hackathon.dto.TilkoResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TilkoResponseReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TilkoResponseReader reader = new TilkoResponseReader();
+
+    @Test
+    void medicationResponseKeepsUnmappedFields() throws IOException {
+        String body = """
+                {"Status":"OK","Message":"성공","ErrorLog":"","ApiTxKey":"tx-1",
+                 "ResultList":[
+                   {"JinRyoGaesiIl":"2024-03-02","ByungEuiwonYakGukMyung":"행복약국","JinRyoHyungTae":"처방조제",
+                    "BangMoonIpWonIlsoo":"1","ChungGuGumAek":{"Won":12300},
+                    "RetrieveTreatmentInjectionInformationPersonDetailList":[
+                      {"ChoBangYakPumMyung":"타이레놀정","ChoBangYakPumHyoneung":"해열진통제","TuyakIlSoo":"3",
+                       "YakPumCode":"A123","HangNumber":2}
+                    ]}
+                 ]}
+                """;
+
+        TilkoResultDto<MedicationRecordDto> result = read(body, MedicationRecordDto.class);
+
+        MedicationRecordDto visit = result.getResultList().get(0);
+        assertThat(result.getExtra()).containsKey("ApiTxKey");
+        assertThat(visit.getExtra()).containsKeys("BangMoonIpWonIlsoo", "ChungGuGumAek");
+        assertThat(visit.getDetailList().get(0).getExtra()).containsKeys("YakPumCode", "HangNumber");
+
+        // 클라이언트가 받는 JSON은 Tilko 원본과 같은 모양
+        assertThat(objectMapper.valueToTree(result)).isEqualTo(objectMapper.readTree(body));
+    }
+
+    @Test
+    void healthCheckupResponseKeepsUnmappedFields() throws IOException {
+        String body = """
+                {"Status":"OK","Message":"성공","ErrorLog":"",
+                 "ResultList":[
+                   {"Year":"2023년","CheckUpDate":"05/17","Code":"01","Location":"서울의원","Description":"일반검진",
+                    "Inspections":[{"Gubun":"계측검사","Illnesses":[]}],"Opinion":"정상A"}
+                 ]}
+                """;
+
+        TilkoResultDto<HealthCheckupRecordDto> result = read(body, HealthCheckupRecordDto.class);
+
+        assertThat(result.getResultList().get(0).getExtra()).containsOnlyKeys("Opinion");
+        assertThat(objectMapper.valueToTree(result)).isEqualTo(objectMapper.readTree(body));
+    }
+
+    @Test
+    void filterDropsRecordsWhileReading() throws IOException {
+        String body = """
+                {"Status":"OK","ResultList":[
+                  {"JinRyoHyungTae":"처방조제","ByungEuiwonYakGukMyung":"A"},
+                  {"JinRyoHyungTae":"외래","ByungEuiwonYakGukMyung":"B"}
+                ]}
+                """;
+
+        TilkoResultDto<MedicationRecordDto> result = reader.read(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), MedicationRecordDto.class,
+                record -> "처방조제".equals(record.getJinRyoHyungTae()));
+
+        assertThat(result.getResultList()).extracting(MedicationRecordDto::getByungEuiwonYakGukMyung)
+                .containsExactly("A");
+    }
+
+    private <T> TilkoResultDto<T> read(String body, Class<T> recordType) throws IOException {
+        return reader.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), recordType, record -> true);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hackathon.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업스트림(Claude 등) 대신 띄우는 로컬 HTTP 서버
+ * JDK 내장 HttpServer로 임의 포트에 뜨고, 메서드 + 경로별 응답 처리기와 호출 횟수를 관리한다.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Handler> handlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    private StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::dispatch);
+        // 응답을 붙잡고 있는 처리기가 있어도 다른 요청은 받을 수 있게
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static StubHttpServer start() throws IOException {
+        return new StubHttpServer();
+    }
+
+    public StubHttpServer route(String method, String path, Handler handler) {
+        handlers.put(method + " " + path, handler);
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    public int hits(String method, String path) {
+        AtomicInteger count = hits.get(method + " " + path);
+        return count == null ? 0 : count.get();
+    }
+
+    public static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static String requestBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        String key = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+        hits.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+
+        Handler handler = handlers.get(key);
+        try {
+            if (handler == null) {
+                respond(exchange, 404, "text/plain", "no stub for " + key);
+                return;
+            }
+            handler.handle(exchange);
+        } catch (IOException e) {
+            // 클라이언트가 먼저 연결을 끊은 경우 (스트리밍 조기 종료 등)
+        } catch (Exception e) {
+            throw new IOException("stub handler failed: " + key, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+        void handle(HttpExchange exchange) throws Exception;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hackathon.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayStreamParserTest {
+
+    private final List<String> received = new ArrayList<>();
+    private final JsonArrayStreamParser parser = new JsonArrayStreamParser(received::add);
+
+    @Test
+    void chunksSplitInsideStringsAndEscapes() throws IOException {
+        // 문자열 중간, 이스케이프 문자(\" , \\u0041) 중간에서 잘린 조각
+        assertThat(parser.feed("[\"고혈")).isFalse();
+        assertThat(received).isEmpty();
+        assertThat(parser.feed("압\", \"a\\")).isFalse();
+        assertThat(received).containsExactly("고혈압");
+        assertThat(parser.feed("\"b\", \"c\\u00")).isFalse();
+        assertThat(parser.feed("41\"]")).isTrue();
+
+        assertThat(received).containsExactly("고혈압", "a\"b", "cA");
+        assertThat(parser.getElements()).isEqualTo(received);
+        assertThat(parser.isDone()).isTrue();
+    }
+
+    @Test
+    void closingBracketInsideStringDoesNotEndArray() throws IOException {
+        assertThat(parser.feed("[\"a]b\", \"[c]\"")).isFalse();
+        assertThat(parser.feed("]")).isTrue();
+
+        assertThat(received).containsExactly("a]b", "[c]");
+    }
+
+    @Test
+    void skipsPreambleAndIgnoresInputAfterClose() throws IOException {
+        assertThat(parser.feed("```json\n")).isFalse();
+        assertThat(parser.feed("[\"고혈압\"]\n```\n설명: [\"무시\"]")).isTrue();
+        assertThat(parser.feed("[\"이후 입력\"]")).isTrue();
+
+        assertThat(received).containsExactly("고혈압");
+    }
+
+    @Test
+    void emptyArrayIsDoneWithoutElements() throws IOException {
+        assertThat(parser.feed("[ ]")).isTrue();
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    void truncatedInputIsNotDoneAndDropsUnfinishedElement() throws IOException {
+        parser.feed("[\"고혈압\", \"당뇨");
+
+        assertThat(parser.isDone()).isFalse();
+        assertThat(parser.getElements()).containsExactly("고혈압");
+    }
+
+    @Test
+    void inputWithoutArrayIsNotDone() throws IOException {
+        parser.feed("해당하는 질환이 없습니다.");
+
+        assertThat(parser.isDone()).isFalse();
+        assertThat(parser.getElements()).isEmpty();
+    }
+}